@@ -0,0 +1,143 @@
+package game.collider;
+
+/**
+ * World-space bound of a collider, for cheap rejection before the exact test: an axis-aligned box,
+ * or an infinite slab (a band around a line) for rays, whose box would be the whole plane.
+ * It's computed by its collider and cached until the parent object moves, using the version of the parent.
+ */
+public class Bounds {
+
+	//bounds are slightly grown, so that rounding can't reject a pair the exact test accepts
+	private static final double EPSILON = 1e-9;
+
+	private double minX;
+	private double minY;
+	private double maxX;
+	private double maxY;
+	private boolean slab;	//false: a box
+	private double normalX;		//unit normal of the slab
+	private double normalY;
+	private double offset;		//of the slab line along the normal
+	private int version;
+	private boolean valid;		//false
+
+	/**
+	 * Checks whether these bounds were computed for the current state of the parent.
+	 * @param parentVersion - version of the parent object
+	 * @return true if they don't need to be computed again
+	 */
+	public boolean isValid(final int parentVersion) {
+		return this.valid && this.version == parentVersion;
+	}
+
+	/**
+	 * Forces the bounds to be computed again, e.g. when the collider changes shape without moving.
+	 */
+	public void invalidate() {
+		this.valid = false;
+	}
+
+	/**
+	 * Sets a box.
+	 * @param minX
+	 * @param minY
+	 * @param maxX
+	 * @param maxY
+	 * @param parentVersion - version of the parent object the box was computed for
+	 */
+	public void setBox(final double minX, final double minY, final double maxX, final double maxY, final int parentVersion) {
+		this.minX = minX - EPSILON;
+		this.minY = minY - EPSILON;
+		this.maxX = maxX + EPSILON;
+		this.maxY = maxY + EPSILON;
+		this.slab = false;
+		this.version = parentVersion;
+		this.valid = true;
+	}
+
+	/**
+	 * Sets an infinite slab of no width around the line through (x, y) with direction (dirX, dirY).
+	 * @param x
+	 * @param y
+	 * @param dirX - with dirY, a unit vector
+	 * @param dirY
+	 * @param parentVersion - version of the parent object the slab was computed for
+	 */
+	public void setSlab(final double x, final double y, final double dirX, final double dirY, final int parentVersion) {
+		this.minX = Double.NEGATIVE_INFINITY;
+		this.minY = Double.NEGATIVE_INFINITY;
+		this.maxX = Double.POSITIVE_INFINITY;
+		this.maxY = Double.POSITIVE_INFINITY;
+		this.slab = true;
+		this.normalX = -dirY;
+		this.normalY = dirX;
+		this.offset = this.normalX * x + this.normalY * y;
+		this.version = parentVersion;
+		this.valid = true;
+	}
+
+	/**
+	 * Checks whether these bounds overlap a box: four comparisons, plus a projection for slabs.
+	 * @param boxMinX
+	 * @param boxMinY
+	 * @param boxMaxX
+	 * @param boxMaxY
+	 * @return false if nothing inside the bounds can touch the box
+	 */
+	public boolean overlaps(final double boxMinX, final double boxMinY, final double boxMaxX, final double boxMaxY) {
+		if (this.slab) {
+			//distance of the box center from the line, against the extent of the box along the normal
+			final double halfWidth = (boxMaxX - boxMinX) / 2;
+			final double halfHeight = (boxMaxY - boxMinY) / 2;
+			final double distance = this.normalX * (boxMinX + halfWidth) + this.normalY * (boxMinY + halfHeight) - this.offset;
+			return Math.abs(distance) <= Math.abs(this.normalX) * halfWidth + Math.abs(this.normalY) * halfHeight + EPSILON;
+		}
+		return boxMinX <= this.maxX && boxMaxX >= this.minX && boxMinY <= this.maxY && boxMaxY >= this.minY;
+	}
+
+	/**
+	 * Checks whether these bounds overlap the box of a circle.
+	 * @param x - center
+	 * @param y - center
+	 * @param radius
+	 * @return false if nothing inside the bounds can touch the circle
+	 */
+	public boolean overlapsCircle(final double x, final double y, final double radius) {
+		return this.overlaps(x - radius, y - radius, x + radius, y + radius);
+	}
+
+	/**
+	 * @return true if this is an infinite slab instead of a box
+	 */
+	public boolean isSlab() {
+		return this.slab;
+	}
+
+	/**
+	 * @return left side of the box, -infinity for slabs
+	 */
+	public double getMinX() {
+		return this.minX;
+	}
+
+	/**
+	 * @return top side of the box, -infinity for slabs
+	 */
+	public double getMinY() {
+		return this.minY;
+	}
+
+	/**
+	 * @return right side of the box, +infinity for slabs
+	 */
+	public double getMaxX() {
+		return this.maxX;
+	}
+
+	/**
+	 * @return bottom side of the box, +infinity for slabs
+	 */
+	public double getMaxY() {
+		return this.maxY;
+	}
+}
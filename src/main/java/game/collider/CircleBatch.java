@@ -0,0 +1,151 @@
+package game.collider;
+
+import java.util.Arrays;
+
+/**
+ * Narrow phase against many colliders at once. Colliders pack their shapes as circles into flat arrays
+ * (a point is a circle of radius 0), and one circle is tested against all of them.
+ * With the jdk.incubator.vector module (--add-modules jdk.incubator.vector) the circles are tested
+ * by a DoubleVector kernel, a vector of circles at a time. Without it, they are tested in blocks of LANES,
+ * a scalar unroll that saves a branch per circle, as hits are rare.
+ * The arithmetic is the same as the single checks of CircleCollider and PointsCollider, so the results are identical.
+ */
+public class CircleBatch {
+
+	/** Circles tested per unrolled block. */
+	public static final int LANES = 4;
+	private static final boolean VECTOR = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+	private static final int INITIAL_CAPACITY = 64;
+
+	private double[] xs = new double[INITIAL_CAPACITY];
+	private double[] ys = new double[INITIAL_CAPACITY];
+	private double[] radii = new double[INITIAL_CAPACITY];
+	private int[] owners = new int[INITIAL_CAPACITY];
+	private int size;	//0
+
+	/**
+	 * Removes every circle.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Adds a circle.
+	 * @param x - center
+	 * @param y - center
+	 * @param radius
+	 * @param owner - index of the collider, set in the hits when the circle is touched
+	 */
+	public void add(final double x, final double y, final double radius, final int owner) {
+		if (this.size == this.xs.length) {
+			final int capacity = this.size * 2;
+			this.xs = Arrays.copyOf(this.xs, capacity);
+			this.ys = Arrays.copyOf(this.ys, capacity);
+			this.radii = Arrays.copyOf(this.radii, capacity);
+			this.owners = Arrays.copyOf(this.owners, capacity);
+		}
+		this.xs[this.size] = x;
+		this.ys[this.size] = y;
+		this.radii[this.size] = radius;
+		this.owners[this.size] = owner;
+		this.size++;
+	}
+
+	/**
+	 * @return number of circles
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return whether test runs the vector kernel
+	 */
+	public static boolean isVectorized() {
+		return VECTOR;
+	}
+
+	/**
+	 * Sets hits[owner] for every owner with a circle touching the circle in (x, y),
+	 * with the vector kernel when available, else LANES circles at a time.
+	 * Hits already set are kept.
+	 * @param x - center
+	 * @param y - center
+	 * @param radius
+	 * @param hits - indexed by owner
+	 */
+	public void test(final double x, final double y, final double radius, final boolean[] hits) {
+		if (VECTOR) {
+			this.testVector(x, y, radius, hits);
+		} else {
+			this.testUnrolled(x, y, radius, hits);
+		}
+	}
+
+	/**
+	 * Vector version of test: a DoubleVector of circles at a time, the last block masked.
+	 * Needs the jdk.incubator.vector module, see isVectorized.
+	 * @param x - center
+	 * @param y - center
+	 * @param radius
+	 * @param hits - indexed by owner
+	 */
+	public void testVector(final double x, final double y, final double radius, final boolean[] hits) {
+		CircleBatchVector.test(this.xs, this.ys, this.radii, this.owners, this.size, x, y, radius, hits);
+	}
+
+	/**
+	 * Scalar version of test, LANES circles at a time.
+	 * @param x - center
+	 * @param y - center
+	 * @param radius
+	 * @param hits - indexed by owner
+	 */
+	public void testUnrolled(final double x, final double y, final double radius, final boolean[] hits) {
+		final int blocks = this.size - this.size % LANES;
+		int i = 0;
+		for (; i < blocks; i += LANES) {
+			final boolean h0 = touches(this.xs[i], this.ys[i], this.radii[i], x, y, radius);
+			final boolean h1 = touches(this.xs[i + 1], this.ys[i + 1], this.radii[i + 1], x, y, radius);
+			final boolean h2 = touches(this.xs[i + 2], this.ys[i + 2], this.radii[i + 2], x, y, radius);
+			final boolean h3 = touches(this.xs[i + 3], this.ys[i + 3], this.radii[i + 3], x, y, radius);
+			//hits are rare: one branch per block
+			if (h0 | h1 | h2 | h3) {
+				hits[this.owners[i]] |= h0;
+				hits[this.owners[i + 1]] |= h1;
+				hits[this.owners[i + 2]] |= h2;
+				hits[this.owners[i + 3]] |= h3;
+			}
+		}
+		for (; i < this.size; i++) {
+			hits[this.owners[i]] |= touches(this.xs[i], this.ys[i], this.radii[i], x, y, radius);
+		}
+	}
+
+	/**
+	 * Reference version of test, one circle at a time.
+	 * @param x - center
+	 * @param y - center
+	 * @param radius
+	 * @param hits - indexed by owner
+	 */
+	public void testScalar(final double x, final double y, final double radius, final boolean[] hits) {
+		for (int i = 0; i < this.size; i++) {
+			if (touches(this.xs[i], this.ys[i], this.radii[i], x, y, radius)) {
+				hits[this.owners[i]] = true;
+			}
+		}
+	}
+
+	/**
+	 * Same test as CircleCollider.checkCollision: a circle of radius 0 is the test of PointsCollider.
+	 */
+	private static boolean touches(final double ax, final double ay, final double aRadius,
+			final double bx, final double by, final double bRadius) {
+		final double radiusSum = aRadius + bRadius;
+		final double dx = bx - ax;
+		final double dy = by - ay;
+		return dx * dx + dy * dy <= radiusSum * radiusSum;
+	}
+}
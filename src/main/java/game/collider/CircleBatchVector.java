@@ -0,0 +1,45 @@
+package game.collider;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel of CircleBatch, on the incubating Vector API.
+ * Only loaded when the jdk.incubator.vector module is in the boot layer (--add-modules jdk.incubator.vector).
+ */
+final class CircleBatchVector {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	private CircleBatchVector() {
+	}
+
+	/**
+	 * Same as CircleBatch.testScalar, SPECIES.length() circles at a time, the last block masked.
+	 * The arithmetic is lane by lane the one of CircleBatch.touches, so the results are identical.
+	 */
+	static void test(final double[] xs, final double[] ys, final double[] radii, final int[] owners, final int size,
+			final double x, final double y, final double radius, final boolean[] hits) {
+		final int lanes = SPECIES.length();
+		final DoubleVector bx = DoubleVector.broadcast(SPECIES, x);
+		final DoubleVector by = DoubleVector.broadcast(SPECIES, y);
+		for (int i = 0; i < size; i += lanes) {
+			final VectorMask<Double> inRange = SPECIES.indexInRange(i, size);
+			final DoubleVector radiusSum = DoubleVector.fromArray(SPECIES, radii, i, inRange).add(radius);
+			final DoubleVector dx = bx.sub(DoubleVector.fromArray(SPECIES, xs, i, inRange));
+			final DoubleVector dy = by.sub(DoubleVector.fromArray(SPECIES, ys, i, inRange));
+			final VectorMask<Double> touched = dx.mul(dx).add(dy.mul(dy))
+					.compare(VectorOperators.LE, radiusSum.mul(radiusSum), inRange);
+			//hits are rare: one branch per block
+			if (touched.anyTrue()) {
+				for (int lane = touched.firstTrue(); lane < lanes; lane++) {
+					if (touched.laneIsSet(lane)) {
+						hits[owners[i + lane]] = true;
+					}
+				}
+			}
+		}
+	}
+}
@@ -10,6 +10,7 @@ public class CircleCollider implements Collider {
     private final double radius;
     private final AbstractGameObject object;
     private final Point2D offset;
+    private final Bounds bounds = new Bounds();
 
     /**
 	 * Creates a new CircleCollider with radius radius linked to the gameObject parent.
@@ -29,10 +30,43 @@ public class CircleCollider implements Collider {
 	 */
 	@Override
 	public boolean checkCollision(final CircleCollider player) {
-		final double distance = Point2D.distance(this.getCenter(), player.getCenter());
-		return distance <= (this.radius + player.getRadius());
+		final double radiusSum = this.radius + player.getRadius();
+		return Point2D.distanceSquared(this.getCenterX(), this.getCenterY(), player.getCenterX(), player.getCenterY())
+				<= radiusSum * radiusSum;
 	}
 	
+	@Override
+	public double timeOfImpact(final CircleCollider player) {
+		return Sweep.circles(this.getPreviousCenterX(), this.getPreviousCenterY(), this.getCenterX(), this.getCenterY(), this.radius,
+				player.getPreviousCenterX(), player.getPreviousCenterY(), player.getCenterX(), player.getCenterY(), player.getRadius());
+	}
+	
+	@Override
+	public Shape getShape() {
+		return Shape.CIRCLE;
+	}
+
+	@Override
+	public double getBoundingRadius() {
+		return this.offset.getMagnitude() + this.radius;
+	}
+	
+	@Override
+	public Bounds getBounds() {
+		if (!this.bounds.isValid(this.object.getVersion())) {
+			final double x = this.getCenterX();
+			final double y = this.getCenterY();
+			this.bounds.setBox(x - this.radius, y - this.radius, x + this.radius, y + this.radius, this.object.getVersion());
+		}
+		return this.bounds;
+	}
+	
+	@Override
+	public boolean pack(final CircleBatch batch, final int owner) {
+		batch.add(this.getCenterX(), this.getCenterY(), this.radius, owner);
+		return true;
+	}
+
 	/**
 	 * Gets the radius of the circle.
 	 * @return the radius
@@ -43,12 +77,52 @@ public class CircleCollider implements Collider {
 	
 	/**
 	 * Gets the center of this circle.
-	 * @return the center
+	 * @return a new point, equal to the center
 	 */
 	public Point2D getCenter() {
-		final var p = Point2D.copyOf(this.offset);
-		p.add(this.object.getPosition());
-		return p;
+		return this.getCenter(new Point2D(0, 0));
+	}
+	
+	/**
+	 * Writes the center of this circle into dest.
+	 * @param dest
+	 * @return dest
+	 */
+	public Point2D getCenter(final Point2D dest) {
+		dest.set(this.getCenterX(), this.getCenterY());
+		return dest;
+	}
+	
+	/**
+	 * Gets the x coordinate of the center of this circle.
+	 * @return center x
+	 */
+	public double getCenterX() {
+		return this.offset.getX() + this.object.getX();
+	}
+	
+	/**
+	 * Gets the y coordinate of the center of this circle.
+	 * @return center y
+	 */
+	public double getCenterY() {
+		return this.offset.getY() + this.object.getY();
+	}
+	
+	/**
+	 * Gets the x coordinate of the center of this circle before the last tick.
+	 * @return previous center x
+	 */
+	public double getPreviousCenterX() {
+		return this.offset.getX() + this.object.getPreviousX();
+	}
+	
+	/**
+	 * Gets the y coordinate of the center of this circle before the last tick.
+	 * @return previous center y
+	 */
+	public double getPreviousCenterY() {
+		return this.offset.getY() + this.object.getPreviousY();
 	}
 
 }
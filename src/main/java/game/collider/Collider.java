@@ -4,11 +4,69 @@ package game.collider;
  * Interface containing the collision detection system.
  */
 public interface Collider {
+
+	/**
+	 * Kinds of colliders, to pick the exact test of a pair.
+	 */
+	enum Shape {
+		CIRCLE, RAY, POINTS
+	}
+
 	/**
 	 * Method used for detecting the collisions with the player.
 	 * @param player collider
 	 * @return whether this collider has collided with player
 	 */
 	boolean checkCollision(CircleCollider player);
+
+	/**
+	 * Gets the kind of this collider.
+	 * @return shape
+	 */
+	Shape getShape();
+
+	/**
+	 * Checks whether this collider touches any other collider, not only the player.
+	 * @param other collider
+	 * @return whether they touch, the same as other.collides(this)
+	 */
+	default boolean collides(final Collider other) {
+		return Narrowphase.test(this, other);
+	}
+
+	/**
+	 * Swept version of checkCollision: finds when, during the last tick, this collider first touched player,
+	 * both moving in a straight line from their previous positions. By default only the current positions are tested.
+	 * @param player collider
+	 * @return time of impact between 0 (previous tick) and 1 (current tick), Sweep.NO_HIT if they didn't touch
+	 */
+	default double timeOfImpact(final CircleCollider player) {
+		return this.checkCollision(player) ? 1 : Sweep.NO_HIT;
+	}
+
+	/**
+	 * Gets the radius, around the position of the parent object, of a circle containing this collider.
+	 * Used by the broadphase to find the colliders near the player.
+	 * @return bounding radius, Double.POSITIVE_INFINITY if this collider is unbounded
+	 */
+	double getBoundingRadius();
+
+	/**
+	 * Gets the world-space bounds of this collider, computed again only when the parent has moved.
+	 * Pairs whose bounds don't overlap can't collide, so the exact test can be skipped.
+	 * @return the cached bounds, not to be modified
+	 */
+	Bounds getBounds();
+
+	/**
+	 * Adds this collider to batch as circles, to test it together with others.
+	 * Colliders which can't be described by circles are tested with checkCollision instead.
+	 * @param batch
+	 * @param owner - index identifying this collider in the batch
+	 * @return false if nothing was added
+	 */
+	default boolean pack(final CircleBatch batch, final int owner) {
+		return false;
+	}
 	
 }
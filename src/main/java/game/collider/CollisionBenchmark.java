@@ -0,0 +1,133 @@
+package game.collider;
+
+import java.util.Random;
+
+import game.model.AbstractGameObject;
+import game.util.Point2D;
+
+/**
+ * Measures CollisionWorld.findContacts with 1000 to 10000 moving shapes (mostly bullets, 10 lasers and some players),
+ * enemies touching each other too, against a tick of 1/60 of a second. Runs without a screen.
+ * With up to 2000 shapes, testing all the pairs is measured too, for comparison.
+ * Usage: CollisionBenchmark [ticks] (default 300).
+ */
+public final class CollisionBenchmark {
+
+	private static final int[] SHAPES = {1000, 2000, 5000, 10000};
+	private static final int MAX_ALL_PAIRS = 2000;
+	private static final int LASERS = 10;
+	private static final double TICK = 1.0 / 60;
+	private static final double SPEED = 0.005;		//per tick
+	private static final long SEED = 42;
+
+	private CollisionBenchmark() {
+	}
+
+	/**
+	 * A shape bouncing inside the view.
+	 */
+	private static final class Body extends AbstractGameObject {
+
+		private double dx;
+		private double dy;
+
+		Body(final double x, final double y, final double dx, final double dy) {
+			super(Point2D.of(x, y), null, null);
+			this.dx = dx;
+			this.dy = dy;
+		}
+
+		@Override
+		public void update() {
+			final double x = this.getPosition().getX() + this.dx;
+			final double y = this.getPosition().getY() + this.dy;
+			this.dx = x < 0 || x > 1 ? -this.dx : this.dx;
+			this.dy = y < 0 || y > 1 ? -this.dy : this.dy;
+			this.moveTo(x, y);
+		}
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * @param args - number of ticks measured for each size
+	 */
+	public static void main(final String[] args) {
+		final int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+		final CollisionMatrix matrix = CollisionMatrix.createDefault();
+		matrix.setCollides(CollisionLayer.ENEMY, CollisionLayer.ENEMY, true);
+		for (final int shapes : SHAPES) {
+			run(shapes, ticks, matrix);
+		}
+	}
+
+	private static void run(final int shapes, final int ticks, final CollisionMatrix matrix) {
+		final Random random = new Random(SEED);
+		final Body[] bodies = new Body[shapes];
+		final Collider[] colliders = new Collider[shapes];
+		final CollisionLayer[] layers = new CollisionLayer[shapes];
+		for (int i = 0; i < shapes; i++) {
+			final double angle = random.nextDouble() * 2 * Math.PI;
+			bodies[i] = new Body(random.nextDouble(), random.nextDouble(), Math.cos(angle) * SPEED, Math.sin(angle) * SPEED);
+			final int kind = random.nextInt(100);
+			if (i < LASERS) {
+				colliders[i] = new RayCollider(bodies[i], Point2D.of(Math.cos(angle), Math.sin(angle)));
+				layers[i] = CollisionLayer.ENEMY;
+			} else if (kind < 2) {
+				colliders[i] = new CircleCollider(bodies[i], 0.02, Point2D.of(0, 0));
+				layers[i] = kind == 1 ? CollisionLayer.PLAYER : CollisionLayer.SWEEPER;
+			} else if (kind < 40) {
+				colliders[i] = new PointsCollider(bodies[i], Point2D.of(0.006, 0), Point2D.of(-0.003, 0.005), Point2D.of(-0.003, -0.005));
+				layers[i] = CollisionLayer.ENEMY;
+			} else {
+				colliders[i] = new CircleCollider(bodies[i], 0.004, Point2D.of(0, 0));
+				layers[i] = CollisionLayer.ENEMY;
+			}
+		}
+
+		final CollisionWorld world = new CollisionWorld(matrix);
+		final ContactList contacts = new ContactList();
+		long worldTime = 0;
+		long allPairsTime = 0;
+		long found = 0;
+		for (int tick = -ticks / 2; tick < ticks; tick++) {		//the first ticks warm up the JIT
+			for (final Body body : bodies) {
+				body.update();
+			}
+			final long start = System.nanoTime();
+			world.clear();
+			for (int i = 0; i < shapes; i++) {
+				world.add(colliders[i], layers[i]);
+			}
+			world.findContacts(contacts);
+			final long middle = System.nanoTime();
+			final int pairs = shapes <= MAX_ALL_PAIRS ? allPairs(colliders, layers, matrix) : contacts.size();
+			if (pairs != contacts.size()) {
+				throw new IllegalStateException("different contacts: " + pairs + " " + contacts.size());
+			}
+			if (tick >= 0) {
+				worldTime += middle - start;
+				allPairsTime += System.nanoTime() - middle;
+				found += contacts.size();
+			}
+		}
+		final double ms = worldTime / 1e6 / ticks;
+		System.out.printf("%5d shapes: %.3f ms per tick (%.1f%% of the tick), %.1f contacts", shapes, ms,
+				ms / (TICK * 1000) * 100, (double) found / ticks);
+		if (shapes <= MAX_ALL_PAIRS) {
+			System.out.printf(", all pairs %.3f ms", allPairsTime / 1e6 / ticks);
+		}
+		System.out.println();
+	}
+
+	private static int allPairs(final Collider[] colliders, final CollisionLayer[] layers, final CollisionMatrix matrix) {
+		int pairs = 0;
+		for (int i = 0; i < colliders.length; i++) {
+			for (int j = i + 1; j < colliders.length; j++) {
+				if (matrix.collides(layers[i], layers[j]) && colliders[i].collides(colliders[j])) {
+					pairs++;
+				}
+			}
+		}
+		return pairs;
+	}
+}
@@ -0,0 +1,30 @@
+package game.collider;
+
+import game.model.AbstractGameObject.ObjectType;
+
+/**
+ * Groups of colliders; a CollisionMatrix says which groups can touch each other.
+ */
+public enum CollisionLayer {
+	PLAYER, ENEMY, POWERUP, SWEEPER;	//at most 32: one bit each
+
+	/**
+	 * Gets the bit of this layer in the masks of a CollisionMatrix.
+	 * @return bit
+	 */
+	public int getBit() {
+		return 1 << this.ordinal();
+	}
+
+	/**
+	 * Gets the layer of the objects of a type.
+	 * @param type
+	 * @return layer
+	 */
+	public static CollisionLayer of(final ObjectType type) {
+		if (type.isPlayer()) {
+			return PLAYER;
+		}
+		return type.isEnemy() ? ENEMY : POWERUP;
+	}
+}
@@ -0,0 +1,64 @@
+package game.collider;
+
+/**
+ * Says which collision layers can touch each other: one mask of layer bits for every layer.
+ * It's always symmetric.
+ */
+public class CollisionMatrix {
+
+	private final int[] masks = new int[CollisionLayer.values().length];
+
+	/**
+	 * Creates a matrix where no layers touch.
+	 */
+	public CollisionMatrix() {
+		//all masks empty
+	}
+
+	/**
+	 * Creates the matrix of the game: the player touches enemies and power ups, the sweeper touches enemies.
+	 * @return a new matrix
+	 */
+	public static CollisionMatrix createDefault() {
+		final CollisionMatrix matrix = new CollisionMatrix();
+		matrix.setCollides(CollisionLayer.PLAYER, CollisionLayer.ENEMY, true);
+		matrix.setCollides(CollisionLayer.PLAYER, CollisionLayer.POWERUP, true);
+		matrix.setCollides(CollisionLayer.SWEEPER, CollisionLayer.ENEMY, true);
+		return matrix;
+	}
+
+	/**
+	 * Sets whether two layers touch, both ways.
+	 * @param a
+	 * @param b - can be a itself
+	 * @param collides
+	 */
+	public void setCollides(final CollisionLayer a, final CollisionLayer b, final boolean collides) {
+		if (collides) {
+			this.masks[a.ordinal()] |= b.getBit();
+			this.masks[b.ordinal()] |= a.getBit();
+		} else {
+			this.masks[a.ordinal()] &= ~b.getBit();
+			this.masks[b.ordinal()] &= ~a.getBit();
+		}
+	}
+
+	/**
+	 * Checks whether two layers touch.
+	 * @param a
+	 * @param b
+	 * @return true if colliders of a and b are tested against each other
+	 */
+	public boolean collides(final CollisionLayer a, final CollisionLayer b) {
+		return (this.masks[a.ordinal()] & b.getBit()) != 0;
+	}
+
+	/**
+	 * Gets the bits of the layers touched by layer.
+	 * @param layer
+	 * @return mask
+	 */
+	public int getMask(final CollisionLayer layer) {
+		return this.masks[layer.ordinal()];
+	}
+}
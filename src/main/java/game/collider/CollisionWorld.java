@@ -0,0 +1,231 @@
+package game.collider;
+
+import java.util.Arrays;
+
+/**
+ * Finds every pair of touching colliders among many, of any shape, whose layers touch in a CollisionMatrix.
+ * Colliders are added every tick, then all the contacts are found at once (sweep and prune):
+ * the world is cut into horizontal bands, the boxes of the bounds in each band are sorted along x and swept,
+ * so only boxes near each other are compared, and only pairs whose boxes overlap get the exact test.
+ * Rays, which have no box, are tested against everything.
+ * Nothing is allocated once the arrays have grown, and the contacts are always found in the same order.
+ */
+public class CollisionWorld {
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int MAX_BANDS = 128;		//7 bits of the sort keys, so that they stay positive
+	private static final int X_STEPS = (1 << 24) - 1;	//24 bits of the sort keys
+
+	private final CollisionMatrix matrix;
+	private Collider[] colliders = new Collider[INITIAL_CAPACITY];
+	private int[] layers = new int[INITIAL_CAPACITY];	//bit of the layer
+	private int[] masks = new int[INITIAL_CAPACITY];
+	private int[] rays = new int[INITIAL_CAPACITY];		//ids of the colliders without a box
+	private int size;	//0
+	//a box is entered once in every band it touches: band, x and entry index in the sort keys
+	private long[] keys = new long[INITIAL_CAPACITY];
+	private int[] entryIds = new int[INITIAL_CAPACITY];
+	//entries in sorted order
+	private int[] ids = new int[INITIAL_CAPACITY];
+	private int[] entryLayers = new int[INITIAL_CAPACITY];
+	private double[] minX = new double[INITIAL_CAPACITY];
+	private double[] minY = new double[INITIAL_CAPACITY];
+	private double[] maxX = new double[INITIAL_CAPACITY];
+	private double[] maxY = new double[INITIAL_CAPACITY];
+	//extent of the boxes, set by findContacts
+	private double left;
+	private double top;
+	private double xScale;
+	private double bandHeight;
+	private int bands;
+
+	/**
+	 * Creates an empty world.
+	 * @param matrix - read when colliders are added
+	 */
+	public CollisionWorld(final CollisionMatrix matrix) {
+		this.matrix = matrix;
+	}
+
+	/**
+	 * Removes every collider. Ids are given again from 0.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Adds a collider.
+	 * @param collider
+	 * @param layer
+	 * @return id of the collider in the contacts, its index since the last clear
+	 */
+	public int add(final Collider collider, final CollisionLayer layer) {
+		if (this.size == this.colliders.length) {
+			this.colliders = Arrays.copyOf(this.colliders, this.size * 2);
+			this.layers = Arrays.copyOf(this.layers, this.size * 2);
+			this.masks = Arrays.copyOf(this.masks, this.size * 2);
+			this.rays = Arrays.copyOf(this.rays, this.size * 2);
+		}
+		this.colliders[this.size] = collider;
+		this.layers[this.size] = layer.getBit();
+		this.masks[this.size] = this.matrix.getMask(layer);
+		return this.size++;
+	}
+
+	/**
+	 * @return number of colliders
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets a collider.
+	 * @param id
+	 * @return collider
+	 */
+	public Collider getCollider(final int id) {
+		return this.colliders[id];
+	}
+
+	/**
+	 * Finds every pair of touching colliders, at their current positions.
+	 * @param contacts - cleared, then filled
+	 */
+	public void findContacts(final ContactList contacts) {
+		contacts.clear();
+		final int rayCount = this.measure();
+		final int entries = this.enter();
+		Arrays.sort(this.keys, 0, entries);
+		//entries are copied in sorted order, so that the sweep reads them in sequence
+		for (int a = 0; a < entries; a++) {
+			final int id = this.entryIds[(int) this.keys[a]];
+			final Bounds bounds = this.colliders[id].getBounds();
+			this.ids[a] = id;
+			this.entryLayers[a] = this.layers[id];
+			this.minX[a] = bounds.getMinX();
+			this.minY[a] = bounds.getMinY();
+			this.maxX[a] = bounds.getMaxX();
+			this.maxY[a] = bounds.getMaxY();
+		}
+
+		//sweep every band along x: a box can only overlap the next ones of its band until they start after its end
+		for (int a = 0; a < entries; a++) {
+			final int band = (int) (this.keys[a] >>> 56);
+			final long end = (long) band << 24 | this.quantize(this.maxX[a]);
+			final int mask = this.masks[this.ids[a]];
+			for (int b = a + 1; b < entries && this.keys[b] >>> 32 <= end; b++) {
+				if ((mask & this.entryLayers[b]) != 0
+						&& this.minX[b] <= this.maxX[a] && this.minY[b] <= this.maxY[a] && this.maxY[b] >= this.minY[a]
+						//pairs touching more bands together are reported in the first one
+						&& this.bandOf(Math.max(this.minY[a], this.minY[b])) == band
+						&& Narrowphase.test(this.colliders[this.ids[a]], this.colliders[this.ids[b]])) {
+					contacts.add(this.ids[a], this.ids[b]);
+				}
+			}
+		}
+
+		for (int r = 0; r < rayCount; r++) {
+			final int i = this.rays[r];
+			final Bounds slab = this.colliders[i].getBounds();
+			for (int j = 0; j < this.size; j++) {
+				final Bounds bounds = this.colliders[j].getBounds();
+				if ((this.masks[i] & this.layers[j]) != 0 && (bounds.isSlab()
+						? j > i
+						: slab.overlaps(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY()))
+						&& Narrowphase.test(this.colliders[i], this.colliders[j])) {
+					contacts.add(i, j);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the rays, and the extent of the other boxes to choose the bands.
+	 * @return number of rays
+	 */
+	private int measure() {
+		int rayCount = 0;
+		int boxes = 0;
+		double right = Double.NEGATIVE_INFINITY;
+		double bottom = Double.NEGATIVE_INFINITY;
+		double heights = 0;
+		this.left = Double.POSITIVE_INFINITY;
+		this.top = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < this.size; i++) {
+			final Bounds bounds = this.colliders[i].getBounds();
+			if (bounds.isSlab()) {
+				this.rays[rayCount++] = i;
+			} else {
+				this.left = Math.min(this.left, bounds.getMinX());
+				this.top = Math.min(this.top, bounds.getMinY());
+				right = Math.max(right, bounds.getMaxX());
+				bottom = Math.max(bottom, bounds.getMaxY());
+				heights += bounds.getMaxY() - bounds.getMinY();
+				boxes++;
+			}
+		}
+		//bands twice as high as the average box: most boxes touch one or two
+		this.bands = boxes == 0 ? 1 : (int) Math.max(1, Math.min(MAX_BANDS, (bottom - this.top) * boxes / (2 * heights)));
+		this.bandHeight = (bottom - this.top) / this.bands;
+		this.xScale = X_STEPS / (right - this.left);
+		return rayCount;
+	}
+
+	/**
+	 * Enters every box in the bands it touches.
+	 * @return number of entries
+	 */
+	private int enter() {
+		int entries = 0;
+		for (int i = 0; i < this.size; i++) {
+			final Bounds bounds = this.colliders[i].getBounds();
+			if (bounds.isSlab()) {
+				continue;
+			}
+			final long x = (long) this.quantize(bounds.getMinX()) << 32;
+			final int last = this.bandOf(bounds.getMaxY());
+			for (int band = this.bandOf(bounds.getMinY()); band <= last; band++) {
+				if (entries == this.keys.length) {
+					this.grow(entries * 2);
+				}
+				this.keys[entries] = (long) band << 56 | x | entries;
+				this.entryIds[entries] = i;
+				entries++;
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Gets the band of a y coordinate. Never decreases when y increases.
+	 * @param y
+	 * @return band between 0 and bands - 1
+	 */
+	private int bandOf(final double y) {
+		//NaN, when all boxes have no height, becomes 0
+		return (int) Math.min(this.bands - 1, (y - this.top) / this.bandHeight);
+	}
+
+	/**
+	 * Converts an x coordinate to 24 bits. Never decreases when x increases,
+	 * so an x after quantize(b) is always after b.
+	 * @param x
+	 * @return x step between 0 and X_STEPS
+	 */
+	private int quantize(final double x) {
+		return (int) Math.min(X_STEPS, (x - this.left) * this.xScale);
+	}
+
+	private void grow(final int capacity) {
+		this.keys = Arrays.copyOf(this.keys, capacity);
+		this.entryIds = Arrays.copyOf(this.entryIds, capacity);
+		this.ids = Arrays.copyOf(this.ids, capacity);
+		this.entryLayers = Arrays.copyOf(this.entryLayers, capacity);
+		this.minX = Arrays.copyOf(this.minX, capacity);
+		this.minY = Arrays.copyOf(this.minY, capacity);
+		this.maxX = Arrays.copyOf(this.maxX, capacity);
+		this.maxY = Arrays.copyOf(this.maxY, capacity);
+	}
+}
@@ -0,0 +1,61 @@
+package game.collider;
+
+import java.util.Arrays;
+
+/**
+ * Pairs of touching colliders found by a CollisionWorld, as the ids returned by CollisionWorld.add.
+ * The first id of a pair is always the smaller one.
+ */
+public class ContactList {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int[] firsts = new int[INITIAL_CAPACITY];
+	private int[] seconds = new int[INITIAL_CAPACITY];
+	private int size;	//0
+
+	/**
+	 * Removes every contact.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Adds a contact.
+	 * @param a - id of a collider
+	 * @param b - id of the other collider
+	 */
+	public void add(final int a, final int b) {
+		if (this.size == this.firsts.length) {
+			this.firsts = Arrays.copyOf(this.firsts, this.size * 2);
+			this.seconds = Arrays.copyOf(this.seconds, this.size * 2);
+		}
+		this.firsts[this.size] = Math.min(a, b);
+		this.seconds[this.size] = Math.max(a, b);
+		this.size++;
+	}
+
+	/**
+	 * @return number of contacts
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @param index - of the contact
+	 * @return smaller id of the pair
+	 */
+	public int getFirst(final int index) {
+		return this.firsts[index];
+	}
+
+	/**
+	 * @param index - of the contact
+	 * @return bigger id of the pair
+	 */
+	public int getSecond(final int index) {
+		return this.seconds[index];
+	}
+}
@@ -0,0 +1,198 @@
+package game.collider;
+
+/**
+ * Exact collision tests between any two colliders, picked by their shapes.
+ * Rays are infinite lines. A PointsCollider is the polygon through its points, in order
+ * (a segment for two points, a point for one): a ray touches it when its points aren't all on the same side
+ * of the ray, a circle when its center is inside or an edge is within its radius,
+ * and two polygons touch when their edges cross or one is inside the other.
+ * The player checks of the engine (PointsCollider.checkCollision, CircleBatch, timeOfImpact) still test
+ * only the points, so that recorded games play the same.
+ */
+public final class Narrowphase {
+
+	private Narrowphase() {
+	}
+
+	/**
+	 * Checks whether two colliders touch. The result doesn't depend on their order.
+	 * @param a
+	 * @param b
+	 * @return true if they touch
+	 */
+	public static boolean test(final Collider a, final Collider b) {
+		return switch (a.getShape()) {
+			case CIRCLE -> switch (b.getShape()) {
+				case CIRCLE, RAY -> b.checkCollision((CircleCollider) a);
+				case POINTS -> circlePoints((CircleCollider) a, (PointsCollider) b);
+			};
+			case RAY -> switch (b.getShape()) {
+				case CIRCLE -> a.checkCollision((CircleCollider) b);
+				case RAY -> rays((RayCollider) a, (RayCollider) b);
+				case POINTS -> rayPoints((RayCollider) a, (PointsCollider) b);
+			};
+			case POINTS -> switch (b.getShape()) {
+				case CIRCLE -> circlePoints((CircleCollider) b, (PointsCollider) a);
+				case RAY -> rayPoints((RayCollider) b, (PointsCollider) a);
+				case POINTS -> points((PointsCollider) a, (PointsCollider) b);
+			};
+		};
+	}
+
+	/**
+	 * Two lines touch unless they are parallel and apart.
+	 * @param a
+	 * @param b
+	 * @return true if they touch
+	 */
+	public static boolean rays(final RayCollider a, final RayCollider b) {
+		final double ax = a.getDirection().getX();
+		final double ay = a.getDirection().getY();
+		if (ax * b.getDirection().getY() - ay * b.getDirection().getX() != 0) {
+			return true;
+		}
+		//parallel: the same line if the origin of b is on a
+		return ax * (b.getOrigin().getY() - a.getOrigin().getY()) - ay * (b.getOrigin().getX() - a.getOrigin().getX()) == 0;
+	}
+
+	/**
+	 * A polygon touches a line if some of its points are on it or on both of its sides.
+	 * @param ray
+	 * @param points
+	 * @return true if they touch
+	 */
+	public static boolean rayPoints(final RayCollider ray, final PointsCollider points) {
+		final double normalX = -ray.getDirection().getY();
+		final double normalY = ray.getDirection().getX();
+		final double originX = ray.getOrigin().getX();
+		final double originY = ray.getOrigin().getY();
+		boolean below = false;
+		boolean above = false;
+		for (int i = 0; i < points.getPointCount(); i++) {
+			final double side = normalX * (points.getPointX(i) - originX) + normalY * (points.getPointY(i) - originY);
+			below |= side <= 0;
+			above |= side >= 0;
+			if (below && above) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * A polygon touches a circle if the center is inside it, or if one of its edges is within the radius of the center.
+	 * @param circle
+	 * @param points
+	 * @return true if they touch
+	 */
+	public static boolean circlePoints(final CircleCollider circle, final PointsCollider points) {
+		final int n = points.getPointCount();
+		final double centerX = circle.getCenterX();
+		final double centerY = circle.getCenterY();
+		final double radiusSquared = circle.getRadius() * circle.getRadius();
+		for (int i = 0; i < n; i++) {
+			final int next = (i + 1) % n;
+			if (segmentDistanceSquared(points.getPointX(i), points.getPointY(i), points.getPointX(next), points.getPointY(next),
+					centerX, centerY) <= radiusSquared) {
+				return true;
+			}
+		}
+		return contains(points, centerX, centerY);
+	}
+
+	/**
+	 * Two polygons touch if two of their edges cross, or if one is inside the other.
+	 * @param a
+	 * @param b
+	 * @return true if they touch
+	 */
+	public static boolean points(final PointsCollider a, final PointsCollider b) {
+		final int n = a.getPointCount();
+		final int m = b.getPointCount();
+		if (n == 0 || m == 0) {
+			return false;
+		}
+		for (int i = 0; i < n; i++) {
+			final int nextI = (i + 1) % n;
+			for (int j = 0; j < m; j++) {
+				final int nextJ = (j + 1) % m;
+				if (segments(a.getPointX(i), a.getPointY(i), a.getPointX(nextI), a.getPointY(nextI),
+						b.getPointX(j), b.getPointY(j), b.getPointX(nextJ), b.getPointY(nextJ))) {
+					return true;
+				}
+			}
+		}
+		//no edge crosses: either one contains the other, or they are apart
+		return contains(a, b.getPointX(0), b.getPointY(0)) || contains(b, a.getPointX(0), a.getPointY(0));
+	}
+
+	/**
+	 * Checks whether the segments p1-p2 and p3-p4 have a point in common. A segment may be a single point.
+	 */
+	private static boolean segments(final double x1, final double y1, final double x2, final double y2,
+			final double x3, final double y3, final double x4, final double y4) {
+		final double d1 = cross(x3, y3, x4, y4, x1, y1);
+		final double d2 = cross(x3, y3, x4, y4, x2, y2);
+		final double d3 = cross(x1, y1, x2, y2, x3, y3);
+		final double d4 = cross(x1, y1, x2, y2, x4, y4);
+		if (((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) && ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0))) {
+			return true;
+		}
+		//touching or collinear: an end on the other segment
+		return d1 == 0 && within(x3, y3, x4, y4, x1, y1)
+				|| d2 == 0 && within(x3, y3, x4, y4, x2, y2)
+				|| d3 == 0 && within(x1, y1, x2, y2, x3, y3)
+				|| d4 == 0 && within(x1, y1, x2, y2, x4, y4);
+	}
+
+	/**
+	 * Squared distance between p and the closest point of the segment a-b, which may be a single point.
+	 */
+	private static double segmentDistanceSquared(final double ax, final double ay, final double bx, final double by,
+			final double px, final double py) {
+		final double dx = bx - ax;
+		final double dy = by - ay;
+		final double lengthSquared = dx * dx + dy * dy;
+		final double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+		final double closestX = ax + t * dx - px;
+		final double closestY = ay + t * dy - py;
+		return closestX * closestX + closestY * closestY;
+	}
+
+	/**
+	 * Which side of the line a-b the point p is on: positive on the left, 0 on the line.
+	 */
+	private static double cross(final double ax, final double ay, final double bx, final double by, final double px, final double py) {
+		return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+	}
+
+	/**
+	 * Checks whether p, on the line a-b, is in the box of the segment a-b.
+	 */
+	private static boolean within(final double ax, final double ay, final double bx, final double by, final double px, final double py) {
+		return Math.min(ax, bx) <= px && px <= Math.max(ax, bx) && Math.min(ay, by) <= py && py <= Math.max(ay, by);
+	}
+
+	/**
+	 * Checks whether (x, y) is strictly inside polygon, by counting the edges crossed by a horizontal line from it.
+	 * Polygons of fewer than three points have no inside.
+	 */
+	private static boolean contains(final PointsCollider polygon, final double x, final double y) {
+		final int n = polygon.getPointCount();
+		if (n < 3) {
+			return false;
+		}
+		boolean inside = false;
+		for (int i = 0, j = n - 1; i < n; j = i++) {
+			final double yi = polygon.getPointY(i);
+			final double yj = polygon.getPointY(j);
+			if ((yi > y) != (yj > y)) {
+				final double crossingX = polygon.getPointX(i) + (y - yi) * (polygon.getPointX(j) - polygon.getPointX(i)) / (yj - yi);
+				if (x < crossingX) {
+					inside = !inside;
+				}
+			}
+		}
+		return inside;
+	}
+}
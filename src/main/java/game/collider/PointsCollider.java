@@ -1,7 +1,5 @@
 package game.collider;
 
-import java.util.Set;
-
 import game.model.AbstractGameObject;
 import game.util.Point2D;
 
@@ -10,16 +8,18 @@ import game.util.Point2D;
  */
 public class PointsCollider implements Collider {
 
-	private final Set<Point2D> points;
+	private final Point2D[] points;
 	private final AbstractGameObject object;
+	private final Bounds bounds = new Bounds();
 	
 	/**
 	 * Creates a new Collider for parent, using points.
-	 * The points are their relative position from the position of the parent
+	 * The points are their relative position from the position of the parent,
+	 * and they are kept: moving them moves the collider (call invalidateBounds).
 	 * @param parent
-	 * @param points - in world coordinates
+	 * @param points - relative to the parent
 	 */
-	public PointsCollider(final AbstractGameObject parent, final Set<Point2D> points) {
+	public PointsCollider(final AbstractGameObject parent, final Point2D... points) {
 		this.object = parent;
 		this.points = points;
 	}
@@ -30,14 +30,119 @@ public class PointsCollider implements Collider {
 	 */
 	@Override
 	public boolean checkCollision(final CircleCollider player) {
+		final double centerX = player.getCenterX();
+		final double centerY = player.getCenterY();
+		final double radiusSquared = player.getRadius() * player.getRadius();
+		final double x = this.object.getX();
+		final double y = this.object.getY();
 		for (final Point2D p : this.points) {
-			final var newP = Point2D.copyOf(this.object.getPosition());
-			newP.add(p);
-			if (Point2D.distance(newP, player.getCenter()) <= player.getRadius()) {
+			if (Point2D.distanceSquared(x + p.getX(), y + p.getY(), centerX, centerY) <= radiusSquared) {
 				return true;
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Gets the earliest time of impact of the points, which move with the parent.
+	 * @param player
+	 */
+	@Override
+	public double timeOfImpact(final CircleCollider player) {
+		final double x = this.object.getX();
+		final double y = this.object.getY();
+		final double previousX = this.object.getPreviousX();
+		final double previousY = this.object.getPreviousY();
+		double first = Sweep.NO_HIT;
+		for (final Point2D p : this.points) {
+			first = Math.min(first, Sweep.circlePoint(player.getPreviousCenterX(), player.getPreviousCenterY(),
+					player.getCenterX(), player.getCenterY(), player.getRadius(),
+					previousX + p.getX(), previousY + p.getY(), x + p.getX(), y + p.getY()));
+			if (first == 0) {
+				//can't be earlier
+				return 0;
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * Each point is added as a circle of radius 0.
+	 */
+	@Override
+	public boolean pack(final CircleBatch batch, final int owner) {
+		final double x = this.object.getX();
+		final double y = this.object.getY();
+		for (final Point2D p : this.points) {
+			batch.add(x + p.getX(), y + p.getY(), 0, owner);
+		}
+		return true;
+	}
+
+	@Override
+	public Shape getShape() {
+		return Shape.POINTS;
+	}
+
+	@Override
+	public Bounds getBounds() {
+		if (!this.bounds.isValid(this.object.getVersion())) {
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			double maxX = Double.NEGATIVE_INFINITY;
+			double maxY = Double.NEGATIVE_INFINITY;
+			for (final Point2D p : this.points) {
+				minX = Math.min(minX, p.getX());
+				minY = Math.min(minY, p.getY());
+				maxX = Math.max(maxX, p.getX());
+				maxY = Math.max(maxY, p.getY());
+			}
+			final double x = this.object.getX();
+			final double y = this.object.getY();
+			this.bounds.setBox(x + minX, y + minY, x + maxX, y + maxY, this.object.getVersion());
+		}
+		return this.bounds;
+	}
+
+	/**
+	 * @return number of points
+	 */
+	public int getPointCount() {
+		return this.points.length;
+	}
+
+	/**
+	 * Gets the x coordinate of a point in the world.
+	 * @param index
+	 * @return x coordinate
+	 */
+	public double getPointX(final int index) {
+		return this.object.getX() + this.points[index].getX();
+	}
+
+	/**
+	 * Gets the y coordinate of a point in the world.
+	 * @param index
+	 * @return y coordinate
+	 */
+	public double getPointY(final int index) {
+		return this.object.getY() + this.points[index].getY();
+	}
+
+	/**
+	 * Must be called after moving the points, so that the bounds are computed again.
+	 */
+	public void invalidateBounds() {
+		this.bounds.invalidate();
+	}
+
+	@Override
+	public double getBoundingRadius() {
+		double max = 0;
+		for (final Point2D p : this.points) {
+			max = Math.max(max, p.getMagnitudeSquared());
+		}
+		return Math.sqrt(max);
+	}
+
 }
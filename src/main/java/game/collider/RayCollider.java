@@ -9,6 +9,7 @@ public class RayCollider implements Collider {
 
     private final AbstractGameObject origin;
     private final Point2D direction;
+    private final Bounds bounds = new Bounds();
     /**
      * Creates a new RayCollider of direction direction and origin at origin's position.
 	 * @param origin
@@ -19,24 +20,60 @@ public class RayCollider implements Collider {
 		this.direction = Point2D.normalized(direction);
 	}
 	
+	/**
+	 * Changes the direction of this ray.
+	 * @param direction - copied, not kept
+	 */
+	public void setDirection(final Point2D direction) {
+		this.direction.set(direction);
+		this.direction.normalize();
+		this.bounds.invalidate();
+	}
+	
 	/**
 	 * Checks whether a collision has occurred with the player.
 	 * @param player
 	 */
 	@Override
 	public boolean checkCollision(final CircleCollider player) {
-		final double xDist = player.getCenter().getX() - this.getOrigin().getX();
+		final double xDist = player.getCenterX() - this.getOrigin().getX();
 		if (this.direction.getX() == 0) {
 			//vertical ray; calculate only the distance on x-axis
 			return Math.abs(xDist) <= player.getRadius();
 		} else {
 			final double m = this.direction.getY() / this.direction.getX();
-			final double yDist = player.getCenter().getY() - this.getOrigin().getY();
-			//distance point to ray
-			final double distance = Math.abs(yDist - m * xDist) / Math.sqrt(1 + m * m);
-			return distance <= player.getRadius();
+			final double yDist = player.getCenterY() - this.getOrigin().getY();
+			//distance point to ray, squared on both sides: |yDist - m * xDist| / sqrt(1 + m^2) <= radius
+			final double numerator = yDist - m * xDist;
+			return numerator * numerator <= player.getRadius() * player.getRadius() * (1 + m * m);
 		}
 	}
+
+	@Override
+	public Shape getShape() {
+		return Shape.RAY;
+	}
+
+	/**
+	 * Rays are infinite: the broadphase always tests them.
+	 */
+	@Override
+	public double getBoundingRadius() {
+		return Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * A ray has no finite box: its bounds are the slab around its line, computed once per position and direction.
+	 */
+	@Override
+	public Bounds getBounds() {
+		if (!this.bounds.isValid(this.origin.getVersion())) {
+			this.bounds.setSlab(this.getOrigin().getX(), this.getOrigin().getY(), this.direction.getX(), this.direction.getY(),
+					this.origin.getVersion());
+		}
+		return this.bounds;
+	}
+
 	/**
 	 * Gets the direction of this ray.
 	 * @return the direction
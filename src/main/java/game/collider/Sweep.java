@@ -0,0 +1,74 @@
+package game.collider;
+
+/**
+ * Swept (continuous) collision tests between shapes moving in a straight line during a tick.
+ * Instead of checking only where the shapes end up, they find the first moment they touch,
+ * so fast or long ticks can't make them pass through each other.
+ * Times are fractions of the tick: 0 at the previous positions, 1 at the current ones.
+ */
+public final class Sweep {
+
+	/** Time of impact of shapes which don't touch during the tick. */
+	public static final double NO_HIT = Double.POSITIVE_INFINITY;
+
+	private Sweep() {
+	}
+
+	/**
+	 * Gets when two moving circles first touch.
+	 * @param ax0 - center of a at time 0
+	 * @param ay0
+	 * @param ax1 - center of a at time 1
+	 * @param ay1
+	 * @param aRadius
+	 * @param bx0 - center of b at time 0
+	 * @param by0
+	 * @param bx1 - center of b at time 1
+	 * @param by1
+	 * @param bRadius
+	 * @return time of impact between 0 and 1, 0 if they already touch, NO_HIT if they never touch during the tick
+	 */
+	public static double circles(final double ax0, final double ay0, final double ax1, final double ay1, final double aRadius,
+			final double bx0, final double by0, final double bx1, final double by1, final double bRadius) {
+		//b relative to a: p(t) = p + t * d, touching when |p(t)| <= radius
+		final double px = bx0 - ax0;
+		final double py = by0 - ay0;
+		final double dx = (bx1 - bx0) - (ax1 - ax0);
+		final double dy = (by1 - by0) - (ay1 - ay0);
+		final double radius = aRadius + bRadius;
+		final double c = px * px + py * py - radius * radius;
+		if (c <= 0) {
+			return 0;
+		}
+		final double a = dx * dx + dy * dy;
+		final double b = px * dx + py * dy;		//half of the linear coefficient
+		if (a == 0 || b >= 0) {
+			//not moving, or moving apart
+			return NO_HIT;
+		}
+		final double discriminant = b * b - a * c;
+		if (discriminant < 0) {
+			return NO_HIT;
+		}
+		final double t = (-b - Math.sqrt(discriminant)) / a;
+		return t <= 1 ? t : NO_HIT;
+	}
+
+	/**
+	 * Gets when a moving point first enters a moving circle.
+	 * @param cx0 - center of the circle at time 0
+	 * @param cy0
+	 * @param cx1 - center of the circle at time 1
+	 * @param cy1
+	 * @param radius
+	 * @param px0 - point at time 0
+	 * @param py0
+	 * @param px1 - point at time 1
+	 * @param py1
+	 * @return time of impact between 0 and 1, 0 if the point is already inside, NO_HIT if it never enters during the tick
+	 */
+	public static double circlePoint(final double cx0, final double cy0, final double cx1, final double cy1, final double radius,
+			final double px0, final double py0, final double px1, final double py1) {
+		return circles(cx0, cy0, cx1, cy1, radius, px0, py0, px1, py1, 0);
+	}
+}
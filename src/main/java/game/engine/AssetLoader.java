@@ -0,0 +1,154 @@
+package game.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+
+import game.engine.AudioManager.Music;
+import game.engine.AudioManager.Sound;
+import game.graphics.ImageRenderer.Sprite;
+import game.graphics.SpriteAtlas;
+
+/**
+ * Loads every image and audio file on a pool of worker threads, while the menu is shown,
+ * so that neither the JavaFX thread nor the engine thread decode anything.
+ * Assets which fail to load are reported and skipped: they are loaded again when first used.
+ * The workers stop once everything is loaded.
+ */
+public final class AssetLoader {
+
+	private final ExecutorService workers;
+	private final int total;
+	private final AtomicInteger loaded = new AtomicInteger();
+	private final CompletableFuture<Void> spritesReady;
+	private final CompletableFuture<Void> audioReady;
+	private final CompletableFuture<Void> ready;
+	private final long startTime = System.nanoTime();
+	private volatile DoubleConsumer onProgress = progress -> { };
+	private volatile long loadingNanos;	//0 until everything is loaded
+
+	private AssetLoader(final List<Runnable> images, final Runnable atlas, final List<Runnable> audio) {
+		this.workers = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), r -> {
+			final Thread t = new Thread(r, "asset-loader");
+			t.setDaemon(true);		//doesn't keep the application alive
+			return t;
+		});
+		//known before the first task completes
+		this.total = images.size() + 1 + audio.size();
+		final List<CompletableFuture<?>> imagesLoaded = new ArrayList<>();
+		for (final Runnable task : images) {
+			imagesLoaded.add(this.load(task));
+		}
+		//the atlas is packed once every image is decoded, and counts as one more asset
+		this.spritesReady = CompletableFuture.allOf(imagesLoaded.toArray(CompletableFuture[]::new))
+				.thenCompose(v -> this.load(atlas));
+		final List<CompletableFuture<?>> audioLoaded = new ArrayList<>();
+		for (final Runnable task : audio) {
+			audioLoaded.add(this.load(task));
+		}
+		this.audioReady = CompletableFuture.allOf(audioLoaded.toArray(CompletableFuture[]::new));
+		this.ready = CompletableFuture.allOf(this.spritesReady, this.audioReady).thenRun(() -> {
+			this.loadingNanos = System.nanoTime() - this.startTime;
+			this.workers.shutdown();
+		});
+	}
+
+	/**
+	 * Starts loading every asset in the background: images, the atlas, sounds and musics.
+	 * @return the loader, to follow the progress
+	 */
+	public static AssetLoader start() {
+		final List<Runnable> images = new ArrayList<>();
+		for (final Sprite s : Sprite.values()) {
+			images.add(s::getImage);
+		}
+		final List<Runnable> audio = new ArrayList<>();
+		for (final Sound s : Sound.values()) {
+			audio.add(() -> AudioManager.preload(s));
+		}
+		for (final Music m : Music.values()) {
+			audio.add(() -> AudioManager.preload(m));
+		}
+		return start(images, SpriteAtlas::get, audio);
+	}
+
+	/**
+	 * Starts loading the given assets in the background.
+	 * @param images - tasks decoding one image each
+	 * @param atlas - task packing the images, run once they are all decoded
+	 * @param audio - tasks loading one sound or music each
+	 * @return the loader, to follow the progress
+	 */
+	public static AssetLoader start(final List<Runnable> images, final Runnable atlas, final List<Runnable> audio) {
+		return new AssetLoader(images, atlas, audio);
+	}
+
+	/**
+	 * Runs task on a worker, counting it as loaded even if it fails.
+	 */
+	private CompletableFuture<Void> load(final Runnable task) {
+		return CompletableFuture.runAsync(task, this.workers).handle((v, e) -> {
+			if (e != null) {
+				e.printStackTrace();
+			}
+			this.onProgress.accept((double) this.loaded.incrementAndGet() / this.total);
+			return null;
+		});
+	}
+
+	/**
+	 * Sets what to do every time an asset is loaded. Called by a worker thread.
+	 * Assets loaded before this call are not reported: read getProgress after setting it.
+	 * @param onProgress - receives the progress, between 0 and 1
+	 */
+	public void setOnProgress(final DoubleConsumer onProgress) {
+		this.onProgress = onProgress;
+	}
+
+	/**
+	 * @return fraction of the assets loaded, between 0 and 1
+	 */
+	public double getProgress() {
+		return (double) this.loaded.get() / this.total;
+	}
+
+	/**
+	 * @return completed when every sprite is decoded and packed into the atlas
+	 */
+	public CompletableFuture<Void> getSpritesReady() {
+		return this.spritesReady;
+	}
+
+	/**
+	 * @return completed when every sound and music is loaded
+	 */
+	public CompletableFuture<Void> getAudioReady() {
+		return this.audioReady;
+	}
+
+	/**
+	 * @return completed when every asset is loaded, after getLoadingMillis is known
+	 */
+	public CompletableFuture<Void> getReady() {
+		return this.ready;
+	}
+
+	/**
+	 * @return time taken to load every asset, in milliseconds; 0 if still loading
+	 */
+	public long getLoadingMillis() {
+		return this.loadingNanos / 1_000_000;
+	}
+
+	/**
+	 * Stops the workers before everything is loaded, e.g. when the application exits.
+	 * Assets still loading are loaded when first used.
+	 */
+	public void shutdown() {
+		this.workers.shutdownNow();
+	}
+}
@@ -1,7 +1,7 @@
 package game.engine;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javafx.scene.media.AudioClip;
 import javafx.scene.media.Media;
@@ -12,27 +12,27 @@ import javafx.scene.media.MediaPlayer;
  */
 public class AudioManager {
 	
-	private static final Map<Music, MediaPlayer> MUSICS = new HashMap<>();
-	private static final Map<Sound, AudioClip> SOUNDS = new HashMap<>();
+	//filled by the AssetLoader workers too
+	private static final Map<Music, MediaPlayer> MUSICS = new ConcurrentHashMap<>();
+	private static final Map<Sound, AudioClip> SOUNDS = new ConcurrentHashMap<>();
 	
 	/**
 	 * Each element of this enum represents a music, playable by the method playMusic.
-	 * It's used for long audio files.
+	 * It's used for long audio files. The media is loaded the first time it's played.
 	 */
 	public static enum Music {
 		BALOON_GROOVE("audio/BalloonGroove.wav");
 
+		private final String path;
+
 		private Music(final String path) {
-			final Media media = new Media(getResPath(path));
-			final MediaPlayer mp = new MediaPlayer(media);
-			mp.setCycleCount(AudioClip.INDEFINITE);
-			MUSICS.put(this, mp);	
+			this.path = path;
 		}
 	}
 	
 	/**
 	 * Each element of this enum represents a sound, playable by the method playSound.
-	 * It's used for short audio clips.
+	 * It's used for short audio clips. The clip is loaded the first time it's played.
 	 */
 	public static enum Sound {
 		POP("audio/pop.wav"),
@@ -41,11 +41,51 @@ public class AudioManager {
 		MULTIPLIER_GET("audio/2x_equip.wav"),
 		SWEEPER_GET("audio/sweeper_use.wav");
 
+		private final String path;
+
 		private Sound(final String path) {
-			SOUNDS.put(this, new AudioClip(getResPath(path)));
+			this.path = path;
 		}
 	}
 	
+	/**
+	 * Gets the player of music, loading it if needed.
+	 * @param music
+	 * @return the media player
+	 */
+	private static MediaPlayer getPlayer(final Music music) {
+		return MUSICS.computeIfAbsent(music, m -> {
+			final MediaPlayer mp = new MediaPlayer(new Media(getResPath(m.path)));
+			mp.setCycleCount(AudioClip.INDEFINITE);
+			return mp;
+		});
+	}
+	
+	/**
+	 * Gets the clip of sound, loading it if needed.
+	 * @param sound
+	 * @return the audio clip
+	 */
+	private static AudioClip getClip(final Sound sound) {
+		return SOUNDS.computeIfAbsent(sound, s -> new AudioClip(getResPath(s.path)));
+	}
+	
+	/**
+	 * Loads music, so that it's ready when played.
+	 * @param music
+	 */
+	static void preload(final Music music) {
+		getPlayer(music);
+	}
+	
+	/**
+	 * Loads sound, so that it's ready when played.
+	 * @param sound
+	 */
+	static void preload(final Sound sound) {
+		getClip(sound);
+	}
+	
 	/**
 	 * Converts a resource path to a URI path, for Audio loading.
 	 * @param path
@@ -61,7 +101,7 @@ public class AudioManager {
 	 * @param volume
 	 */
 	public void playSound(final Sound sound, final double volume) {
-		SOUNDS.get(sound).play(volume);
+		getClip(sound).play(volume);
 	}
 	
 	/**
@@ -73,8 +113,8 @@ public class AudioManager {
 	public void playMusic(final Music music, final double volume) {
 		//System.out.println(this.musics.get(music) + " >> " + MUSICS.get(music));
 		this.stopMusics();
-		MUSICS.get(music).setVolume(volume);
-		MUSICS.get(music).play();
+		getPlayer(music).setVolume(volume);
+		getPlayer(music).play();
 	}
 	
 	/**
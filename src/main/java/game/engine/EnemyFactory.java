@@ -2,15 +2,17 @@ package game.engine;
 
 import game.model.AbstractGameObject.ObjectType;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import game.model.*;
 import game.util.Point2D;
+import game.util.RandomStreams;
 import game.util.WhereToSpawn;
 
 /**
  * A factory for creating Enemy objects using Factory method where we just
  * select the enemy type and the class creates it.
+ * Enemies are taken from the pools of the game engine and reset, not allocated.
  */
 public class EnemyFactory {
 
@@ -24,17 +26,26 @@ public class EnemyFactory {
 	private static final float EXPLOSION_DETONATION_TIME = 2f;
 
 	/** The spawn position. */
-	private Point2D spawnPosition;
+	private final Point2D spawnPosition = new Point2D(0, 0);
 
 	/** The direction. */
-	private Point2D direction;
+	private final Point2D direction = new Point2D(0, 0);
 
 	/** The game engine. */
 	private final GameEngine gameEngine;
 
+	/** The pools where enemies are taken from. */
+	private final GameObjectPools pools;
+
 	/** The wheretospawn. */
 	private final WhereToSpawn wheretospawn = new WhereToSpawn();
 
+	/** The random streams of each enemy type. */
+	private final RandomGenerator bulletRandom;
+	private final RandomGenerator laserRandom;
+	private final RandomGenerator thornballRandom;
+	private final RandomGenerator explosionRandom;
+
 	/**
 	 * Instantiates a new enemy factory.
 	 *
@@ -43,6 +54,12 @@ public class EnemyFactory {
 	public EnemyFactory(final GameEngine gameEngine) {
 
 		this.gameEngine = gameEngine;
+		this.pools = gameEngine.getPools();
+		final RandomStreams random = gameEngine.getRandomStreams();
+		this.bulletRandom = random.get(RandomStreams.Stream.BULLET);
+		this.laserRandom = random.get(RandomStreams.Stream.LASER);
+		this.thornballRandom = random.get(RandomStreams.Stream.THORNBALL);
+		this.explosionRandom = random.get(RandomStreams.Stream.EXPLOSION);
 	}
 
 	/**
@@ -67,10 +84,12 @@ public class EnemyFactory {
 	 * @return the abstract game object
 	 */
 	public AbstractGameObject createBullet() {
-		this.spawnPosition = this.wheretospawn.getEnemySpawnPoint(this.wheretospawn.getRandomSide());
-		this.direction = Point2D.copyOf(this.gameEngine.getPlayerPosition());
+		this.wheretospawn.getEnemySpawnPoint(this.wheretospawn.getRandomSide(this.bulletRandom), this.bulletRandom, this.spawnPosition);
+		this.direction.set(this.gameEngine.getPlayerPosition());
 		this.direction.sub(this.spawnPosition);
-		return new EnemyProjectileObj(this.spawnPosition, this.direction, BULLET_VELOCITY, ObjectType.BULLET, this.gameEngine);
+		final EnemyProjectileObj bullet = this.pools.acquireBullet();
+		bullet.reset(this.spawnPosition, this.direction, BULLET_VELOCITY);
+		return bullet;
 	}
 
 	/**
@@ -79,10 +98,12 @@ public class EnemyFactory {
 	 * @return the abstract game object
 	 */
 	public AbstractGameObject createLaser() {
-		final var r = new Random();
-		this.spawnPosition = new Point2D(r.nextDouble(), r.nextDouble()); // (0, 0) -> (1, 1)
-		this.direction = new Point2D(r.nextDouble() * 2 - 1, r.nextDouble() * 2 - 1); // (-1, -1) -> (1, 1)
-		return new EnemyLineObj(this.spawnPosition, this.direction, LASER_DETONATION_TIME, ObjectType.LASER, this.gameEngine);
+		final var r = this.laserRandom;
+		this.spawnPosition.set(r.nextDouble(), r.nextDouble()); // (0, 0) -> (1, 1)
+		this.direction.set(r.nextDouble() * 2 - 1, r.nextDouble() * 2 - 1); // (-1, -1) -> (1, 1)
+		final EnemyLineObj laser = this.pools.acquireLaser();
+		laser.reset(this.spawnPosition, this.direction, LASER_DETONATION_TIME);
+		return laser;
 	}
 
 	/**
@@ -91,8 +112,10 @@ public class EnemyFactory {
 	 * @return the abstract game object
 	 */
 	public AbstractGameObject createThornball() {
-		this.spawnPosition = this.wheretospawn.getEnemySpawnPoint(this.wheretospawn.getThornballRandomSide());
-		return new EnemyBallObj(this.spawnPosition, ObjectType.THORNBALL, this.gameEngine);
+		this.wheretospawn.getEnemySpawnPoint(this.wheretospawn.getThornballRandomSide(this.thornballRandom), this.thornballRandom, this.spawnPosition);
+		final EnemyBallObj thornball = this.pools.acquireThornball();
+		thornball.reset(this.spawnPosition);
+		return thornball;
 	}
 
 	/**
@@ -101,8 +124,10 @@ public class EnemyFactory {
 	 * @return the abstract game object
 	 */
 	public AbstractGameObject createExplosion() {
-		final var r = new Random();
-		this.spawnPosition = new Point2D(r.nextDouble(), r.nextDouble()); // (0, 0) -> (1, 1)
-		return new EnemyBombObj(this.spawnPosition, EXPLOSION_DETONATION_TIME, ObjectType.EXPLOSION, this.gameEngine);
+		final var r = this.explosionRandom;
+		this.spawnPosition.set(r.nextDouble(), r.nextDouble()); // (0, 0) -> (1, 1)
+		final EnemyBombObj explosion = this.pools.acquireExplosion();
+		explosion.reset(this.spawnPosition, EXPLOSION_DETONATION_TIME);
+		return explosion;
 	}
 }
@@ -0,0 +1,247 @@
+package game.engine;
+
+import java.util.Arrays;
+
+import game.model.AbstractGameObject;
+import game.model.AbstractGameObject.ObjectType;
+
+/**
+ * Structure-of-arrays storage of all the game objects of one type.
+ * The state updated every tick (position, velocity, timer, radius, angle) lives in primitive arrays,
+ * indexed by the slot of each object, so that batch kernels walk contiguous memory.
+ * The arrays are the only copy of that state: objects, their colliders and renderers read it from here.
+ * The objects themselves keep what is not updated every tick (renderer, collider).
+ * Slots are dense: removing an object moves the last one into its slot.
+ */
+public class EntityBucket {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final ObjectType type;
+	private int size;	//0
+	private int version;	//0: changes every time the kernel moves the objects
+	private AbstractGameObject[] objects = new AbstractGameObject[INITIAL_CAPACITY];
+	private double[] x = new double[INITIAL_CAPACITY];
+	private double[] y = new double[INITIAL_CAPACITY];
+	private double[] previousX = new double[INITIAL_CAPACITY];
+	private double[] previousY = new double[INITIAL_CAPACITY];
+	private double[] vx = new double[INITIAL_CAPACITY];
+	private double[] vy = new double[INITIAL_CAPACITY];
+	private double[] timer = new double[INITIAL_CAPACITY];
+	private double[] radius = new double[INITIAL_CAPACITY];
+	private double[] angle = new double[INITIAL_CAPACITY];
+	private int[] cell = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Creates an empty bucket.
+	 * @param type - the type of the objects stored
+	 */
+	public EntityBucket(final ObjectType type) {
+		this.type = type;
+	}
+
+	/**
+	 * Adds obj at the end of this bucket, copying its position and letting it store the rest of its state.
+	 * @param obj - must be of the type of this bucket
+	 */
+	public void add(final AbstractGameObject obj) {
+		if (this.size == this.objects.length) {
+			this.grow();
+		}
+		final int slot = this.size++;
+		this.objects[slot] = obj;
+		this.x[slot] = obj.getPosition().getX();
+		this.y[slot] = obj.getPosition().getY();
+		this.previousX[slot] = obj.getPreviousPosition().getX();
+		this.previousY[slot] = obj.getPreviousPosition().getY();
+		this.vx[slot] = 0;
+		this.vy[slot] = 0;
+		this.timer[slot] = 0;
+		this.radius[slot] = 0;
+		this.angle[slot] = 0;
+		this.cell[slot] = SpatialGrid.NONE;
+		obj.attach(this, slot);
+		obj.storeState(this, slot);
+	}
+
+	/**
+	 * Removes obj, moving the last object into its slot.
+	 * @param obj
+	 * @return false if obj was not in this bucket
+	 */
+	public boolean remove(final AbstractGameObject obj) {
+		final int slot = obj.getSlot();
+		if (obj.getBucket() != this || slot < 0 || slot >= this.size || this.objects[slot] != obj) {
+			return false;
+		}
+		obj.attach(null, -1);	//copies its position back before the slot is reused
+		final int last = --this.size;
+		if (slot != last) {
+			final AbstractGameObject moved = this.objects[last];
+			this.objects[slot] = moved;
+			this.x[slot] = this.x[last];
+			this.y[slot] = this.y[last];
+			this.previousX[slot] = this.previousX[last];
+			this.previousY[slot] = this.previousY[last];
+			this.vx[slot] = this.vx[last];
+			this.vy[slot] = this.vy[last];
+			this.timer[slot] = this.timer[last];
+			this.radius[slot] = this.radius[last];
+			this.angle[slot] = this.angle[last];
+			this.cell[slot] = this.cell[last];
+			moved.attach(this, slot);
+		}
+		this.objects[last] = null;
+		return true;
+	}
+
+	/**
+	 * Doubles the capacity of every array.
+	 */
+	private void grow() {
+		final int capacity = this.objects.length * 2;
+		this.objects = Arrays.copyOf(this.objects, capacity);
+		this.x = Arrays.copyOf(this.x, capacity);
+		this.y = Arrays.copyOf(this.y, capacity);
+		this.previousX = Arrays.copyOf(this.previousX, capacity);
+		this.previousY = Arrays.copyOf(this.previousY, capacity);
+		this.vx = Arrays.copyOf(this.vx, capacity);
+		this.vy = Arrays.copyOf(this.vy, capacity);
+		this.timer = Arrays.copyOf(this.timer, capacity);
+		this.radius = Arrays.copyOf(this.radius, capacity);
+		this.angle = Arrays.copyOf(this.angle, capacity);
+		this.cell = Arrays.copyOf(this.cell, capacity);
+	}
+
+	/**
+	 * Stores the current positions as the positions before the next tick.
+	 * Called by the EntityStore before every update.
+	 */
+	public void savePreviousPositions() {
+		System.arraycopy(this.x, 0, this.previousX, 0, this.size);
+		System.arraycopy(this.y, 0, this.previousY, 0, this.size);
+	}
+
+	/**
+	 * Must be called by kernels after writing the positions, so that what is cached from them
+	 * (like the bounds of colliders) is computed again.
+	 */
+	public void moved() {
+		this.version++;
+	}
+
+	/**
+	 * Gets the version of the positions, which changes every time the kernel moves the objects.
+	 * Added to the version of each object.
+	 * @return version
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Calls the update of every object, for types without a batch kernel.
+	 */
+	public void updateEach() {
+		for (int i = 0; i < this.size; i++) {
+			this.objects[i].update();
+		}
+	}
+
+	/**
+	 * @return the type of the objects stored
+	 */
+	public ObjectType getType() {
+		return this.type;
+	}
+
+	/**
+	 * @return number of objects stored
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @param slot
+	 * @return the object in slot
+	 */
+	public AbstractGameObject getObject(final int slot) {
+		return this.objects[slot];
+	}
+
+	/*
+	 * The arrays below are valid up to size(), and are replaced when the bucket grows:
+	 * don't keep them across calls to add().
+	 */
+
+	/**
+	 * @return x coordinates
+	 */
+	public double[] getX() {
+		return this.x;
+	}
+
+	/**
+	 * @return y coordinates
+	 */
+	public double[] getY() {
+		return this.y;
+	}
+
+	/**
+	 * @return x coordinates before the last tick
+	 */
+	public double[] getPreviousX() {
+		return this.previousX;
+	}
+
+	/**
+	 * @return y coordinates before the last tick
+	 */
+	public double[] getPreviousY() {
+		return this.previousY;
+	}
+
+	/**
+	 * @return x velocities, in world units per tick
+	 */
+	public double[] getVelocityX() {
+		return this.vx;
+	}
+
+	/**
+	 * @return y velocities, in world units per tick
+	 */
+	public double[] getVelocityY() {
+		return this.vy;
+	}
+
+	/**
+	 * @return timers, in seconds
+	 */
+	public double[] getTimers() {
+		return this.timer;
+	}
+
+	/**
+	 * @return radii of circle colliders, 0 when the object has none
+	 */
+	public double[] getRadii() {
+		return this.radius;
+	}
+
+	/**
+	 * @return angles, in degrees
+	 */
+	public double[] getAngles() {
+		return this.angle;
+	}
+
+	/**
+	 * @return cells of the SpatialGrid where objects are, SpatialGrid.NONE if not inserted
+	 */
+	public int[] getCells() {
+		return this.cell;
+	}
+}
@@ -0,0 +1,296 @@
+package game.engine;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import game.collider.CircleCollider;
+import game.model.AbstractGameObject;
+import game.model.AbstractGameObject.ObjectType;
+import game.model.EnemyBallObj;
+import game.model.EnemyBombObj;
+import game.model.EnemyLineObj;
+import game.model.EnemyProjectileObj;
+import game.model.PowerUpObj;
+
+/**
+ * Stores every enemy and powerup in one EntityBucket per ObjectType,
+ * and updates each bucket with the batch kernel of its type.
+ * Enemies and powerups are also indexed by two SpatialGrids, refreshed after every update.
+ * <p>
+ * Every stored object gets a generational handle (generation in the high 32 bits, id in the low ones):
+ * ids are recycled, but the generation changes at every removal, so stale handles are detected
+ * in constant time.
+ */
+public class EntityStore {
+
+	/** Handle which never refers to an object. */
+	public static final long NO_HANDLE = 0;
+
+	private static final int INITIAL_IDS = 64;
+
+	private final EntityBucket[] buckets = new EntityBucket[ObjectType.values().length];
+	private final EntityBucket[] enemyBuckets;
+	private final EntityBucket[] powerUpBuckets;
+	private final SpatialGrid enemyGrid = new SpatialGrid();
+	private final SpatialGrid powerUpGrid = new SpatialGrid();
+	private AbstractGameObject[] byId = new AbstractGameObject[INITIAL_IDS];
+	private int[] generations = new int[INITIAL_IDS];		//0 only for ids never used, so NO_HANDLE is never valid
+	private boolean[] destroying = new boolean[INITIAL_IDS];	//destroy already requested
+	private int[] freeIds = new int[INITIAL_IDS];
+	private int freeCount;	//0
+	private int nextId;		//0
+
+	/**
+	 * Creates an empty store.
+	 */
+	public EntityStore() {
+		int enemyTypes = 0;
+		int powerUpTypes = 0;
+		for (final ObjectType t : ObjectType.values()) {
+			if (t.isEnemy()) {
+				enemyTypes++;
+			} else if (t.isPowerUp()) {
+				powerUpTypes++;
+			}
+		}
+		this.enemyBuckets = new EntityBucket[enemyTypes];
+		this.powerUpBuckets = new EntityBucket[powerUpTypes];
+		enemyTypes = 0;
+		powerUpTypes = 0;
+		for (final ObjectType t : ObjectType.values()) {
+			if (t.isEnemy()) {
+				this.buckets[t.ordinal()] = new EntityBucket(t);
+				this.enemyBuckets[enemyTypes++] = this.buckets[t.ordinal()];
+			} else if (t.isPowerUp()) {
+				this.buckets[t.ordinal()] = new EntityBucket(t);
+				this.powerUpBuckets[powerUpTypes++] = this.buckets[t.ordinal()];
+			}
+		}
+	}
+
+	/**
+	 * Adds obj to the bucket of its type.
+	 * @param obj - an enemy or a powerup
+	 * @return the handle of obj, also available from obj.getHandle()
+	 */
+	public long add(final AbstractGameObject obj) {
+		final int id;
+		if (this.freeCount > 0) {
+			id = this.freeIds[--this.freeCount];
+		} else {
+			if (this.nextId == this.byId.length) {
+				this.growIds();
+			}
+			id = this.nextId++;
+			this.generations[id] = 1;
+		}
+		this.byId[id] = obj;
+		this.destroying[id] = false;
+		final long handle = ((long) this.generations[id] << 32) | id;
+		obj.setHandle(handle);
+		this.buckets[obj.getType().ordinal()].add(obj);
+		return handle;
+	}
+
+	/**
+	 * Gets the object referred to by handle.
+	 * @param handle
+	 * @return the object, null if it has been removed since the handle was created
+	 */
+	public AbstractGameObject get(final long handle) {
+		final int id = (int) handle;
+		if (id < 0 || id >= this.nextId || this.generations[id] != (int) (handle >>> 32)) {
+			return null;
+		}
+		return this.byId[id];
+	}
+
+	/**
+	 * Marks the object referred to by handle as about to be destroyed, so that it is destroyed only once.
+	 * @param handle
+	 * @return true the first time it's called for a valid handle, false otherwise
+	 */
+	public boolean markDestroyed(final long handle) {
+		if (this.get(handle) == null || this.destroying[(int) handle]) {
+			return false;
+		}
+		this.destroying[(int) handle] = true;
+		return true;
+	}
+
+	/**
+	 * Removes the object referred to by handle from the bucket of its type, in constant time.
+	 * @param handle
+	 * @return the removed object, null if handle was stale
+	 */
+	public AbstractGameObject remove(final long handle) {
+		final AbstractGameObject obj = this.get(handle);
+		if (obj == null) {
+			return null;
+		}
+		final EntityBucket bucket = obj.getBucket();
+		this.gridOf(bucket).remove(obj, bucket.getCells()[obj.getSlot()]);
+		bucket.remove(obj);
+		final int id = (int) handle;
+		this.byId[id] = null;
+		this.generations[id]++;		//every handle to this id is now stale
+		this.freeIds[this.freeCount++] = id;
+		obj.setHandle(NO_HANDLE);
+		return obj;
+	}
+
+	/**
+	 * Removes obj from the bucket of its type.
+	 * @param obj
+	 * @return false if obj was not stored
+	 */
+	public boolean remove(final AbstractGameObject obj) {
+		return this.remove(obj.getHandle()) != null;
+	}
+
+	private void growIds() {
+		final int capacity = this.byId.length * 2;
+		this.byId = Arrays.copyOf(this.byId, capacity);
+		this.generations = Arrays.copyOf(this.generations, capacity);
+		this.destroying = Arrays.copyOf(this.destroying, capacity);
+		this.freeIds = Arrays.copyOf(this.freeIds, capacity);
+	}
+
+	/**
+	 * Runs one tick of every object.
+	 * @param deltaTime - duration of a tick
+	 */
+	public void update(final double deltaTime) {
+		this.enemyGrid.beginUpdate();
+		this.powerUpGrid.beginUpdate();
+		for (final EntityBucket bucket : this.buckets) {
+			if (bucket == null) {
+				continue;
+			}
+			bucket.savePreviousPositions();
+			switch (bucket.getType()) {
+				case BULLET -> EnemyProjectileObj.updateAll(bucket);
+				case THORNBALL -> EnemyBallObj.updateAll(bucket);
+				case LASER -> EnemyLineObj.updateAll(bucket, deltaTime);
+				case EXPLOSION -> EnemyBombObj.updateAll(bucket, deltaTime);
+				case PWRUP_SHIELD, PWRUP_MULTIPLIER, PWRUP_SWEEPER -> PowerUpObj.updateAll(bucket, deltaTime);
+				default -> bucket.updateEach();
+			}
+			this.gridOf(bucket).update(bucket);
+		}
+	}
+
+	/**
+	 * Adds to out the enemies which may collide with circle (broadphase).
+	 * @param circle
+	 * @param out - not cleared
+	 */
+	public void queryEnemies(final CircleCollider circle, final List<AbstractGameObject> out) {
+		this.enemyGrid.query(circle, out);
+	}
+
+	/**
+	 * Adds to out the powerups which may collide with circle (broadphase).
+	 * @param circle
+	 * @param out - not cleared
+	 */
+	public void queryPowerUps(final CircleCollider circle, final List<AbstractGameObject> out) {
+		this.powerUpGrid.query(circle, out);
+	}
+
+	/**
+	 * Adds to out the enemies which may have touched circle during the last tick (swept broadphase).
+	 * @param circle
+	 * @param circleStep - distance moved by circle in the last tick
+	 * @param out - not cleared
+	 */
+	public void queryEnemiesSwept(final CircleCollider circle, final double circleStep, final List<AbstractGameObject> out) {
+		this.enemyGrid.querySwept(circle, circleStep, out);
+	}
+
+	/**
+	 * Adds to out the powerups which may have touched circle during the last tick (swept broadphase).
+	 * @param circle
+	 * @param circleStep - distance moved by circle in the last tick
+	 * @param out - not cleared
+	 */
+	public void queryPowerUpsSwept(final CircleCollider circle, final double circleStep, final List<AbstractGameObject> out) {
+		this.powerUpGrid.querySwept(circle, circleStep, out);
+	}
+
+	private SpatialGrid gridOf(final EntityBucket bucket) {
+		return bucket.getType().isEnemy() ? this.enemyGrid : this.powerUpGrid;
+	}
+
+	/**
+	 * Removes every enemy.
+	 * @param onRemoved - called for each removed enemy
+	 */
+	public void clearEnemies(final Consumer<AbstractGameObject> onRemoved) {
+		for (final EntityBucket bucket : this.enemyBuckets) {
+			while (bucket.size() > 0) {
+				onRemoved.accept(this.remove(bucket.getObject(bucket.size() - 1).getHandle()));
+			}
+		}
+	}
+
+	/**
+	 * Adds every enemy to list.
+	 * @param list
+	 */
+	public void addEnemiesTo(final List<AbstractGameObject> list) {
+		addAll(this.enemyBuckets, list);
+	}
+
+	/**
+	 * Adds every powerup to list.
+	 * @param list
+	 */
+	public void addPowerUpsTo(final List<AbstractGameObject> list) {
+		addAll(this.powerUpBuckets, list);
+	}
+
+	private static void addAll(final EntityBucket[] buckets, final List<AbstractGameObject> list) {
+		for (final EntityBucket bucket : buckets) {
+			for (int i = 0; i < bucket.size(); i++) {
+				list.add(bucket.getObject(i));
+			}
+		}
+	}
+
+	/**
+	 * @param type
+	 * @return the bucket of type, null if type is neither an enemy nor a powerup
+	 */
+	public EntityBucket getBucket(final ObjectType type) {
+		return this.buckets[type.ordinal()];
+	}
+
+	/**
+	 * @return the buckets of the enemy types (not a copy: don't modify)
+	 */
+	public EntityBucket[] getEnemyBuckets() {
+		return this.enemyBuckets;
+	}
+
+	/**
+	 * @return the buckets of the powerup types (not a copy: don't modify)
+	 */
+	public EntityBucket[] getPowerUpBuckets() {
+		return this.powerUpBuckets;
+	}
+
+	/**
+	 * @return number of objects stored
+	 */
+	public int size() {
+		int size = 0;
+		for (final EntityBucket bucket : this.buckets) {
+			if (bucket != null) {
+				size += bucket.size();
+			}
+		}
+		return size;
+	}
+}
@@ -1,5 +1,9 @@
 package game.engine;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
 import game.ui.GameScene;
 import game.ui.HowToPlayScene;
 import game.ui.MenuScene;
@@ -15,6 +19,15 @@ import javafx.scene.image.Image;
 
 /**
  * This class runs the entire game, switching scenes when needed.
+ * Supported options:
+ * --record=file saves the input of every game into file;
+ * --replay=file plays back a recorded game instead of reading the mouse;
+ * --speed=n plays the game n times faster (default 1);
+ * --redraw=dirty only redraws the parts of the screen which changed (default full);
+ * --backend=nodes displays the game with scene graph nodes instead of canvases (default canvas);
+ * --resolution=n draws the game on n*n pixels, scaled to the window (default the window size),
+ * --resolution=auto lowers it when frames are too slow;
+ * --collisions=swept tests collisions over the whole movement of each tick (default only its end); a replay uses the recorded one.
  */
 public class GameApplication extends Application {
 	
@@ -28,6 +41,15 @@ public class GameApplication extends Application {
 	public final static int SCREEN_SIZE;	// usare la percentuale dello schermo non valori da 0 a 1: 0.n * size; dove n è
 										// la percentuale dello schermo. ergo ho i valori da 0 a 1
 	private Stage primaryStage;
+	private String recordPath;		//null: games are not recorded
+	private String replayPath;		//null: the player uses the mouse
+	private double speed = 1;
+	private boolean dirtyRects;		//false: the whole screen is redrawn every frame
+	private boolean sceneGraph;		//false: the game is painted on canvases
+	private int resolution;			//of the drawing surface, in pixels
+	private boolean adaptiveResolution;
+	private boolean sweptCollisions;
+	private AssetLoader assets;
 	
 	/**
 	 * Static initializer: gets screen size.
@@ -101,11 +123,26 @@ public class GameApplication extends Application {
 	 */
 	public void start(final Stage primaryStage) throws Exception { // public void start(final Stage primaryStage) {
 		this.primaryStage = primaryStage;
+		final Map<String, String> options = this.getParameters().getNamed();
+		this.recordPath = options.get("record");
+		this.replayPath = options.get("replay");
+		this.speed = parseSpeed(options.get("speed"));
+		this.dirtyRects = "dirty".equals(options.get("redraw"));
+		this.sceneGraph = "nodes".equals(options.get("backend"));
+		if (this.dirtyRects && this.sceneGraph) {
+			System.err.println("--redraw=dirty only applies to the canvas backend: ignored with --backend=nodes");
+			this.dirtyRects = false;
+		}
+		this.sweptCollisions = "swept".equals(options.get("collisions"));
+		final String resolutionOption = options.getOrDefault("resolution", String.valueOf(SCREEN_SIZE));
+		this.adaptiveResolution = "auto".equals(resolutionOption);
+		this.resolution = this.adaptiveResolution ? SCREEN_SIZE : parseResolution(resolutionOption);
 		this.leaderboard = new Leaderboard(SAVE_PATH);
 		this.primaryStage.setWidth(SCREEN_SIZE);
 		this.primaryStage.setHeight(SCREEN_SIZE);
 		this.primaryStage.setResizable(false); 			//ScoreCalc scolreCalc= new ScoreCalc(); ScoreManager scoremanager = new ScoreManager(this.scolreCalc);
 		this.primaryStage.getIcons().add(new Image("/imgs/icon.png"));
+		this.assets = AssetLoader.start();				//loads images and audio while the menu is shown
 		this.menu();									// prende score e il player dal game engine
 
 		this.primaryStage.setOnCloseRequest(e -> this.exit());
@@ -113,6 +150,53 @@ public class GameApplication extends Application {
 		this.primaryStage.show();
 	}
 
+	/**
+	 * Reads the --speed option.
+	 * @param option - null if not given
+	 * @return a positive speed, 1 if the option is missing or not valid
+	 */
+	private static double parseSpeed(final String option) {
+		if (option == null) {
+			return 1;
+		}
+		try {
+			final double speed = Double.parseDouble(option);
+			if (speed > 0 && Double.isFinite(speed)) {
+				return speed;
+			}
+		} catch (NumberFormatException e) {
+			//handled below
+		}
+		System.err.println("--speed must be a positive number, not " + option + ": using 1");
+		return 1;
+	}
+
+	/**
+	 * Reads the --resolution option, when it's not "auto".
+	 * @param option
+	 * @return a positive resolution, SCREEN_SIZE if the option is not valid
+	 */
+	private static int parseResolution(final String option) {
+		try {
+			final int resolution = Integer.parseInt(option);
+			if (resolution > 0) {
+				return resolution;
+			}
+		} catch (NumberFormatException e) {
+			//handled below
+		}
+		System.err.println("--resolution must be a positive number of pixels or auto, not " + option + ": using " + SCREEN_SIZE);
+		return SCREEN_SIZE;
+	}
+
+	/**
+	 * Gets the loader of images and audio.
+	 * @return the asset loader
+	 */
+	public AssetLoader getAssets() {
+		return this.assets;
+	}
+
 	/**
 	 * Launch menu GUI.
 	 * @throws Exception 
@@ -130,8 +214,24 @@ public class GameApplication extends Application {
 	 * Launch game GUI (run the game).
 	 */
 	public void game() {
-		final GameScene gamescene = new GameScene(SCREEN_SIZE);
-		final GameEngine gameEngine = new GameEngine(this, gamescene);
+		final GameScene gamescene = new GameScene(SCREEN_SIZE, this.dirtyRects, this.sceneGraph, this.resolution, this.adaptiveResolution);
+		final GameEngine gameEngine;
+		try {
+			if (this.replayPath == null) {
+				gameEngine = new GameEngine(this, gamescene);
+				gameEngine.setSweptCollisions(this.sweptCollisions);
+			} else {
+				//the collision mode is the recorded one
+				gameEngine = new GameEngine(this, gamescene, InputReplay.open(Path.of(this.replayPath)));
+			}
+			if (this.recordPath != null) {
+				gameEngine.recordInput(Path.of(this.recordPath));
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		gameEngine.setTimeScale(this.speed);
 		this.switchScene(gamescene.getScene());
 		new Thread(gameEngine).start();
 
@@ -189,6 +289,7 @@ public class GameApplication extends Application {
 	 * Exit function: exit from program.
 	 */
 	private void exit() {
+		this.assets.shutdown();
 		System.exit(0);
 	}
 	
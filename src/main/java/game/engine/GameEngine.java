@@ -1,14 +1,20 @@
 package game.engine;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.IntConsumer;
 
 import game.util.Point2D;
+import game.collider.CircleBatch;
 import game.collider.CircleCollider;
+import game.collider.Collider;
 import game.engine.AudioManager.Sound;
 import game.ui.GameScene;
 import game.model.*;
+import game.util.RandomStreams;
 import game.util.ScoreCalc;
 import game.model.ScoreDisplayObj;
 
@@ -21,18 +27,41 @@ public class GameEngine implements Runnable {
     private double gameTime;	//game time, starting from 0
     private final PlayerObj player;
     private final SpawnManager spawnManager;
+    private final GameObjectPools pools;
     private final AudioManager audioManager;
     private final ScoreCalc scoreCalc;
-    private final GameScene gameScene;
-    private final GameApplication application;
+    private final RandomStreams randomStreams;
+    private final InputSource inputSource;
+    private final Point2D pointer = new Point2D(START_X, START_Y);	//input of the current tick
+    private InputRecorder inputRecorder;		//null when not recording
+    private final RenderSink renderSink;
+    private final IntConsumer onGameOver;		//receives the final score
+    private final boolean headless;
     private final ScoreDisplayObj scoreDisplay;			//score overlay
-    private final List<AbstractGameObject> enemies;
-    private final List<AbstractGameObject> powerups;	//to change in PowerUpObject
-    private final List<AbstractGameObject> destroyQueue;
+    private final EntityStore entities;		//enemies and powerups
+    private long[] destroyQueue = new long[INITIAL_SIZE];	//handles of the objects to remove
+    private int destroyCount;	//0
+    private final List<AbstractGameObject> renderList;
+    private final List<AbstractGameObject> candidates;	//broadphase results, reused every check
+    private final CircleBatch batch = new CircleBatch();
+    private boolean[] hits = new boolean[INITIAL_SIZE];	//of the candidates, in batch checks
 
     private static final int INITIAL_SIZE = 50;
     ////private static final int MULTIPLIER_TIME = 5;       //five seconds of multiplier
-    private static final long TIME_CONST_60_HZ_MS = 1000 / 60;
+    /** Number of simulation ticks per second. */
+    public static final int TICK_RATE = 60;
+    /** Duration of a tick (in nanoseconds). */
+    private static final long NANOS_PER_TICK = 1_000_000_000L / TICK_RATE;
+    /** Duration of a tick (in seconds). */
+    private static final double TICK_DURATION = 1.0 / TICK_RATE;
+    /** Maximum number of ticks simulated before rendering a frame (catch-up limit). */
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    /** Frame times longer than this (e.g. after a stall) are clamped, in nanoseconds. */
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+    /** Below this remaining time the thread busy-waits instead of sleeping, in nanoseconds. */
+    private static final long SPIN_THRESHOLD_NANOS = 2_000_000L;
+    /** With at least this many enemies near the player, they are tested together by a CircleBatch. */
+    private static final int BATCH_COLLISION_THRESHOLD = 16;
     private static final double START_X = 0.5;
     private static final double START_Y = 0.5;
     private static final double SCORE_POS_X = 0.5;
@@ -42,26 +71,52 @@ public class GameEngine implements Runnable {
 	private boolean hasMultiplier;	//false
 
     private boolean executeLoop = true;
+    private boolean sweptCollisions;	//false: only the positions at the end of the tick are tested
+    private long tickCount;	//0
+    private long nanosPerTick = NANOS_PER_TICK;		//real time between ticks, changes with the time scale
     ////private double multiplierTime; //mette il tempo in secondi della durata del multiplier (time goes down over time)
 
     /**
-     * Duration of a frame (in seconds).
+     * Creates a new GameEngine object and initializes its fields.
+     * @param application
+     * @param gameScene
      */
-    private double deltaTime;
+    public GameEngine(final GameApplication application, final GameScene gameScene) {
+    	this(gameScene, gameScene, application::score, false, System.nanoTime());
+    }
 
     /**
-     * Creates a new GameEngine object and initializes its fields.
+     * Creates a new GameEngine which plays back a recorded game, ignoring the mouse.
+     * The collision mode is the recorded one.
      * @param application
      * @param gameScene
+     * @param replay - the recorded input
      */
-    public GameEngine(final GameApplication application, final GameScene gameScene) {
+    public GameEngine(final GameApplication application, final GameScene gameScene, final InputReplay replay) {
+    	this(checkTickRate(replay), gameScene, application::score, false, replay.getSeed());
+    	this.sweptCollisions = replay.isSweptCollisions();
+    }
+
+    /**
+     * Creates a new GameEngine reading the input from inputSource and drawing into renderSink.
+     * @param inputSource - where the player input comes from
+     * @param renderSink - where frames are drawn
+     * @param onGameOver - called with the final score when the game loop ends
+     * @param headless - if true, no JavaFX resource (audio, images) is ever loaded
+     * @param seed - the run seed, which fully determines the spawns
+     */
+    private GameEngine(final InputSource inputSource, final RenderSink renderSink, final IntConsumer onGameOver,
+    		final boolean headless, final long seed) {
+    	this.randomStreams = new RandomStreams(seed);
+    	this.inputSource = inputSource;
+    	this.renderSink = renderSink;
+    	this.onGameOver = onGameOver;
+    	this.headless = headless;
     	this.player = new PlayerObj(new Point2D(START_X, START_Y), AbstractGameObject.ObjectType.PLAYER, this);
-        this.enemies = new ArrayList<>(INITIAL_SIZE);
-        this.powerups = new ArrayList<>();   //default size: 10
-        this.destroyQueue = new ArrayList<>();
+        this.entities = new EntityStore();
+        this.renderList = new ArrayList<>(INITIAL_SIZE);
+        this.candidates = new ArrayList<>();
 
-        this.application = application;
-        this.gameScene = gameScene;
         this.scoreCalc = new ScoreCalc();
         this.scoreCalc.onMultiplierStart(() -> {
         	if (!this.hasShield) {
@@ -79,53 +134,177 @@ public class GameEngine implements Runnable {
         	}
         });
         this.scoreDisplay = new ScoreDisplayObj(new Point2D(SCORE_POS_X, SCORE_POS_Y), AbstractGameObject.ObjectType.SCORE, this);
+        this.pools = new GameObjectPools(this);
         this.spawnManager = new SpawnManager(this);
-        this.audioManager = new AudioManager();
+        this.audioManager = headless ? null : new AudioManager();
         //likely add fps in future
     }
 
+    /**
+     * Creates a GameEngine which needs no JavaFX toolkit: it plays no audio, draws nothing
+     * and is meant to be run with simulate(), for balancing and benchmarking.
+     * @param inputSource - where the player input comes from
+     * @param seed - the run seed: same seed and same input give the same game
+     * @return a new headless GameEngine
+     */
+    public static GameEngine headless(final InputSource inputSource, final long seed) {
+    	return new GameEngine(inputSource, (objects, alpha) -> { }, score -> { }, true, seed);
+    }
+
+    /**
+     * Creates a headless GameEngine which plays back a recorded game, with its seed and collision mode.
+     * @param replay - the recorded input
+     * @return a new headless GameEngine
+     */
+    public static GameEngine headless(final InputReplay replay) {
+    	final GameEngine engine = headless(checkTickRate(replay), replay.getSeed());
+    	engine.sweptCollisions = replay.isSweptCollisions();
+    	return engine;
+    }
+
+    /**
+     * Checks that a recording can be played back: a game recorded at another tick rate would play differently.
+     * @param replay
+     * @return replay
+     * @throws IllegalArgumentException if it was recorded at another tick rate than TICK_RATE
+     */
+    private static InputReplay checkTickRate(final InputReplay replay) {
+    	if (replay.getTickRate() != TICK_RATE) {
+    		throw new IllegalArgumentException("Recording made at " + replay.getTickRate() + " ticks per second");
+    	}
+    	return replay;
+    }
+
+    /**
+     * Records the input of every tick from now on into a file, which InputReplay can play back.
+     * Must be called before the game starts to record the whole game, and after setSweptCollisions:
+     * the collision mode is saved in the file.
+     * @param path
+     * @throws IOException if the file can't be created
+     */
+    public void recordInput(final Path path) throws IOException {
+    	this.inputRecorder = new InputRecorder(path, this.getSeed(), TICK_RATE, this.sweptCollisions);
+    }
+
+    /**
+     * Changes how fast the game runs compared to real time (e.g. 2 runs twice as fast).
+     * The simulation doesn't change, only the pacing of the ticks.
+     * @param timeScale - must be positive
+     */
+    public void setTimeScale(final double timeScale) {
+    	if (timeScale <= 0) {
+    		throw new IllegalArgumentException("timeScale must be positive");
+    	}
+    	this.nanosPerTick = Math.max(1, (long) (NANOS_PER_TICK / timeScale));
+    }
+
+    /**
+     * Chooses how collisions are detected. Swept collisions test the whole movement of the tick,
+     * so fast objects can't pass through the player between two ticks, but games play differently:
+     * a recorded game is replayed with the recorded choice, which can't be changed, nor can the one being recorded.
+     * @param swept - if true, collisions use Collider.timeOfImpact
+     */
+    public void setSweptCollisions(final boolean swept) {
+    	if (swept != this.sweptCollisions && (this.inputRecorder != null || this.inputSource instanceof InputReplay)) {
+    		throw new IllegalStateException("The collision mode of a recorded game can't change");
+    	}
+    	this.sweptCollisions = swept;
+    }
+
     /**
      * Starts the game loop (aka the engine).
+     * The simulation advances in fixed ticks of TICK_DURATION seconds, while rendering
+     * receives the fraction of tick left in the accumulator to interpolate positions.
      * @throws Exception 
      */
     public void startGameLoop() throws Exception {
     	//start music
-    	this.audioManager.playMusic(AudioManager.Music.BALOON_GROOVE, 0.6);
+    	if (this.audioManager != null) {
+    		this.audioManager.playMusic(AudioManager.Music.BALOON_GROOVE, 0.6);
+    	}
     	//start loop
+    	long previousTime = System.nanoTime();
+    	long accumulator = 0;
         while (executeLoop) {
-            //interval between "frames"
-            final long startTime = System.currentTimeMillis();
-
-            this.incTime();					     	            //updates game time
-            this.scoreCalc.calculateScore(deltaTime);   		//multiplier time management
+            final long currentTime = System.nanoTime();
+            accumulator += Math.min(currentTime - previousTime, MAX_FRAME_NANOS);
+            previousTime = currentTime;
+
+            //runs every tick that is due, up to the catch-up limit
+            final long tickLength = this.nanosPerTick;
+            int ticks = 0;
+            while (accumulator >= tickLength && ticks < MAX_TICKS_PER_FRAME && this.executeLoop) {
+                this.tick();
+                accumulator -= tickLength;
+                ticks++;
+            }
+            if (accumulator >= tickLength) {
+                //still behind after the catch-up limit: drop the backlog instead of spiraling
+                accumulator %= tickLength;
+            }
 
-            this.spawnManager.advance();                        //advance spawnManager (enemy spawning)
+            this.render((double) accumulator / tickLength);		//rendering changes
 
-            this.removeObjectsInDestroyQueue();
-            this.updateAllGameObjects();
-            this.checkPowerupCollision();	            		//powerups
+            //thread waits until the next tick is due
+            this.waitUntil(currentTime + tickLength - accumulator);
+        }
+        this.stopRecording();
+        this.renderSink.finish();
 
-            //game over: breaking loop
-            if (this.checkEnemyCollision()) {
-            	/*The player dies*/
-                this.player.die();
-                this.scoreCalc.setCalcStatus(false);
-            }
+        /* After the game loop ends, the scene is changed */
+        this.onGameOver.accept(this.scoreCalc.getScore());
+    }
 
-            ////this.scoreCalc.incScore();		//score increment
-            this.render();					//rendering changes
+    /**
+     * Runs the game unthrottled and without rendering, as fast as the CPU allows,
+     * until the player dies or maxTicks ticks have been simulated.
+     * @param maxTicks - maximum number of ticks to simulate, 0 means no limit
+     * @return the final score
+     */
+    public int simulate(final long maxTicks) {
+    	while (this.executeLoop && (maxTicks <= 0 || this.tickCount < maxTicks)) {
+    		this.tick();
+    	}
+    	this.stopRecording();
+    	this.renderSink.finish();
+    	this.onGameOver.accept(this.scoreCalc.getScore());
+    	return this.scoreCalc.getScore();
+    }
 
-            //thread sleeps for remaining frame duration
-            final long endTime = System.currentTimeMillis();
-            this.putThreadToSleep(startTime, endTime);
+    /**
+     * Runs at most ticks more ticks, like simulate but without ending the game:
+     * meant for tests and tools which drive the simulation in steps.
+     * @param ticks - number of ticks to simulate
+     * @return false if the game ended (the player died) during these ticks or before
+     */
+    public boolean step(final long ticks) {
+    	for (long i = 0; i < ticks && this.executeLoop; i++) {
+    		this.tick();
+    	}
+    	return this.executeLoop;
+    }
 
-            //calculate frame duration
-            final long endFrame = System.currentTimeMillis();
-            this.deltaTime = (double) this.deltaTime(startTime, endFrame) / 1000;
+    /**
+     * Advances the simulation by one fixed tick.
+     */
+    private void tick() {
+        this.tickCount++;
+        this.readInput();
+        this.incTime();					     	            //updates game time
+        this.scoreCalc.calculateScore(TICK_DURATION);   	//multiplier time management
+
+        this.removeObjectsInDestroyQueue();                 //first, so that released objects can be reused
+        this.spawnManager.advance();                        //advance spawnManager (enemy spawning)
+
+        this.updateAllGameObjects();
+        this.checkPowerupCollision();	            		//powerups
+
+        //game over: breaking loop
+        if (this.checkEnemyCollision()) {
+        	/*The player dies*/
+            this.player.die();
+            this.scoreCalc.setCalcStatus(false);
         }
-
-        /* After the game loop ends, the scene is changed */
-        this.application.score(this.scoreCalc.getScore());
     }
 
     /**
@@ -142,21 +321,11 @@ public class GameEngine implements Runnable {
     }
 
     /**
-     * Calculates the time that passes between two frames, given that frames will not always be computed in the same time.
-     * @param startFrame frame time
-     * @param endFrame frame time
-     * @return time difference between two frames (in ms)
-     */
-    public long deltaTime(final long startFrame, final long endFrame) {
-        return endFrame - startFrame;
-    }
-
-    /**
-     * Gets time difference between start and end of a frame (aka the frame duration).
-     * @return deltaTime
+     * Gets the duration of a simulation tick. It is fixed, so the simulation is deterministic.
+     * @return tick duration (in seconds)
      */
     public double getDeltaTime() {
-        return this.deltaTime;
+        return TICK_DURATION;
     }
 
     /**
@@ -164,31 +333,23 @@ public class GameEngine implements Runnable {
      * @param obj
      */
     public void instantiate(final AbstractGameObject obj) {
-    	if (obj.getType().isEnemy()) {
-    		this.enemies.add(obj);
-        } else if (obj.getType().isPowerUp()) {
-        	this.powerups.add(obj);
+    	if (obj.getType().isEnemy() || obj.getType().isPowerUp()) {
+    		this.entities.add(obj);
         }
         //player does not get instantiated
     }
 
     /**
-     * Destroys a game object.
+     * Destroys a game object. It is removed from the game, and released to its pool, at the next tick.
      * @param obj
      */
     public void destroy(final AbstractGameObject obj) {
-        if (obj.getType().isEnemy()) {
-        	this.enemies.forEach(e -> {
-        		if (e.equals(obj)) {
-        			this.destroyQueue.add(e);
-        		}
-        	});
-        } else if (obj.getType().isPowerUp()) {
-        	this.powerups.forEach(p -> {
-        		if (p.equals(obj)) {
-        			this.destroyQueue.add(p);
-        		}
-        	});
+        //destroying twice in the same tick queues it once
+        if (this.entities.markDestroyed(obj.getHandle())) {
+        	if (this.destroyCount == this.destroyQueue.length) {
+        		this.destroyQueue = Arrays.copyOf(this.destroyQueue, this.destroyCount * 2);
+        	}
+        	this.destroyQueue[this.destroyCount++] = obj.getHandle();
         }
     }
 
@@ -205,17 +366,18 @@ public class GameEngine implements Runnable {
                 } else {
                 	this.player.setShieldImage();
                 }
-                this.audioManager.playSound(Sound.SHIELD_GET, 0.4);
+                this.play(Sound.SHIELD_GET, 0.4);
             }
             case PWRUP_MULTIPLIER -> {
                 this.hasMultiplier = true;
                 //sets multiplier value (duration: 5 seconds)
                 this.scoreCalc.setMultiplier();
-            	this.audioManager.playSound(Sound.MULTIPLIER_GET, 0.4);
+            	this.play(Sound.MULTIPLIER_GET, 0.4);
             }
             case PWRUP_SWEEPER -> {
-                this.enemies.clear();
-            	this.audioManager.playSound(Sound.SWEEPER_GET, 0.5);
+                //handles of enemies waiting in the destroy queue become stale, and are skipped
+                this.entities.clearEnemies(this.pools::release);
+            	this.play(Sound.SWEEPER_GET, 0.5);
             }
             default -> { /* does nothing */ }
         }
@@ -226,7 +388,9 @@ public class GameEngine implements Runnable {
      */
     public void endGame() {
     	this.executeLoop = false;
-    	this.audioManager.stopAll();
+    	if (this.audioManager != null) {
+    		this.audioManager.stopAll();
+    	}
     	//this.application.score(this.scoreCalc.getScore());
     }
 
@@ -237,6 +401,21 @@ public class GameEngine implements Runnable {
         return this.gameTime;
     }
 
+    /**
+     * @return number of ticks simulated so far
+     */
+    public long getTickCount() {
+        return this.tickCount;
+    }
+
+    /**
+     * Checks whether this engine runs without JavaFX (no audio, no drawing).
+     * @return true if headless
+     */
+    public boolean isHeadless() {
+        return this.headless;
+    }
+
     /**
      * @return object player
      */
@@ -252,11 +431,43 @@ public class GameEngine implements Runnable {
     }
 
 	/**
-	 * Gets mouse position.
-	 * @return mouse position
+	 * Gets mouse position, read at the beginning of the current tick.
+	 * @return the mouse position, which must not be modified
 	 */
 	public Point2D getMousePosition() {
-		return this.gameScene.getMouseWorldPosition();
+		return this.pointer;
+	}
+	
+	/**
+	 * Gets the pools of enemies and powerups, with their occupancy.
+	 * @return object pools
+	 */
+	public GameObjectPools getPools() {
+		return this.pools;
+	}
+
+	/**
+	 * Gets the store of enemies and powerups.
+	 * @return object entities
+	 */
+	public EntityStore getEntities() {
+		return this.entities;
+	}
+
+	/**
+	 * Gets the random streams of this run.
+	 * @return object randomStreams
+	 */
+	public RandomStreams getRandomStreams() {
+		return this.randomStreams;
+	}
+
+	/**
+	 * Gets the seed of this run.
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return this.randomStreams.getSeed();
 	}
 	
 	/**
@@ -283,11 +494,40 @@ public class GameEngine implements Runnable {
 		return this;
 	}
 	
+	/**
+	 * Reads the input of this tick, recording it if needed.
+	 */
+	private void readInput() {
+		this.inputSource.readPointerPosition(this.pointer);
+		if (this.inputRecorder != null) {
+			try {
+				this.inputRecorder.record(this.pointer);
+			} catch (IOException e) {
+				e.printStackTrace();
+				this.stopRecording();
+			}
+		}
+	}
+
+	/**
+	 * Closes the recording file, if any.
+	 */
+	private void stopRecording() {
+		if (this.inputRecorder != null) {
+			try {
+				this.inputRecorder.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			this.inputRecorder = null;
+		}
+	}
+
 	/**
      * Updates (increments) game time (in seconds).
      */
     private void incTime() {
-        this.gameTime += this.deltaTime;
+        this.gameTime += TICK_DURATION;
     }
 
     /**
@@ -295,41 +535,54 @@ public class GameEngine implements Runnable {
      */
     private void updateAllGameObjects() {
     	//for each --- update
-    	this.player.update();
-        this.enemies.forEach(AbstractGameObject::update);
-        this.powerups.forEach(AbstractGameObject::update);
-        this.scoreDisplay.update();
+    	this.update(this.player);
+    	this.entities.update(TICK_DURATION);		//batch kernels, one per type
+        this.update(this.scoreDisplay);
+    }
+
+    /**
+     * Updates a single object, remembering its position before the tick for render interpolation.
+     * @param obj
+     */
+    private void update(final AbstractGameObject obj) {
+    	obj.savePreviousPosition();
+    	obj.update();
     }
 
     /**
      * Removes all objects inside destroy queue and clears it.
      */
     private void removeObjectsInDestroyQueue() {
-        //remove objects
-        this.destroyQueue.forEach(obj -> {
-        	if (obj.getType().isEnemy()) {
-        		this.enemies.remove(obj);
-        	} else {
-        		this.powerups.remove(obj);
+        //remove objects in constant time; stale handles (objects already swept) return null
+        for (int i = 0; i < this.destroyCount; i++) {
+        	final AbstractGameObject obj = this.entities.remove(this.destroyQueue[i]);
+        	if (obj != null) {
+        		this.pools.release(obj);
         	}
-        });
+        }
         //clear queue
-        this.destroyQueue.clear();
+        this.destroyCount = 0;
     }
 
     /**
-     * Puts thread to sleep for the remaining duration of the frame.
-     * @param startTime
-     * @param endTime
+     * Waits until deadline: sleeps for most of the remaining time, then spins
+     * for the last SPIN_THRESHOLD_NANOS, since sleep granularity is too coarse.
+     * @param deadline - in System.nanoTime() units
      */
-    private void putThreadToSleep(final long startTime, final long endTime) {
-    	try {
-            Thread.sleep(TIME_CONST_60_HZ_MS - (endTime - startTime));
-        } catch (IllegalArgumentException e1) { 
-            //e1.printStackTrace();
-        } catch (InterruptedException e2) {
-            //e2.printStackTrace();
-        }
+    private void waitUntil(final long deadline) {
+    	long remaining = deadline - System.nanoTime();
+    	while (remaining > SPIN_THRESHOLD_NANOS) {
+    		try {
+    			Thread.sleep((remaining - SPIN_THRESHOLD_NANOS) / 1_000_000, (int) ((remaining - SPIN_THRESHOLD_NANOS) % 1_000_000));
+    		} catch (InterruptedException e) {
+    			Thread.currentThread().interrupt();
+    			return;
+    		}
+    		remaining = deadline - System.nanoTime();
+    	}
+    	while (System.nanoTime() < deadline) {
+    		Thread.onSpinWait();
+    	}
     }
 	
 	/**
@@ -338,55 +591,137 @@ public class GameEngine implements Runnable {
      * @return true if gameover, false otherwise
      */
 	private boolean checkEnemyCollision() {
-		final var enemyList = this.enemies.stream().filter(e -> e.getCollider() != null).collect(Collectors.toList());
-		for (final var enemy: enemyList) {
-		    if (enemy.getCollider().checkCollision(
-		    		(CircleCollider) this.player.getCollider())) {
-		        if (this.hasShield) {
-		            //shield only -> remove shield
-			        this.hasShield = false;
-			        this.destroy(enemy);
-			        if (this.hasMultiplier) {
-			            //if multiplier is on, leave it that way
-	                    this.player.setGoldenBaloonImage();
-			        } else {
-		                 this.player.setBaloonImage();
-			        }
-	            	this.audioManager.playSound(Sound.SHIELD_HIT, 0.5);
-                } else {
-                    return true;
-                }
+		final CircleCollider playerCollider = (CircleCollider) this.player.getCollider();
+		this.candidates.clear();
+		if (this.sweptCollisions) {
+			this.entities.queryEnemiesSwept(playerCollider, this.getPlayerStep(), this.candidates);
+		} else {
+			this.entities.queryEnemies(playerCollider, this.candidates);	//only the enemies near the player
+			if (this.candidates.size() >= BATCH_COLLISION_THRESHOLD) {
+				return this.checkEnemyCollisionBatch(playerCollider);
+			}
+		}
+		for (int i = 0; i < this.candidates.size(); i++) {
+			final AbstractGameObject enemy = this.candidates.get(i);
+		    if (this.touches(enemy.getCollider(), playerCollider) && this.hitBy(enemy)) {
+		    	return true;
 		    }
 		}
 		return false;
 	}
 	
+	/**
+	 * Same as checkEnemyCollision, for many candidates: they are tested together by a CircleBatch,
+	 * then the hits are handled in the same order.
+	 * @param playerCollider
+	 * @return true if gameover, false otherwise
+	 */
+	private boolean checkEnemyCollisionBatch(final CircleCollider playerCollider) {
+		final int count = this.candidates.size();
+		if (this.hits.length < count) {
+			this.hits = new boolean[count * 2];
+		}
+		this.batch.clear();
+		for (int i = 0; i < count; i++) {
+			final Collider collider = this.candidates.get(i).getCollider();
+			this.hits[i] = !collider.pack(this.batch, i) && this.overlaps(collider, playerCollider);
+		}
+		this.batch.test(playerCollider.getCenterX(), playerCollider.getCenterY(), playerCollider.getRadius(), this.hits);
+		for (int i = 0; i < count; i++) {
+			if (this.hits[i] && this.hitBy(this.candidates.get(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Tests a collider against the player, at the end of the tick or over the whole tick.
+	 * @param collider
+	 * @param playerCollider
+	 * @return true if they collided
+	 */
+	private boolean touches(final Collider collider, final CircleCollider playerCollider) {
+		return this.sweptCollisions
+				? collider.timeOfImpact(playerCollider) <= 1
+				: this.overlaps(collider, playerCollider);
+	}
+	
+	/**
+	 * Tests a collider against the player at the end of the tick, rejecting it with its cached bounds
+	 * before the exact test.
+	 * @param collider
+	 * @param playerCollider
+	 * @return true if they collided
+	 */
+	private boolean overlaps(final Collider collider, final CircleCollider playerCollider) {
+		return collider.getBounds().overlapsCircle(playerCollider.getCenterX(), playerCollider.getCenterY(), playerCollider.getRadius())
+				&& collider.checkCollision(playerCollider);
+	}
+	
+	/**
+	 * @return distance moved by the player in the last tick
+	 */
+	private double getPlayerStep() {
+		return Point2D.distance(this.player.getPreviousPosition(), this.player.getPosition());
+	}
+	
+	/**
+	 * Handles the player being hit by enemy: the shield saves the player once.
+	 * @param enemy
+	 * @return true if gameover
+	 */
+	private boolean hitBy(final AbstractGameObject enemy) {
+        if (this.hasShield) {
+            //shield only -> remove shield
+	        this.hasShield = false;
+	        this.destroy(enemy);
+	        if (this.hasMultiplier) {
+	            //if multiplier is on, leave it that way
+                this.player.setGoldenBaloonImage();
+	        } else {
+                 this.player.setBaloonImage();
+	        }
+        	this.play(Sound.SHIELD_HIT, 0.5);
+        	return false;
+        }
+        return true;
+	}
+	
 	/**
 	 * Checks if a collision with a powerup has occurred.
 	 * If true, applies powerup and destroys it.
 	 */
 	private void checkPowerupCollision() {
-		this.powerups.stream().filter(p -> p.getCollider() != null && p.getCollider().checkCollision((CircleCollider) player.getCollider()))
-				.forEach(powerup -> {
-					if (powerup.getCollider().checkCollision((CircleCollider) player.getCollider())) {
-						this.applyPwrUp(powerup);
-						this.destroy(powerup);
-					}
-				});
+		final CircleCollider playerCollider = (CircleCollider) this.player.getCollider();
+		this.candidates.clear();
+		if (this.sweptCollisions) {
+			this.entities.queryPowerUpsSwept(playerCollider, this.getPlayerStep(), this.candidates);
+		} else {
+			this.entities.queryPowerUps(playerCollider, this.candidates);
+		}
+		for (int i = 0; i < this.candidates.size(); i++) {
+			final AbstractGameObject powerup = this.candidates.get(i);
+			if (this.touches(powerup.getCollider(), playerCollider)) {
+				this.applyPwrUp(powerup);
+				this.destroy(powerup);
+			}
+		}
 	}
 	
 	/**
 	 * Displays collisions and, in general, any new changes in the game scene.
+	 * @param alpha - fraction of the next tick already elapsed, used to interpolate positions
 	 */
-	private void render() {
+	private void render(final double alpha) {
 		//for each --- render
-		final var renderList = new ArrayList<AbstractGameObject>();
-		renderList.addAll(this.enemies);
-		renderList.add(this.player);
-        renderList.addAll(this.powerups);
-        renderList.add(this.scoreDisplay);
+		this.renderList.clear();
+		this.entities.addEnemiesTo(this.renderList);
+		this.renderList.add(this.player);
+        this.entities.addPowerUpsTo(this.renderList);
+        this.renderList.add(this.scoreDisplay);
 
-        this.gameScene.render(renderList);
+        this.renderSink.render(this.renderList, alpha);
 	}
 	
 	/**
@@ -395,6 +730,8 @@ public class GameEngine implements Runnable {
 	 * @param volume
 	 */
 	public void play(final Sound sound, final double volume) {
-		this.audioManager.playSound(sound, volume);
+		if (this.audioManager != null) {
+			this.audioManager.playSound(sound, volume);
+		}
 	}
 }
@@ -0,0 +1,117 @@
+package game.engine;
+
+import game.model.AbstractGameObject;
+import game.model.AbstractGameObject.ObjectType;
+import game.model.EnemyBallObj;
+import game.model.EnemyBombObj;
+import game.model.EnemyLineObj;
+import game.model.EnemyProjectileObj;
+import game.model.PowerUpObj;
+
+/**
+ * The pools of every enemy and powerup type. The factories acquire from here,
+ * the GameEngine releases objects here when it removes them from the game.
+ */
+public class GameObjectPools {
+
+	private final ObjectPool<EnemyProjectileObj> bullets;
+	private final ObjectPool<EnemyLineObj> lasers;
+	private final ObjectPool<EnemyBallObj> thornballs;
+	private final ObjectPool<EnemyBombObj> explosions;
+	private final ObjectPool<PowerUpObj> shields;
+	private final ObjectPool<PowerUpObj> multipliers;
+	private final ObjectPool<PowerUpObj> sweepers;
+
+	/**
+	 * Creates empty pools.
+	 * @param gameEngine - the engine of the pooled objects
+	 */
+	public GameObjectPools(final GameEngine gameEngine) {
+		this.bullets = new ObjectPool<>(() -> new EnemyProjectileObj(gameEngine));
+		this.lasers = new ObjectPool<>(() -> new EnemyLineObj(gameEngine));
+		this.thornballs = new ObjectPool<>(() -> new EnemyBallObj(gameEngine));
+		this.explosions = new ObjectPool<>(() -> new EnemyBombObj(gameEngine));
+		this.shields = new ObjectPool<>(() -> new PowerUpObj(ObjectType.PWRUP_SHIELD, gameEngine));
+		this.multipliers = new ObjectPool<>(() -> new PowerUpObj(ObjectType.PWRUP_MULTIPLIER, gameEngine));
+		this.sweepers = new ObjectPool<>(() -> new PowerUpObj(ObjectType.PWRUP_SWEEPER, gameEngine));
+	}
+
+	/**
+	 * @return a bullet to reset
+	 */
+	public EnemyProjectileObj acquireBullet() {
+		return this.bullets.acquire();
+	}
+
+	/**
+	 * @return a laser to reset
+	 */
+	public EnemyLineObj acquireLaser() {
+		return this.lasers.acquire();
+	}
+
+	/**
+	 * @return a thornball to reset
+	 */
+	public EnemyBallObj acquireThornball() {
+		return this.thornballs.acquire();
+	}
+
+	/**
+	 * @return an explosion to reset
+	 */
+	public EnemyBombObj acquireExplosion() {
+		return this.explosions.acquire();
+	}
+
+	/**
+	 * @param type - one of the powerup types
+	 * @return a powerup of the given type to reset
+	 */
+	public PowerUpObj acquirePowerUp(final ObjectType type) {
+		return switch (type) {
+			case PWRUP_SHIELD -> this.shields.acquire();
+			case PWRUP_MULTIPLIER -> this.multipliers.acquire();
+			default -> this.sweepers.acquire();
+		};
+	}
+
+	/**
+	 * Gives obj back to its pool. Objects which are not pooled are ignored.
+	 * @param obj
+	 */
+	public void release(final AbstractGameObject obj) {
+		switch (obj.getType()) {
+			case BULLET -> this.bullets.release((EnemyProjectileObj) obj);
+			case LASER -> this.lasers.release((EnemyLineObj) obj);
+			case THORNBALL -> this.thornballs.release((EnemyBallObj) obj);
+			case EXPLOSION -> this.explosions.release((EnemyBombObj) obj);
+			case PWRUP_SHIELD -> this.shields.release((PowerUpObj) obj);
+			case PWRUP_MULTIPLIER -> this.multipliers.release((PowerUpObj) obj);
+			case PWRUP_SWEEPER -> this.sweepers.release((PowerUpObj) obj);
+			default -> { /* not pooled */ }
+		}
+	}
+
+	/**
+	 * @return number of objects created by every pool, the only allocations of a running game
+	 */
+	public int getCreated() {
+		return this.bullets.getCreated() + this.lasers.getCreated() + this.thornballs.getCreated() + this.explosions.getCreated()
+				+ this.shields.getCreated() + this.multipliers.getCreated() + this.sweepers.getCreated();
+	}
+
+	/**
+	 * Returns the occupancy of every pool.
+	 */
+	@Override
+	public String toString() {
+		return "bullets: " + this.bullets + System.lineSeparator()
+				+ "lasers: " + this.lasers + System.lineSeparator()
+				+ "thornballs: " + this.thornballs + System.lineSeparator()
+				+ "explosions: " + this.explosions + System.lineSeparator()
+				+ "shields: " + this.shields + System.lineSeparator()
+				+ "multipliers: " + this.multipliers + System.lineSeparator()
+				+ "sweepers: " + this.sweepers;
+	}
+}
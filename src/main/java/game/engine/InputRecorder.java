@@ -0,0 +1,73 @@
+package game.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import game.util.Point2D;
+
+/**
+ * Writes the player input of a game, tick by tick, into a compact binary file which InputReplay can play back.
+ * <p>
+ * Format (big endian): magic, version, tick rate, seed, collision mode (SWEPT or DISCRETE), then one record per tick:
+ * a SAME tag when the pointer hasn't moved, or a MOVED tag followed by the two coordinates.
+ */
+public final class InputRecorder implements Closeable {
+
+	static final int MAGIC = 0x44504F50;	//"DPOP"
+	static final short VERSION = 2;		//1 had no collision mode
+	static final byte DISCRETE = 0;
+	static final byte SWEPT = 1;
+	static final byte SAME = 0;
+	static final byte MOVED = 1;
+
+	private final DataOutputStream out;
+	private double lastX = Double.NaN;
+	private double lastY = Double.NaN;
+
+	/**
+	 * Creates the file and writes its header.
+	 * @param path - where to save the recording
+	 * @param seed - the run seed
+	 * @param tickRate - ticks per second of the recorded game
+	 * @param sweptCollisions - collision mode of the recorded game
+	 * @throws IOException if the file can't be written
+	 */
+	public InputRecorder(final Path path, final long seed, final int tickRate, final boolean sweptCollisions) throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+		this.out.writeInt(MAGIC);
+		this.out.writeShort(VERSION);
+		this.out.writeInt(tickRate);
+		this.out.writeLong(seed);
+		this.out.writeByte(sweptCollisions ? SWEPT : DISCRETE);
+	}
+
+	/**
+	 * Records the pointer position of a tick.
+	 * @param pointer
+	 * @throws IOException if the file can't be written
+	 */
+	public void record(final Point2D pointer) throws IOException {
+		//exact comparison: the replay must be bit-for-bit identical
+		if (pointer.getX() == this.lastX && pointer.getY() == this.lastY) {
+			this.out.writeByte(SAME);
+		} else {
+			this.out.writeByte(MOVED);
+			this.out.writeDouble(pointer.getX());
+			this.out.writeDouble(pointer.getY());
+			this.lastX = pointer.getX();
+			this.lastY = pointer.getY();
+		}
+	}
+
+	/**
+	 * Flushes and closes the file.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.out.close();
+	}
+}
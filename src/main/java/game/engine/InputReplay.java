@@ -0,0 +1,104 @@
+package game.engine;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import game.util.Point2D;
+
+/**
+ * Plays back a file written by InputRecorder: it is an InputSource returning, tick by tick, the recorded pointer.
+ * The file is memory-mapped, so reading it costs no system call per tick.
+ * Once the recording is over, the last position is repeated.
+ */
+public final class InputReplay implements InputSource {
+
+	private final MappedByteBuffer buffer;
+	private final long seed;
+	private final int tickRate;
+	private final boolean sweptCollisions;
+	private double x = 0.5;
+	private double y = 0.5;
+
+	private InputReplay(final MappedByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if (buffer.remaining() < Integer.BYTES + Short.BYTES
+				|| buffer.getInt() != InputRecorder.MAGIC) {
+			throw new IOException("Not a recording");
+		}
+		//version 1 didn't record the collision mode, which changes the game: it can't be replayed faithfully
+		final short version = buffer.getShort();
+		if (version != InputRecorder.VERSION) {
+			throw new IOException("Unsupported recording version " + version);
+		}
+		if (buffer.remaining() < Integer.BYTES + Long.BYTES + Byte.BYTES) {
+			throw new IOException("Truncated recording");
+		}
+		this.tickRate = buffer.getInt();
+		this.seed = buffer.getLong();
+		final byte mode = buffer.get();
+		if (mode != InputRecorder.SWEPT && mode != InputRecorder.DISCRETE) {
+			throw new IOException("Unknown collision mode " + mode);
+		}
+		this.sweptCollisions = mode == InputRecorder.SWEPT;
+	}
+
+	/**
+	 * Opens a recording.
+	 * @param path
+	 * @return the replay, positioned at the first tick
+	 * @throws IOException if the file can't be read or isn't a recording
+	 */
+	public static InputReplay open(final Path path) throws IOException {
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			//the mapping stays valid after the channel is closed
+			return new InputReplay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Gets the seed of the recorded run.
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Gets the tick rate of the recorded run.
+	 * @return ticks per second
+	 */
+	public int getTickRate() {
+		return this.tickRate;
+	}
+
+	/**
+	 * Gets the collision mode of the recorded run, see GameEngine.setSweptCollisions.
+	 * @return true if the run used swept collisions
+	 */
+	public boolean isSweptCollisions() {
+		return this.sweptCollisions;
+	}
+
+	/**
+	 * Checks whether every recorded tick has been played.
+	 * @return true if the recording is over
+	 */
+	public boolean isFinished() {
+		return !this.buffer.hasRemaining();
+	}
+
+	/**
+	 * Reads the next tick of the recording.
+	 */
+	@Override
+	public void readPointerPosition(final Point2D dest) {
+		if (this.buffer.hasRemaining() && this.buffer.get() == InputRecorder.MOVED) {
+			this.x = this.buffer.getDouble();
+			this.y = this.buffer.getDouble();
+		}
+		dest.set(this.x, this.y);
+	}
+}
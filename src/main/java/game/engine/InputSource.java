@@ -0,0 +1,17 @@
+package game.engine;
+
+import game.util.Point2D;
+
+/**
+ * Source of the player input, read by the GameEngine every tick.
+ * The game scene reads it from the mouse, a headless simulation can provide it from a script.
+ */
+public interface InputSource {
+
+	/**
+	 * Writes the in-game coordinates the player is pointing at into dest.
+	 * Called once per tick, so it should not allocate.
+	 * @param dest
+	 */
+	void readPointerPosition(Point2D dest);
+}
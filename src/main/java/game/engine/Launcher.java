@@ -8,10 +8,10 @@ public class Launcher {
 
     /**
      * Launch the game.
-     * @param args
+     * @param args - see GameApplication for the supported options
      */
 	public static void main(String[] args) {
-		Application.launch(GameApplication.class);
+		Application.launch(GameApplication.class, args);
 	}
 
 }
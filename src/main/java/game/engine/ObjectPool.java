@@ -0,0 +1,87 @@
+package game.engine;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable objects: released objects are handed out again by acquire()
+ * instead of allocating new ones. Objects must be reset by whoever acquires them.
+ * @param <T> type of pooled objects
+ */
+public class ObjectPool<T> {
+
+	private final Supplier<T> factory;
+	private final Deque<T> free = new ArrayDeque<>();
+	private int created;	//0
+	private int inUse;		//0
+	private int peakInUse;	//0
+
+	/**
+	 * Creates an empty pool.
+	 * @param factory - creates a new object when the pool is empty
+	 */
+	public ObjectPool(final Supplier<T> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Gets a free object, creating it only if none is available.
+	 * @return the object, in the state it was released
+	 */
+	public T acquire() {
+		T obj = this.free.poll();
+		if (obj == null) {
+			obj = this.factory.get();
+			this.created++;
+		}
+		this.inUse++;
+		this.peakInUse = Math.max(this.peakInUse, this.inUse);
+		return obj;
+	}
+
+	/**
+	 * Gives an object back to the pool. It must not be used anymore, and must not be released twice.
+	 * @param obj
+	 */
+	public void release(final T obj) {
+		this.inUse--;
+		this.free.push(obj);
+	}
+
+	/**
+	 * @return number of objects ever created by this pool
+	 */
+	public int getCreated() {
+		return this.created;
+	}
+
+	/**
+	 * @return number of objects currently acquired
+	 */
+	public int getInUse() {
+		return this.inUse;
+	}
+
+	/**
+	 * @return number of objects ready to be acquired
+	 */
+	public int getFree() {
+		return this.free.size();
+	}
+
+	/**
+	 * @return highest number of objects acquired at the same time
+	 */
+	public int getPeakInUse() {
+		return this.peakInUse;
+	}
+
+	/**
+	 * Returns the occupancy of this pool.
+	 */
+	@Override
+	public String toString() {
+		return "inUse=" + this.inUse + ", free=" + this.getFree() + ", created=" + this.created + ", peak=" + this.peakInUse;
+	}
+}
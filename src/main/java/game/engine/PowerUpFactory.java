@@ -1,6 +1,9 @@
 package game.engine;
+import java.util.random.RandomGenerator;
+
 import game.util.Point2D;
 import game.util.RandomInt;
+import game.util.RandomStreams;
 import game.model.PowerUpObj; //classe power up da mettere public
 
 import game.model.AbstractGameObject;
@@ -9,23 +12,30 @@ import game.util.WhereToSpawn;
 
 /**
  * A factory for creating powerup objects using Factory method where it use a random type of powerup
- * and the class creates it.
+ * and the class creates it. Powerups are taken from the pools of the game engine and reset, not allocated.
  */
 public class PowerUpFactory {
 	
-	/** The game engine. */
-	private final GameEngine gameEngine; //da passare al costruttore
+	/** The pools where powerups are taken from. */
+	private final GameObjectPools pools;
+	
+	/** The spawn position. */
+	private final Point2D spawnPosition = new Point2D(0, 0);
 	
 	/** The wheretospawn. */
 	private final WhereToSpawn whereToSpawn = new WhereToSpawn();
 	
+	/** The random stream of power ups. */
+	private final RandomGenerator random;
+	
 	/**
 	 * Instantiates a new poweup factory.
 	 *
 	 * @param gameEngine the game engine
 	 */
 	public PowerUpFactory(final GameEngine gameEngine) {
-		this.gameEngine = gameEngine;
+		this.pools = gameEngine.getPools();
+		this.random = gameEngine.getRandomStreams().get(RandomStreams.Stream.POWERUP);
 	}
 
 	/**
@@ -35,8 +45,8 @@ public class PowerUpFactory {
 	 */
 	public AbstractGameObject getPowerUpObj()  {
 
-		final var pos = this.whereToSpawn.getPowerUpSpawnPoint();
-		final Integer typeOfPowerUp = new RandomInt().getRandomInt(1, 3);
+		final var pos = this.whereToSpawn.getPowerUpSpawnPoint(this.random, this.spawnPosition);
+		final int typeOfPowerUp = RandomInt.getRandomInt(this.random, 1, 3);
 		
 		return switch (typeOfPowerUp) {
     		case 1 -> createShield(pos);
@@ -51,7 +61,7 @@ public class PowerUpFactory {
 	 * @return the power up obj
 	 */
 	public PowerUpObj createShield(final Point2D position) {
-		return new PowerUpObj(position, ObjectType.PWRUP_SHIELD, this.gameEngine);
+		return this.create(ObjectType.PWRUP_SHIELD, position);
 	}
 	
     /**
@@ -60,7 +70,7 @@ public class PowerUpFactory {
      * @return the power up obj
      */
     public PowerUpObj createMultiplier(final Point2D position) {
-        return new PowerUpObj(position, ObjectType.PWRUP_MULTIPLIER, this.gameEngine);
+        return this.create(ObjectType.PWRUP_MULTIPLIER, position);
 	}
 
     /**
@@ -69,7 +79,19 @@ public class PowerUpFactory {
      * @return the power up obj
      */
     public PowerUpObj createSweeper(final Point2D position) {
-        return new PowerUpObj(position, ObjectType.PWRUP_SWEEPER, this.gameEngine);
+        return this.create(ObjectType.PWRUP_SWEEPER, position);
 	}
 
+    /**
+     * Takes a powerup of type from its pool and places it at position.
+     * @param type
+     * @param position
+     * @return the power up obj
+     */
+    private PowerUpObj create(final ObjectType type, final Point2D position) {
+        final PowerUpObj powerUp = this.pools.acquirePowerUp(type);
+        powerUp.reset(position);
+        return powerUp;
+    }
+
 }
@@ -0,0 +1,25 @@
+package game.engine;
+
+import java.util.List;
+
+import game.model.AbstractGameObject;
+
+/**
+ * Destination of the frames produced by the GameEngine.
+ */
+public interface RenderSink {
+
+	/**
+	 * Displays all the elements in objects which have a renderer.
+	 * @param objects - list of game objects, in drawing order
+	 * @param alpha - interpolation factor between the previous and the current tick
+	 */
+	void render(List<AbstractGameObject> objects, double alpha);
+
+	/**
+	 * Called once, when the game loop ends.
+	 */
+	default void finish() {
+		//nothing to release
+	}
+}
@@ -0,0 +1,90 @@
+package game.engine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import game.util.Point2D;
+
+/**
+ * Runs headless games back to back and prints their statistics, for balancing and benchmarking.
+ * Run i uses seed i, so every run can be reproduced on its own.
+ * Arguments: [number of runs] [maximum game time in seconds]
+ * or: replay file, to play back a recorded game as fast as possible.
+ */
+public final class Simulation {
+
+	private static final int DEFAULT_RUNS = 100;
+	private static final int DEFAULT_MAX_SECONDS = 600;
+	private static final int TICKS_PER_SECOND = 60;
+
+	private Simulation() {
+	}
+
+	/**
+	 * Scripted player: the pointer moves along a circle around the center of the world.
+	 */
+	private static class OrbitInput implements InputSource {
+
+		private static final double RADIUS = 0.3;
+		private static final double ANGULAR_SPEED = 0.02;	//radians per tick
+
+		private double angle;	//0
+
+		@Override
+		public void readPointerPosition(final Point2D dest) {
+			this.angle += ANGULAR_SPEED;
+			dest.set(0.5 + RADIUS * Math.cos(this.angle), 0.5 + RADIUS * Math.sin(this.angle));
+		}
+	}
+
+	/**
+	 * Runs the simulations.
+	 * @param args
+	 * @throws IOException if the recording can't be read
+	 */
+	public static void main(final String[] args) throws IOException {
+		if (args.length == 2 && "replay".equals(args[0])) {
+			replay(Path.of(args[1]));
+			return;
+		}
+		final int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+		final long maxTicks = (args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MAX_SECONDS) * TICKS_PER_SECOND;
+
+		long totalScore = 0;
+		long totalTicks = 0;
+		int bestScore = 0;
+		GameEngine engine = null;
+		final long start = System.nanoTime();
+		for (int i = 0; i < runs; i++) {
+			engine = GameEngine.headless(new OrbitInput(), i);
+			final int score = engine.simulate(maxTicks);
+			totalScore += score;
+			totalTicks += engine.getTickCount();
+			bestScore = Math.max(bestScore, score);
+		}
+		final double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("runs: %d, average score: %.1f, best score: %d%n", runs, (double) totalScore / runs, bestScore);
+		System.out.printf("ticks: %d in %.2f s (%.0f ticks/s, %.0f runs/min)%n",
+				totalTicks, seconds, totalTicks / seconds, runs / seconds * 60);
+		if (engine != null) {
+			System.out.println("pools of the last run:" + System.lineSeparator() + engine.getPools());
+		}
+	}
+
+	/**
+	 * Plays back a recorded game, unthrottled.
+	 * @param path - the recording
+	 * @throws IOException if the recording can't be read
+	 */
+	private static void replay(final Path path) throws IOException {
+		final InputReplay replay = InputReplay.open(path);
+		final GameEngine engine = GameEngine.headless(replay);
+		final long start = System.nanoTime();
+		final int score = engine.simulate(0);
+		final double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("seed: %d, collisions: %s, score: %d, ticks: %d in %.3f s%n", replay.getSeed(),
+				replay.isSweptCollisions() ? "swept" : "discrete", score, engine.getTickCount(), seconds);
+	}
+}
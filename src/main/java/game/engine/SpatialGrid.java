@@ -0,0 +1,176 @@
+package game.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import game.collider.CircleCollider;
+import game.collider.Collider;
+import game.model.AbstractGameObject;
+import game.util.Point2D;
+
+/**
+ * Uniform-grid broadphase over the area where objects can live (-0.5 to 1.5 on both axes).
+ * Each object with a collider is kept in the cell of its position, and moved only when it changes cell;
+ * unbounded colliders (rays) are kept apart and returned by every query.
+ * Queries grow the searched area by the largest bounding radius of the last update, so the cells are never missed.
+ */
+public class SpatialGrid {
+
+	/** Side of a cell, in world units. */
+	public static final double CELL_SIZE = 0.125;
+	/** Cell of an object without collider, which is not in the grid. */
+	public static final int NONE = -1;
+	/** Cell of an object with an unbounded collider. */
+	public static final int UNBOUNDED = -2;
+
+	private static final double MIN = -0.5;
+	private static final double MAX = 1.5;
+	private static final int COLUMNS = (int) Math.ceil((MAX - MIN) / CELL_SIZE);
+	private static final int CELL_CAPACITY = 8;		//objects a cell holds before growing
+
+	private final List<List<AbstractGameObject>> cells = new ArrayList<>(COLUMNS * COLUMNS);
+	private final List<AbstractGameObject> unbounded = new ArrayList<>();
+	private double maxRadius;	//largest bounding radius of the objects in the grid, measured by the last update
+	private double maxStep;		//largest distance moved in the last tick
+
+	/**
+	 * Creates an empty grid. The cells are allocated now: an empty ArrayList would allocate
+	 * its array when the first object enters the cell, in the middle of a game.
+	 */
+	public SpatialGrid() {
+		for (int i = 0; i < COLUMNS * COLUMNS; i++) {
+			this.cells.add(new ArrayList<>(CELL_CAPACITY));
+		}
+	}
+
+	/**
+	 * Starts the update of a tick: the largest radius and step are measured again by the following updates,
+	 * so that an object which has gone doesn't keep widening the queries.
+	 */
+	public void beginUpdate() {
+		this.maxRadius = 0;
+		this.maxStep = 0;
+	}
+
+	/**
+	 * Moves every object of bucket whose cell has changed since the last update.
+	 * Must be called after beginUpdate for every bucket in this grid.
+	 * @param bucket
+	 */
+	public void update(final EntityBucket bucket) {
+		final int[] cell = bucket.getCells();
+		final double[] x = bucket.getX();
+		final double[] y = bucket.getY();
+		final double[] previousX = bucket.getPreviousX();
+		final double[] previousY = bucket.getPreviousY();
+		for (int i = 0; i < bucket.size(); i++) {
+			final AbstractGameObject obj = bucket.getObject(i);
+			//taxicab distance: never shorter than the real one
+			this.maxStep = Math.max(this.maxStep, Math.abs(x[i] - previousX[i]) + Math.abs(y[i] - previousY[i]));
+			final int newCell = this.cellOf(obj.getCollider(), x[i], y[i]);
+			if (newCell >= 0) {
+				this.maxRadius = Math.max(this.maxRadius, obj.getCollider().getBoundingRadius());
+			}
+			if (newCell != cell[i]) {
+				this.remove(obj, cell[i]);
+				this.insert(obj, newCell);
+				cell[i] = newCell;
+			}
+		}
+	}
+
+	/**
+	 * Removes obj from cell.
+	 * @param obj
+	 * @param cell - where obj was inserted
+	 */
+	public void remove(final AbstractGameObject obj, final int cell) {
+		if (cell == NONE) {
+			return;
+		}
+		final List<AbstractGameObject> list = cell == UNBOUNDED ? this.unbounded : this.cells.get(cell);
+		final int index = obj.getGridIndex();
+		//swap with the last one: order in a cell doesn't matter
+		final AbstractGameObject last = list.remove(list.size() - 1);
+		if (index < list.size()) {
+			list.set(index, last);
+			last.setGridIndex(index);
+		}
+		obj.setGridIndex(-1);
+	}
+
+	/**
+	 * Removes every object.
+	 */
+	public void clear() {
+		this.cells.forEach(List::clear);
+		this.unbounded.clear();
+	}
+
+	/**
+	 * Adds to out every object whose collider may touch the circle, i.e. every unbounded collider
+	 * and the objects in the cells overlapping the bounding box of the circle.
+	 * @param circle
+	 * @param out - not cleared
+	 */
+	public void query(final CircleCollider circle, final List<AbstractGameObject> out) {
+		this.query(circle, 0, out);
+	}
+
+	/**
+	 * Like query, for swept tests: the area also covers where the circle and the objects were before the last tick.
+	 * @param circle
+	 * @param circleStep - distance moved by circle in the last tick
+	 * @param out - not cleared
+	 */
+	public void querySwept(final CircleCollider circle, final double circleStep, final List<AbstractGameObject> out) {
+		this.query(circle, circleStep + this.maxStep, out);
+	}
+
+	private void query(final CircleCollider circle, final double margin, final List<AbstractGameObject> out) {
+		//indexed loops: addAll would copy every list into a new array
+		addAll(this.unbounded, out);
+		final double range = circle.getRadius() + this.maxRadius + margin;
+		final int minColumn = column(circle.getCenterX() - range);
+		final int maxColumn = column(circle.getCenterX() + range);
+		final int minRow = column(circle.getCenterY() - range);
+		final int maxRow = column(circle.getCenterY() + range);
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int col = minColumn; col <= maxColumn; col++) {
+				addAll(this.cells.get(row * COLUMNS + col), out);
+			}
+		}
+	}
+
+	private static void addAll(final List<AbstractGameObject> from, final List<AbstractGameObject> out) {
+		for (int i = 0; i < from.size(); i++) {
+			out.add(from.get(i));
+		}
+	}
+
+	private void insert(final AbstractGameObject obj, final int cell) {
+		if (cell != NONE) {
+			final List<AbstractGameObject> list = cell == UNBOUNDED ? this.unbounded : this.cells.get(cell);
+			obj.setGridIndex(list.size());
+			list.add(obj);
+		}
+	}
+
+	private int cellOf(final Collider collider, final double x, final double y) {
+		if (collider == null) {
+			return NONE;
+		}
+		if (collider.getBoundingRadius() == Double.POSITIVE_INFINITY) {
+			return UNBOUNDED;
+		}
+		return column(y) * COLUMNS + column(x);
+	}
+
+	/**
+	 * Gets the column (or row) containing a coordinate, clamped to the grid.
+	 */
+	private static int column(final double coordinate) {
+		final int column = (int) Math.floor((coordinate - MIN) / CELL_SIZE);
+		return Math.max(0, Math.min(COLUMNS - 1, column));
+	}
+}
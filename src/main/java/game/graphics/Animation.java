@@ -0,0 +1,81 @@
+package game.graphics;
+
+import java.util.Arrays;
+
+import game.graphics.ImageRenderer.Sprite;
+
+/**
+ * Immutable table of the frames of an animation, shared by every object playing it.
+ * The frame shown is a pure function of the time elapsed since the animation started.
+ */
+public final class Animation {
+
+	private final Sprite[] frames;
+	private final double fps;
+	private final boolean loop;
+
+	/**
+	 * Creates an animation.
+	 * @param fps - frames per second, must be positive
+	 * @param loop - if false, the last frame stays once the animation is over
+	 * @param frames - in order, at least one
+	 */
+	public Animation(final double fps, final boolean loop, final Sprite... frames) {
+		if (frames.length == 0) {
+			throw new IllegalArgumentException("frames can't be empty.");
+		}
+		if (fps <= 0) {
+			throw new IllegalArgumentException("fps must be positive.");
+		}
+		this.frames = Arrays.copyOf(frames, frames.length);
+		this.fps = fps;
+		this.loop = loop;
+	}
+
+	/**
+	 * Gets the frame shown after elapsed seconds.
+	 * @param elapsed - seconds since the animation started; before the start, the first frame is shown
+	 * @return the frame
+	 */
+	public Sprite sample(final double elapsed) {
+		return this.frames[this.indexAt(elapsed)];
+	}
+
+	/**
+	 * Gets the index of the frame shown after elapsed seconds.
+	 * @param elapsed - seconds since the animation started
+	 * @return frame index
+	 */
+	public int indexAt(final double elapsed) {
+		if (elapsed <= 0) {
+			return 0;
+		}
+		final long index = (long) (elapsed * this.fps);
+		if (this.loop) {
+			return (int) (index % this.frames.length);
+		}
+		return (int) Math.min(index, this.frames.length - 1);
+	}
+
+	/**
+	 * @return number of frames
+	 */
+	public int getFrameCount() {
+		return this.frames.length;
+	}
+
+	/**
+	 * @return duration of one cycle, in seconds
+	 */
+	public double getDuration() {
+		return this.frames.length / this.fps;
+	}
+
+	/**
+	 * @param index
+	 * @return the frame at index
+	 */
+	public Sprite getFrame(final int index) {
+		return this.frames[index];
+	}
+}
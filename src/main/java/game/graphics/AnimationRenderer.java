@@ -1,92 +1,61 @@
 package game.graphics;
 
-import java.util.List;
-
 import game.engine.GameEngine;
-import javafx.scene.canvas.GraphicsContext;
+import game.model.AbstractGameObject;
 
 /**
- * Renderer of an animation - a sequence of image renderers.
+ * Renderer of an animation. It keeps no timer: the frame is sampled from the game clock
+ * at every capture, so skipped or repeated frames don't change the animation.
  */
 public class AnimationRenderer implements Renderer {
 
-	private final List<ImageRenderer> frames;
-	private double animationTime;
-	private boolean loop;
+	private final AbstractGameObject obj;
+	private final Animation animation;
+	private final double size;
+	private final double startTime;
 	private final GameEngine ge;
 	
-	private double timer;	//0
-	private int index;		//0
-	
 	/**
-	 * Creates a new Renderer representing an sequence of images.
-	 * @param images to display in order
-	 * @param speed - frames per seconds
-	 * @param loop - enables the looping of the animation
+	 * Creates a new Renderer playing animation at obj position.
+	 * @param obj - the game object linked to this renderer
+	 * @param animation - the shared frames
+	 * @param size - in-game width of the frames
+	 * @param startTime - game time when the animation starts, in seconds
 	 */
-	public AnimationRenderer(final List<ImageRenderer> images, final double speed, final boolean loop) {
-		if (images == null || images.isEmpty()) {
-			throw new IllegalArgumentException("images can't be null or empty.");
-		}
-		this.frames = images;
-		this.setSpeed(speed);
-		this.enableLoop(loop);
-		this.ge = this.frames.get(0).getGameObject().getGameEngine();
+	public AnimationRenderer(final AbstractGameObject obj, final Animation animation, final double size, final double startTime) {
+		this.obj = obj;
+		this.animation = animation;
+		this.size = size;
+		this.startTime = startTime;
+		this.ge = obj.getGameEngine();
 	}
 	
 	/**
-	 * Renders an animation.
-	 * @param gc
+	 * Captures the frame shown at the interpolated game time.
+	 * @param frame
+	 * @param alpha
 	 */
 	@Override
-	public void paint(final GraphicsContext gc) {
-		final var imgR = this.frames.get(index);
-		if (imgR != null) {
-			imgR.paint(gc);
-		}
-		this.incIndex();
-	}
-	
-	/**
-	 * Used to update the sequence.
-	 */
-	private void incIndex() {
-		this.timer += this.ge.getDeltaTime();
-		//index increment condition
-		if (this.timer >= this.animationTime) {
-			this.timer -= this.animationTime;
-
-			this.index++;
-			if (this.index >= this.frames.size()) {
-				this.index = this.loop ? 0 : this.frames.size() - 1;
-			}
-		}
-	}
-	
-	/**
-	 * Sets the speed of the animation.
-	 * @param speed
-	 */
-	public void setSpeed(final double speed) {
-		this.animationTime = 1 / speed;
+	public void capture(final RenderSnapshot frame, final double alpha) {
+		//alpha 1 is the current tick, alpha 0 the previous one
+		final double time = this.ge.getTime() - (1 - alpha) * this.ge.getDeltaTime();
+		frame.drawImage(this.animation.sample(time - this.startTime), 0, frame.toPixels(this.size),
+				frame.toPixels(this.obj.getRenderX(alpha)),
+				frame.toPixels(this.obj.getRenderY(alpha)));
 	}
 	
 	/**
-	 * Enables/disables the looping of the animation.
-	 * @param loop
+	 * Frames are drawn with size width, like ImageRenderer: the box is as large.
 	 */
-	public void enableLoop(final boolean loop) {
-		this.loop = loop;
+	@Override
+	public void getBounds(final double alpha, final double[] dest) {
+		Renderer.centeredBounds(this.obj.getRenderX(alpha), this.obj.getRenderY(alpha), this.size, dest);
 	}
 	
 	/**
-	 * Sets the current frame to index frame.
-	 * @param index - must be within range, or it will be ignored
+	 * @return the animation played
 	 */
-	public void goToFrame(final int index) {
-		if (index >= 0 && index < this.frames.size()) {
-			this.index = index;
-			this.timer = 0;
-		}
+	public Animation getAnimation() {
+		return this.animation;
 	}
 }
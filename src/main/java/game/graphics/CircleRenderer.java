@@ -1,8 +1,6 @@
 package game.graphics;
 
-import game.engine.GameApplication;
 import game.model.AbstractGameObject;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 /**
@@ -37,23 +35,28 @@ public class CircleRenderer implements Renderer {
 	
 	/**
 	 * Set the radius of the circle.
-	 * @param radius
+	 * @param radius - in world coordinates
 	 */
 	public void setRadius(final double radius) {
-		this.radius = GameApplication.convertToInt(radius);
+		this.radius = radius;
 	}
 	
 	/**
-	 * Paints a circle.
-	 * @param gc
+	 * Captures a circle.
+	 * @param frame
+	 * @param alpha
 	 */
 	@Override
-	public void paint(final GraphicsContext gc) {
-		gc.setFill(color);
-		gc.fillOval(GameApplication.convertToInt(this.parent.getPosition().getX()) - this.radius,
-				GameApplication.convertToInt(this.parent.getPosition().getY()) - this.radius,
-				this.radius * 2,
-				this.radius * 2);
+	public void capture(final RenderSnapshot frame, final double alpha) {
+		frame.fillCircle(this.color,
+				frame.toPixels(this.parent.getRenderX(alpha)),
+				frame.toPixels(this.parent.getRenderY(alpha)),
+				frame.toPixels(this.radius));
+	}
+	
+	@Override
+	public void getBounds(final double alpha, final double[] dest) {
+		Renderer.centeredBounds(this.parent.getRenderX(alpha), this.parent.getRenderY(alpha), this.radius, dest);
 	}
 
 }
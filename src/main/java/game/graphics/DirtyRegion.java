@@ -0,0 +1,174 @@
+package game.graphics;
+
+import java.util.Arrays;
+
+/**
+ * Finds which part of the screen changed between two frames, as a set of rectangles.
+ * The screen is divided in square tiles: a tile is dirty if it's touched by a command which was drawn
+ * in only one of the two frames (moved, changed, appeared or disappeared).
+ * Dirty tiles are merged into horizontal runs, so a few rectangles cover the region.
+ * Must only be used by the JavaFX thread.
+ */
+public class DirtyRegion {
+
+	/** Side of a tile, in pixels. */
+	public static final int TILE_SIZE = 32;
+	/** Above this many rectangles, clipping costs more than it saves. */
+	private static final int MAX_RECTS = 32;
+
+	private final int width;
+	private final int height;
+	private final int columns;
+	private final int rows;
+	private final double coverageThreshold;
+	private final boolean[] dirty;
+	private int dirtyTiles;		//0
+	private double coverage;	//0
+
+	//previous frame, copied: the snapshot itself is reused by the engine thread
+	private double[] previousBounds = new double[0];
+	private long[] previousSignatures = new long[0];
+	private long[] previousSorted = new long[0];
+	private int previousCount = -1;		//no previous frame
+	private long[] currentSorted = new long[0];
+
+	private final int[] rects = new int[MAX_RECTS * 4];
+	private int rectCount;	//0
+
+	/**
+	 * Creates a region for a screen of width*height pixels.
+	 * @param width
+	 * @param height
+	 * @param coverageThreshold - fraction of the screen above which the whole screen is redrawn
+	 */
+	public DirtyRegion(final int width, final int height, final double coverageThreshold) {
+		this.width = width;
+		this.height = height;
+		this.columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+		this.rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+		this.coverageThreshold = coverageThreshold;
+		this.dirty = new boolean[this.columns * this.rows];
+	}
+
+	/**
+	 * Compares frame with the previous one, and computes the rectangles to redraw.
+	 * @param frame - the new frame
+	 * @return true if the whole screen must be redrawn (first frame, too many changes)
+	 */
+	public boolean update(final RenderSnapshot frame) {
+		frame.prepare();
+		final int count = frame.size();
+		final double[] bounds = frame.getBounds();
+		final long[] signatures = frame.getSignatures();
+		if (this.currentSorted.length < count) {
+			this.currentSorted = new long[count * 2];
+		}
+		System.arraycopy(signatures, 0, this.currentSorted, 0, count);
+		Arrays.sort(this.currentSorted, 0, count);
+
+		Arrays.fill(this.dirty, false);
+		this.dirtyTiles = 0;
+		final boolean first = this.previousCount < 0;
+		if (!first) {
+			for (int i = 0; i < count; i++) {
+				if (Arrays.binarySearch(this.previousSorted, 0, this.previousCount, signatures[i]) < 0) {
+					this.mark(bounds, i);
+				}
+			}
+			for (int i = 0; i < this.previousCount; i++) {
+				if (Arrays.binarySearch(this.currentSorted, 0, count, this.previousSignatures[i]) < 0) {
+					this.mark(this.previousBounds, i);
+				}
+			}
+		}
+		this.remember(bounds, signatures, count);
+		final boolean full = first || this.dirtyTiles > this.coverageThreshold * this.dirty.length || !this.buildRects();
+		this.coverage = full ? 1 : (double) this.dirtyTiles / this.dirty.length;
+		return full;
+	}
+
+	/**
+	 * @return fraction of the screen redrawn by the last update, 1 if it was fully redrawn
+	 */
+	public double getCoverage() {
+		return this.coverage;
+	}
+
+	/**
+	 * @return number of rectangles to redraw
+	 */
+	public int getRectCount() {
+		return this.rectCount;
+	}
+
+	/**
+	 * Gets the rectangles to redraw: x, y, width, height of each one, in pixels.
+	 * @return rectangles, 4 ints per rectangle
+	 */
+	public int[] getRects() {
+		return this.rects;
+	}
+
+	/**
+	 * Marks the tiles touched by the bounds of command i.
+	 */
+	private void mark(final double[] bounds, final int i) {
+		final int minColumn = Math.max(0, (int) Math.floor(bounds[i * 4] / TILE_SIZE));
+		final int minRow = Math.max(0, (int) Math.floor(bounds[i * 4 + 1] / TILE_SIZE));
+		final int maxColumn = Math.min(this.columns - 1, (int) Math.floor(bounds[i * 4 + 2] / TILE_SIZE));
+		final int maxRow = Math.min(this.rows - 1, (int) Math.floor(bounds[i * 4 + 3] / TILE_SIZE));
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int col = minColumn; col <= maxColumn; col++) {
+				if (!this.dirty[row * this.columns + col]) {
+					this.dirty[row * this.columns + col] = true;
+					this.dirtyTiles++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Merges the dirty tiles of each row into rectangles.
+	 * @return false if there are too many rectangles
+	 */
+	private boolean buildRects() {
+		this.rectCount = 0;
+		for (int row = 0; row < this.rows; row++) {
+			int col = 0;
+			while (col < this.columns) {
+				if (!this.dirty[row * this.columns + col]) {
+					col++;
+					continue;
+				}
+				final int start = col;
+				while (col < this.columns && this.dirty[row * this.columns + col]) {
+					col++;
+				}
+				if (this.rectCount == MAX_RECTS) {
+					return false;
+				}
+				final int r = this.rectCount++ * 4;
+				this.rects[r] = start * TILE_SIZE;
+				this.rects[r + 1] = row * TILE_SIZE;
+				this.rects[r + 2] = Math.min(col * TILE_SIZE, this.width) - this.rects[r];
+				this.rects[r + 3] = Math.min((row + 1) * TILE_SIZE, this.height) - this.rects[r + 1];
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Copies the bounds and signatures of the frame, to compare the next one against it.
+	 */
+	private void remember(final double[] bounds, final long[] signatures, final int count) {
+		if (this.previousSignatures.length < count) {
+			this.previousBounds = new double[count * 8];
+			this.previousSignatures = new long[count * 2];
+			this.previousSorted = new long[count * 2];
+		}
+		System.arraycopy(bounds, 0, this.previousBounds, 0, count * 4);
+		System.arraycopy(signatures, 0, this.previousSignatures, 0, count);
+		System.arraycopy(this.currentSorted, 0, this.previousSorted, 0, count);
+		this.previousCount = count;
+	}
+}
@@ -0,0 +1,60 @@
+package game.graphics;
+
+import game.graphics.ImageRenderer.Sprite;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * The drawing operations of a frame, in pixels. Renderers issue them into a RenderSnapshot,
+ * which replays them into the backend displaying the frame.
+ */
+public interface DrawCommands {
+
+	/**
+	 * Sets the layer of the next commands. Layers are displayed in increasing order.
+	 * @param layer - between 0 and RenderSnapshot.MAX_LAYER
+	 */
+	void setLayer(int layer);
+
+	/**
+	 * Draws sprite rotated by degrees and scaled to width, centered in (x, y).
+	 * @param sprite
+	 * @param degrees
+	 * @param width
+	 * @param x
+	 * @param y
+	 */
+	void drawImage(Sprite sprite, double degrees, int width, double x, double y);
+
+	/**
+	 * Fills a circle.
+	 * @param color
+	 * @param x - center
+	 * @param y - center
+	 * @param radius
+	 */
+	void fillCircle(Color color, double x, double y, double radius);
+
+	/**
+	 * Strokes a line.
+	 * @param color
+	 * @param width
+	 * @param x1
+	 * @param y1
+	 * @param x2
+	 * @param y2
+	 */
+	void strokeLine(Color color, double width, double x1, double y1, double x2, double y2);
+
+	/**
+	 * Draws a text centered in (x, y).
+	 * @param font
+	 * @param text - only valid during the call: copy it to keep it
+	 * @param fill
+	 * @param stroke - border color, null for no border
+	 * @param borderWidth
+	 * @param x
+	 * @param y
+	 */
+	void drawText(Font font, CharSequence text, Color fill, Color stroke, double borderWidth, double x, double y);
+}
@@ -0,0 +1,235 @@
+package game.graphics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+
+/**
+ * Cache of text glyphs pre-rendered into images, one set per text style (font, colors and border).
+ * A string is drawn by blitting the images of its characters: filling and stroking glyph outlines
+ * only happens the first time a character is seen in a style, so a changing score costs a few
+ * image draws and no layout. Kerning is ignored, which is fine for the HUD.
+ * Glyphs are rendered at the output scale of the window (e.g. 2 on HiDPI screens), so that they stay sharp.
+ * Must only be used by the JavaFX thread.
+ */
+public class GlyphCache {
+
+	private static final int ASCII = 128;
+
+	/**
+	 * Renders one character of a style, at scale times its size.
+	 */
+	@FunctionalInterface
+	public interface Rasterizer {
+		Glyph render(Font font, Color fill, Color stroke, double borderWidth, double scale, char c);
+	}
+
+	private final Rasterizer rasterizer;
+	private final int maxStyles;
+	private final List<Style> styles = new ArrayList<>();		//most recently used last
+	private long misses;	//0
+
+	/**
+	 * Creates an empty cache.
+	 * @param maxStyles - maximum number of styles kept, the least recently used is dropped
+	 */
+	public GlyphCache(final int maxStyles) {
+		this(maxStyles, GlyphCache::render);
+	}
+
+	/**
+	 * Creates an empty cache which renders glyphs with rasterizer.
+	 * @param maxStyles - maximum number of styles kept, the least recently used is dropped
+	 * @param rasterizer
+	 */
+	public GlyphCache(final int maxStyles, final Rasterizer rasterizer) {
+		this.maxStyles = maxStyles;
+		this.rasterizer = rasterizer;
+	}
+
+	/**
+	 * Draws text centered in (x, y) like a canvas with centered text alignment and baseline.
+	 * @param gc
+	 * @param text
+	 * @param font
+	 * @param fill
+	 * @param stroke - border color, null for no border
+	 * @param borderWidth
+	 * @param x
+	 * @param y
+	 */
+	public void draw(final GraphicsContext gc, final CharSequence text, final Font font, final Color fill, final Color stroke,
+			final double borderWidth, final double x, final double y) {
+		final Style style = this.style(font, fill, stroke, borderWidth, outputScale(gc));
+		double pen = x - this.measure(style, text) / 2;
+		for (int i = 0; i < text.length(); i++) {
+			final Glyph glyph = this.glyph(style, text.charAt(i));
+			if (glyph.image != null) {
+				gc.drawImage(glyph.image, pen + glyph.offsetX, y + glyph.offsetY,
+						glyph.image.getWidth() / style.scale, glyph.image.getHeight() / style.scale);
+			}
+			pen += glyph.advance;
+		}
+	}
+
+	/**
+	 * Gets the width of text, rendering the glyphs not seen yet.
+	 * @param text
+	 * @param font
+	 * @param fill
+	 * @param stroke - border color, null for no border
+	 * @param borderWidth
+	 * @param scale - output scale of the window the text is drawn in
+	 * @return width, like the layout width of a Text node without kerning
+	 */
+	public double measure(final CharSequence text, final Font font, final Color fill, final Color stroke,
+			final double borderWidth, final double scale) {
+		return this.measure(this.style(font, fill, stroke, borderWidth, scale), text);
+	}
+
+	private double measure(final Style style, final CharSequence text) {
+		double width = 0;
+		for (int i = 0; i < text.length(); i++) {
+			width += this.glyph(style, text.charAt(i)).advance;
+		}
+		return width;
+	}
+
+	private static double outputScale(final GraphicsContext gc) {
+		final Scene scene = gc.getCanvas().getScene();
+		return scene != null && scene.getWindow() != null ? scene.getWindow().getOutputScaleX() : 1;
+	}
+
+	/**
+	 * @return number of glyphs rendered so far
+	 */
+	public long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * @return number of styles kept
+	 */
+	public int getStyleCount() {
+		return this.styles.size();
+	}
+
+	/**
+	 * Finds the style, moving it to the most recently used position. Few styles are shown at once, so a linear search is enough.
+	 */
+	private Style style(final Font font, final Color fill, final Color stroke, final double borderWidth, final double scale) {
+		final int last = this.styles.size() - 1;
+		for (int i = last; i >= 0; i--) {
+			final Style style = this.styles.get(i);
+			if (style.matches(font, fill, stroke, borderWidth, scale)) {
+				if (i != last) {
+					this.styles.remove(i);
+					this.styles.add(style);
+				}
+				return style;
+			}
+		}
+		if (this.styles.size() == this.maxStyles) {
+			this.styles.remove(0);
+		}
+		final Style style = new Style(font, fill, stroke, borderWidth, scale);
+		this.styles.add(style);
+		return style;
+	}
+
+	private Glyph glyph(final Style style, final char c) {
+		Glyph glyph = c < ASCII ? style.ascii[c] : style.others.get(c);
+		if (glyph == null) {
+			this.misses++;
+			glyph = this.rasterizer.render(style.font, style.fill, style.stroke, style.borderWidth, style.scale, c);
+			if (c < ASCII) {
+				style.ascii[c] = glyph;
+			} else {
+				style.others.put(c, glyph);
+			}
+		}
+		return glyph;
+	}
+
+	/**
+	 * Renders a character with its fill and centered border, like GraphicsContext.fillText and strokeText.
+	 */
+	private static Glyph render(final Font font, final Color fill, final Color stroke, final double borderWidth,
+			final double scale, final char c) {
+		final Text node = new Text(String.valueOf(c));
+		node.setFont(font);
+		node.setTextOrigin(VPos.CENTER);
+		final double advance = node.getLayoutBounds().getWidth();
+		if (Character.isWhitespace(c)) {
+			return new Glyph(null, 0, 0, advance);
+		}
+		node.setFill(fill);
+		if (stroke != null) {
+			node.setStroke(stroke);
+			node.setStrokeWidth(borderWidth);
+		}
+		final Bounds bounds = node.getBoundsInParent();
+		final SnapshotParameters param = new SnapshotParameters();
+		param.setFill(Color.TRANSPARENT);
+		param.setTransform(Transform.scale(scale, scale));
+		return new Glyph(node.snapshot(param, null), bounds.getMinX(), bounds.getMinY(), advance);
+	}
+
+	private static class Style {
+		private final Font font;
+		private final Color fill;
+		private final Color stroke;
+		private final double borderWidth;
+		private final double scale;
+		private final Glyph[] ascii = new Glyph[ASCII];
+		private final Map<Character, Glyph> others = new HashMap<>();
+
+		Style(final Font font, final Color fill, final Color stroke, final double borderWidth, final double scale) {
+			this.font = font;
+			this.fill = fill;
+			this.stroke = stroke;
+			this.borderWidth = borderWidth;
+			this.scale = scale;
+		}
+
+		boolean matches(final Font font, final Color fill, final Color stroke, final double borderWidth, final double scale) {
+			return this.font.equals(font) && this.fill.equals(fill) && this.borderWidth == borderWidth && this.scale == scale
+					&& (this.stroke == null ? stroke == null : this.stroke.equals(stroke));
+		}
+	}
+
+	/**
+	 * Image of a character and where to draw it, in the units of the text (not of the image).
+	 */
+	public static final class Glyph {
+		private final Image image;		//null for blanks
+		private final double offsetX;
+		private final double offsetY;
+		private final double advance;
+
+		/**
+		 * @param image - scale times the size of the character, null for blanks
+		 * @param offsetX - from the pen position to the left of the image
+		 * @param offsetY - from the vertical center of the text to the top of the image
+		 * @param advance - how far the pen moves
+		 */
+		public Glyph(final Image image, final double offsetX, final double offsetY, final double advance) {
+			this.image = image;
+			this.offsetX = offsetX;
+			this.offsetY = offsetY;
+			this.advance = advance;
+		}
+	}
+}
@@ -1,13 +1,8 @@
 package game.graphics;
 
-import game.engine.GameApplication;
+import game.engine.EntityBucket;
 import game.model.AbstractGameObject;
-import javafx.application.Platform;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.paint.Color;
 
 /**
  * Renderer of an image.
@@ -15,7 +10,7 @@ import javafx.scene.paint.Color;
 public class ImageRenderer implements Renderer {
 
 	/**
-	 * Enumerator representing a sprite. Each sprite has its own preallocated image.
+	 * Enumerator representing a sprite. Sprites are packed into the SpriteAtlas, which loads their images once.
 	 * The use of sprites instead of new images is recommended in order to boost rendering performance. 
 	 */
 	public static enum Sprite {
@@ -35,21 +30,38 @@ public class ImageRenderer implements Renderer {
 		PWRUP_SWEEPER("/imgs/sweeper.png");
 
 
-		private final Image img;
+		private final String path;
+		private Image img;
 
 		private Sprite(final String path) {
-//			System.out.println("Loading sprite '" + path + "'...");
-			this.img = new Image(path);
-//			System.out.println("Done");
+			this.path = path;
 		}
 
-		public Image getImage() {
+		/**
+		 * Gets the image of this sprite alone, loading it if needed. Used to build the SpriteAtlas:
+		 * draw through the atlas instead.
+		 * @return the image
+		 */
+		public synchronized Image getImage() {
+			if (this.img == null) {
+				this.img = new Image(this.path);
+			}
 			return this.img;
 		}
+
+		/**
+		 * Releases the image, once packed into the atlas.
+		 */
+		synchronized void unload() {
+			this.img = null;
+		}
 	}
 	
-	private Image currentImg;
+	/** Rotated sprites shared by every renderer, used by the JavaFX thread. */
+	private static final SpriteCache CACHE = new SpriteCache(1024);
+
 	private Sprite baseSprite;
+	private double rotation;
 	private final AbstractGameObject obj;
 	private double size;
 	
@@ -76,58 +88,58 @@ public class ImageRenderer implements Renderer {
 	}
 	
 	/**
-	 * Sets the current image to the newSprite image. This method is executed in the JavaFX thread
+	 * Sets the current image to the newSprite image. The image is rebuilt when it's painted.
 	 * @param newSprite
 	 * @param rotation angle
 	 */
 	private void setSprite(final Sprite newSprite, final double rotation) {
-		Platform.runLater(() -> {
-			this.baseSprite = newSprite;
-			this.currentImg = newSprite.getImage();
-			rotate(rotation, GameApplication.convertToInt(this.size));
-		});
+		this.baseSprite = newSprite;
+		this.rotation = rotation;
 	}
 	
 	/**
-	 * Paints an image on the screen.
-	 * @param gc
+	 * Captures the image at the interpolated position.
+	 * Only the sprite and the angle are captured: the image is chosen when the frame is painted.
+	 * @param frame
+	 * @param alpha
 	 */
 	@Override
-	public void paint(final GraphicsContext gc) {
-		//images can be null, because they are loaded in a separated FX thread
-		if (this.currentImg == null) {
-			return;
-		}
-		final double xPos = GameApplication.convertToInt(this.obj.getPosition().getX()) - this.currentImg.getWidth() / 2;
-		final double yPos = GameApplication.convertToInt(this.obj.getPosition().getY()) - this.currentImg.getHeight() / 2;
-        gc.drawImage(currentImg, xPos, yPos, currentImg.getWidth(), currentImg.getHeight());
+	public void capture(final RenderSnapshot frame, final double alpha) {
+		frame.drawImage(this.baseSprite, this.getRotation(), frame.toPixels(this.size),
+				frame.toPixels(this.obj.getRenderX(alpha)),
+				frame.toPixels(this.obj.getRenderY(alpha)));
 	}
 	
 	/**
-	 * Sets the current rotation in degrees of this image. This method is executed in the JavaFX thread
-	 * @param degrees
+	 * The sprite height isn't known before it's painted: a square of side 2 * size
+	 * holds any rotation of sprites up to 1.7 times taller than wide.
 	 */
-	public void setRotation(final double degrees) {
-		Platform.runLater(() -> {
-			rotate(degrees, GameApplication.convertToInt(this.size));
-		});
+	@Override
+	public void getBounds(final double alpha, final double[] dest) {
+		Renderer.centeredBounds(this.obj.getRenderX(alpha), this.obj.getRenderY(alpha), this.size, dest);
 	}
 	
 	/**
-	 * Rotates this image by degrees angle and scales it to fit in a box of size width.
+	 * Gets the cache of rotated sprites, e.g. to warm it up or read its statistics.
+	 * Must be used in the JavaFX thread.
+	 * @return the sprite cache
+	 */
+	public static SpriteCache getCache() {
+		return CACHE;
+	}
+	
+	/**
+	 * Sets the current rotation in degrees of this image. The image is rebuilt when it's painted.
+	 * While the object is in the EntityStore its angle is read from its bucket instead.
 	 * @param degrees
-	 * @param width - in pixels!
 	 */
-	private void rotate(final double degrees, final double width) {
-		final ImageView iv = new ImageView(this.baseSprite.getImage());
-		iv.setFitWidth(width);
-		iv.setPreserveRatio(true);
-		iv.setSmooth(true);
-		iv.setCache(true);
-		iv.setRotate(degrees);
-		final SnapshotParameters param = new SnapshotParameters();
-		param.setFill(Color.TRANSPARENT);
-		this.currentImg = iv.snapshot(param, null);
+	public void setRotation(final double degrees) {
+		this.rotation = degrees;
+	}
+
+	private double getRotation() {
+		final EntityBucket bucket = this.obj.getBucket();
+		return bucket != null ? bucket.getAngles()[this.obj.getSlot()] : this.rotation;
 	}
 	
 	/**
@@ -1,9 +1,7 @@
 package game.graphics;
 
-import game.engine.GameApplication;
 import game.model.AbstractGameObject;
 import game.util.Point2D;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 /**
@@ -24,25 +22,45 @@ public class LineRenderer implements Renderer {
 	 * @param width - the line width
 	 */
 	public LineRenderer(final AbstractGameObject obj, final Point2D direction, final Color color, final double width) {
-		final double m = direction.getY() / direction.getX();
-		final Point2D p1 = getLimit(obj.getPosition(), m, 0);
-		final Point2D p2 = getLimit(obj.getPosition(), m, 1);
-
-		this.p1 = p1;
-		this.p2 = p2;
+		this.p1 = new Point2D(0, 0);
+		this.p2 = new Point2D(0, 0);
+		this.setLine(obj.getPosition(), direction);
 		this.color = color;
 		this.width = width;
 	}
 	
 	/**
-	 * Paints a line.
-	 * @param gc
+	 * Moves the line, so that it passes through origin with the given direction.
+	 * @param origin - in world coordinates
+	 * @param direction - in world coordinates
+	 */
+	public void setLine(final Point2D origin, final Point2D direction) {
+		final double m = direction.getY() / direction.getX();
+		getLimit(origin, m, 0, this.p1);
+		getLimit(origin, m, 1, this.p2);
+	}
+	
+	/**
+	 * Captures a line. Lasers don't move, so alpha is ignored.
+	 * @param frame
+	 * @param alpha
+	 */
+	@Override
+	public void capture(final RenderSnapshot frame, final double alpha) {
+		frame.strokeLine(this.color, frame.toPixels(this.width),
+				frame.toPixels(p1.getX()), frame.toPixels(p1.getY()),
+				frame.toPixels(p2.getX()), frame.toPixels(p2.getY()));
+	}
+	
+	/**
+	 * The line is already clipped to the world border.
 	 */
 	@Override
-	public void paint(final GraphicsContext gc) {
-		gc.setLineWidth(GameApplication.convertToInt(this.width));
-		gc.setStroke(color);
-		gc.strokeLine(GameApplication.convertToInt(p1.getX()), GameApplication.convertToInt(p1.getY()), GameApplication.convertToInt(p2.getX()), GameApplication.convertToInt(p2.getY()));
+	public void getBounds(final double alpha, final double[] dest) {
+		dest[0] = Math.min(this.p1.getX(), this.p2.getX()) - this.width / 2;
+		dest[1] = Math.min(this.p1.getY(), this.p2.getY()) - this.width / 2;
+		dest[2] = Math.max(this.p1.getX(), this.p2.getX()) + this.width / 2;
+		dest[3] = Math.max(this.p1.getY(), this.p2.getY()) + this.width / 2;
 	}
 	
     /**
@@ -59,16 +77,16 @@ public class LineRenderer implements Renderer {
 	 * @param origin
 	 * @param m
 	 * @param xLimit
-	 * @return the projection
+	 * @param dest - where the projection is written
 	 */
-	private Point2D getLimit(final Point2D origin, final double m, final double xLimit) {
+	private static void getLimit(final Point2D origin, final double m, final double xLimit, final Point2D dest) {
 		final double y = m * (xLimit - origin.getX()) + origin.getY();
 		if (y < 0 || y > 1) {
 			final double newY = y > 1 ? 1 : 0;
 			final double x = (newY - origin.getY() + m * origin.getX()) / m;
-			return Point2D.of(x, newY);
+			dest.set(x, newY);
 		} else {
-			return Point2D.of(xLimit, y);
+			dest.set(xLimit, y);
 		}
 	}
 }
@@ -0,0 +1,569 @@
+package game.graphics;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import game.graphics.ImageRenderer.Sprite;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * Everything needed to draw one frame, in pixels, captured by the engine thread and painted by the JavaFX thread.
+ * A published snapshot is not modified until a newer one has been taken by the JavaFX thread
+ * (see TripleBuffer), so painting never sees half a frame.
+ * <p>
+ * Commands are recorded into primitive arrays: an opcode and offsets per command, numbers in a double[] payload
+ * references (colors, fonts, sprites) in an Object[] one and the characters of texts in a char[] one. Before painting, the commands of each layer are sorted
+ * by material (the canvas state they need), and the state is only set when it changes.
+ * Arrays are reused between frames: capturing allocates nothing once warmed up.
+ */
+public class RenderSnapshot implements DrawCommands {
+
+	private static final int IMAGE = 0;
+	private static final int CIRCLE = 1;
+	private static final int LINE = 2;
+	private static final int TEXT = 3;
+
+	//command layout in ops: opcode, offset in numbers, offset in refs
+	private static final int STRIDE = 3;
+	private static final int INITIAL_COMMANDS = 64;
+	private static final int SEQUENCE_BITS = 24;
+	private static final int MATERIAL_BITS = 16;
+	/** Highest layer. */
+	public static final int MAX_LAYER = 127;
+
+	private int[] ops = new int[INITIAL_COMMANDS * STRIDE];
+	private double[] numbers = new double[INITIAL_COMMANDS * 4];
+	private Object[] refs = new Object[INITIAL_COMMANDS * 2];
+	private char[] chars = new char[INITIAL_COMMANDS];		//texts, copied: the renderers rewrite theirs in place
+	private CharBuffer text = CharBuffer.wrap(this.chars);	//view of one text of chars, reused
+	private int charCount;	//0
+	private long[] keys = new long[INITIAL_COMMANDS];		//layer, material, sequence: sorted before painting
+	private int count;		//0
+	private int numberCount;	//0
+	private int refCount;	//0
+	private int layer;		//0
+
+	//materials of this frame: the opcode, the main reference and the line width which identify them
+	private int[] materialOps = new int[16];
+	private Object[] materialRefs = new Object[16];
+	private double[] materialWidths = new double[16];
+	private int materialCount;	//0
+	private boolean prepared;	//sorted, with bounds and signatures
+	private double[] bounds = new double[INITIAL_COMMANDS * 4];	//minX, minY, maxX, maxY of each command, in capture order
+	private long[] signatures = new long[INITIAL_COMMANDS];		//hash of everything a command draws, in capture order
+	private int resolution = 1;	//pixels per world unit
+	private int drawnObjects;	//0
+	private int culledObjects;	//0
+
+	/**
+	 * Empties this snapshot, before capturing a new frame.
+	 */
+	public void clear() {
+		this.count = 0;
+		this.numberCount = 0;
+		this.charCount = 0;
+		Arrays.fill(this.refs, 0, this.refCount, null);	//doesn't keep old objects alive
+		this.refCount = 0;
+		this.materialCount = 0;
+		this.layer = 0;
+		this.prepared = false;
+		this.drawnObjects = 0;
+		this.culledObjects = 0;
+	}
+
+	/**
+	 * Sets the resolution of this frame, once before capturing it: the world, from 0 to 1, is drawn on resolution pixels.
+	 * @param resolution - side of the drawing surface, in pixels
+	 */
+	public void setResolution(final int resolution) {
+		this.resolution = resolution;
+	}
+
+	/**
+	 * @return side of the drawing surface this frame is captured for, in pixels
+	 */
+	public int getResolution() {
+		return this.resolution;
+	}
+
+	/**
+	 * Converts a world length or coordinate to pixels of this frame. Renderers convert each value when they
+	 * capture it, so that commands, their bounds and the dirty regions are in whole pixels.
+	 * @param world - in world units
+	 * @return pixels
+	 */
+	public int toPixels(final double world) {
+		return (int) (world * this.resolution);
+	}
+
+	/**
+	 * Records how many objects were captured in this frame and how many were skipped because out of the view.
+	 * @param drawn
+	 * @param culled
+	 */
+	public void setObjectCounts(final int drawn, final int culled) {
+		this.drawnObjects = drawn;
+		this.culledObjects = culled;
+	}
+
+	/**
+	 * @return number of objects captured in this frame
+	 */
+	public int getDrawnObjects() {
+		return this.drawnObjects;
+	}
+
+	/**
+	 * @return number of objects skipped in this frame because out of the view
+	 */
+	public int getCulledObjects() {
+		return this.culledObjects;
+	}
+
+	/**
+	 * @return number of commands captured
+	 */
+	public int size() {
+		return this.count;
+	}
+
+	/**
+	 * @return number of distinct materials captured
+	 */
+	public int getMaterialCount() {
+		return this.materialCount;
+	}
+
+	/**
+	 * Sets the layer of the next commands. Layers are painted in increasing order, and commands are only
+	 * reordered (by material) within the same layer.
+	 * @param layer - between 0 and 127
+	 */
+	@Override
+	public void setLayer(final int layer) {
+		this.layer = layer;
+	}
+
+	/**
+	 * Draws sprite rotated by degrees and scaled to width, centered in (x, y).
+	 * Unrotated sprites are drawn from the SpriteAtlas, rotated ones from the SpriteCache.
+	 * @param sprite
+	 * @param degrees
+	 * @param width
+	 * @param x
+	 * @param y
+	 */
+	@Override
+	public void drawImage(final Sprite sprite, final double degrees, final int width, final double x, final double y) {
+		this.begin(IMAGE, sprite, 0, 4, 1);
+		this.number(x);
+		this.number(y);
+		this.number(degrees);
+		this.number(width);
+		this.ref(sprite);
+	}
+
+	/**
+	 * Fills a circle.
+	 * @param color
+	 * @param x - center
+	 * @param y - center
+	 * @param radius
+	 */
+	@Override
+	public void fillCircle(final Color color, final double x, final double y, final double radius) {
+		this.begin(CIRCLE, color, 0, 3, 1);
+		this.number(x);
+		this.number(y);
+		this.number(radius);
+		this.ref(color);
+	}
+
+	/**
+	 * Strokes a line.
+	 * @param color
+	 * @param width
+	 * @param x1
+	 * @param y1
+	 * @param x2
+	 * @param y2
+	 */
+	@Override
+	public void strokeLine(final Color color, final double width, final double x1, final double y1, final double x2, final double y2) {
+		this.begin(LINE, color, width, 5, 1);
+		this.number(width);
+		this.number(x1);
+		this.number(y1);
+		this.number(x2);
+		this.number(y2);
+		this.ref(color);
+	}
+
+	/**
+	 * Draws a text centered in (x, y). It's composed from the glyph images of the GlyphCache.
+	 * @param font
+	 * @param text - copied, not kept
+	 * @param fill
+	 * @param stroke - border color, null for no border
+	 * @param borderWidth
+	 * @param x
+	 * @param y
+	 */
+	@Override
+	public void drawText(final Font font, final CharSequence text, final Color fill, final Color stroke, final double borderWidth,
+			final double x, final double y) {
+		this.begin(TEXT, font, borderWidth, 5, 3);
+		this.number(borderWidth);
+		this.number(x);
+		this.number(y);
+		this.number(this.charCount);
+		this.number(text.length());
+		this.ref(font);
+		this.ref(fill);
+		this.ref(stroke);
+		if (this.charCount + text.length() > this.chars.length) {
+			this.chars = Arrays.copyOf(this.chars, (this.charCount + text.length()) * 2);
+			this.text = CharBuffer.wrap(this.chars);
+		}
+		for (int i = 0; i < text.length(); i++) {
+			this.chars[this.charCount++] = text.charAt(i);
+		}
+	}
+
+	/**
+	 * Gets the text of a command, as a view which is reused by the next call.
+	 * @param n - offset of the command in numbers
+	 */
+	private CharSequence textOf(final int n) {
+		final int offset = (int) this.numbers[n + 3];
+		this.text.limit(offset + (int) this.numbers[n + 4]).position(offset);
+		return this.text;
+	}
+
+	/**
+	 * Records the header of a command, making room for its payload.
+	 */
+	private void begin(final int opcode, final Object material, final double width, final int numbers, final int refs) {
+		if (this.count == this.keys.length) {
+			this.keys = Arrays.copyOf(this.keys, this.count * 2);
+			this.ops = Arrays.copyOf(this.ops, this.count * 2 * STRIDE);
+		}
+		if (this.numberCount + numbers > this.numbers.length) {
+			this.numbers = Arrays.copyOf(this.numbers, (this.numberCount + numbers) * 2);
+		}
+		if (this.refCount + refs > this.refs.length) {
+			this.refs = Arrays.copyOf(this.refs, (this.refCount + refs) * 2);
+		}
+		final int base = this.count * STRIDE;
+		this.ops[base] = opcode;
+		this.ops[base + 1] = this.numberCount;
+		this.ops[base + 2] = this.refCount;
+		this.keys[this.count] = ((long) this.layer << (MATERIAL_BITS + SEQUENCE_BITS))
+				| ((long) this.material(opcode, material, width) << SEQUENCE_BITS)
+				| this.count;
+		this.count++;
+	}
+
+	private void number(final double value) {
+		this.numbers[this.numberCount++] = value;
+	}
+
+	private void ref(final Object value) {
+		this.refs[this.refCount++] = value;
+	}
+
+	/**
+	 * Gets the id of a material, adding it if it's new in this frame. Frames have few materials, so a linear search is enough.
+	 */
+	private int material(final int opcode, final Object ref, final double width) {
+		for (int i = 0; i < this.materialCount; i++) {
+			if (this.materialOps[i] == opcode && this.materialRefs[i] == ref && this.materialWidths[i] == width) {
+				return i;
+			}
+		}
+		if (this.materialCount == this.materialOps.length) {
+			final int capacity = this.materialCount * 2;
+			this.materialOps = Arrays.copyOf(this.materialOps, capacity);
+			this.materialRefs = Arrays.copyOf(this.materialRefs, capacity);
+			this.materialWidths = Arrays.copyOf(this.materialWidths, capacity);
+		}
+		this.materialOps[this.materialCount] = opcode;
+		this.materialRefs[this.materialCount] = ref;
+		this.materialWidths[this.materialCount] = width;
+		return this.materialCount++;
+	}
+
+	/**
+	 * Sorts the commands and computes their bounds and signatures, once per frame.
+	 * Must be executed in the JavaFX thread.
+	 */
+	public void prepare() {
+		if (this.prepared) {
+			return;
+		}
+		//the sequence in the low bits keeps the sort stable
+		Arrays.sort(this.keys, 0, this.count);
+		if (this.bounds.length < this.count * 4) {
+			this.bounds = new double[this.keys.length * 4];
+			this.signatures = new long[this.keys.length];
+		}
+		for (int i = 0; i < this.count; i++) {
+			this.computeBounds(i);
+			this.signatures[i] = this.signature(i);
+		}
+		this.prepared = true;
+	}
+
+	/**
+	 * Gets the pixel bounds of every command, in capture order: minX, minY, maxX, maxY.
+	 * Valid after prepare().
+	 * @return bounds, 4 per command
+	 */
+	public double[] getBounds() {
+		return this.bounds;
+	}
+
+	/**
+	 * Gets a hash of what each command draws, in capture order: equal signatures draw the same pixels.
+	 * Valid after prepare().
+	 * @return signatures, 1 per command
+	 */
+	public long[] getSignatures() {
+		return this.signatures;
+	}
+
+	/**
+	 * Writes the bounds of command i, with a margin for antialiasing.
+	 */
+	private void computeBounds(final int i) {
+		final int base = i * STRIDE;
+		final int n = this.ops[base + 1];
+		final int r = this.ops[base + 2];
+		final double halfWidth;
+		final double halfHeight;
+		double x = this.numbers[n];
+		double y = this.numbers[n + 1];
+		switch (this.ops[base]) {
+			case IMAGE -> {
+				//box of the sprite rotated around its center
+				final Rectangle2D region = SpriteAtlas.get().getRegion((Sprite) this.refs[r]);
+				final double w = this.numbers[n + 3];
+				final double h = w * region.getHeight() / region.getWidth();
+				final double radians = Math.toRadians(this.numbers[n + 2]);
+				final double cos = Math.abs(Math.cos(radians));
+				final double sin = Math.abs(Math.sin(radians));
+				halfWidth = (w * cos + h * sin) / 2;
+				halfHeight = (w * sin + h * cos) / 2;
+			}
+			case CIRCLE -> {
+				halfWidth = this.numbers[n + 2];
+				halfHeight = halfWidth;
+			}
+			case LINE -> {
+				x = (this.numbers[n + 1] + this.numbers[n + 3]) / 2;
+				y = (this.numbers[n + 2] + this.numbers[n + 4]) / 2;
+				halfWidth = Math.abs(this.numbers[n + 3] - this.numbers[n + 1]) / 2 + this.numbers[n];
+				halfHeight = Math.abs(this.numbers[n + 4] - this.numbers[n + 2]) / 2 + this.numbers[n];
+			}
+			default -> {
+				//no glyph metrics here: every character is assumed as wide as the font size
+				final double fontSize = ((Font) this.refs[r]).getSize();
+				x = this.numbers[n + 1];
+				y = this.numbers[n + 2];
+				halfWidth = fontSize * this.numbers[n + 4] / 2 + this.numbers[n];
+				halfHeight = fontSize + this.numbers[n];
+			}
+		}
+		final int b = i * 4;
+		this.bounds[b] = x - halfWidth - 2;
+		this.bounds[b + 1] = y - halfHeight - 2;
+		this.bounds[b + 2] = x + halfWidth + 2;
+		this.bounds[b + 3] = y + halfHeight + 2;
+	}
+
+	/**
+	 * Hashes the opcode, the numbers and the references of command i.
+	 */
+	private long signature(final int i) {
+		final int base = i * STRIDE;
+		final int numbersEnd = i + 1 < this.count ? this.ops[base + STRIDE + 1] : this.numberCount;
+		final int refsEnd = i + 1 < this.count ? this.ops[base + STRIDE + 2] : this.refCount;
+		long hash = this.ops[base];
+		for (int n = this.ops[base + 1]; n < numbersEnd; n++) {
+			hash = hash * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(this.numbers[n]);
+		}
+		for (int r = this.ops[base + 2]; r < refsEnd; r++) {
+			hash = hash * 0x9E3779B97F4A7C15L + (this.refs[r] == null ? 0 : this.refs[r].hashCode());
+		}
+		if (this.ops[base] == TEXT) {
+			//the numbers only have where the text is
+			final int n = this.ops[base + 1];
+			for (int c = (int) this.numbers[n + 3]; c < this.numbers[n + 3] + this.numbers[n + 4]; c++) {
+				hash = hash * 0x9E3779B97F4A7C15L + this.chars[c];
+			}
+		}
+		return hash ^ (hash >>> 29);
+	}
+
+	/**
+	 * Paints every command, layer by layer, grouped by material. Must be executed in the JavaFX thread.
+	 * @param gc
+	 * @return number of state changes issued to gc
+	 */
+	public int paint(final GraphicsContext gc) {
+		return this.paint(gc, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Paints, layer by layer and grouped by material, the commands whose bounds intersect a rectangle.
+	 * Drawing outside it is not prevented: clip gc for that. Must be executed in the JavaFX thread.
+	 * @param gc
+	 * @param minX
+	 * @param minY
+	 * @param maxX
+	 * @param maxY
+	 * @return number of state changes issued to gc
+	 */
+	public int paint(final GraphicsContext gc, final double minX, final double minY, final double maxX, final double maxY) {
+		return this.paint(gc, 0, MAX_LAYER, minX, minY, maxX, maxY);
+	}
+
+	/**
+	 * Issues again into sink the commands of a range of layers, in painting order: layer by layer, grouped by material.
+	 * Used by backends which don't paint into a GraphicsContext. Must be executed in the JavaFX thread.
+	 * @param sink
+	 * @param fromLayer - first layer, included
+	 * @param toLayer - last layer, included
+	 */
+	public void replay(final DrawCommands sink, final int fromLayer, final int toLayer) {
+		this.prepare();
+		int layer = -1;
+		for (int i = this.firstOfLayer(fromLayer); i < this.count && layerOf(this.keys[i]) <= toLayer; i++) {
+			if (layerOf(this.keys[i]) != layer) {
+				layer = layerOf(this.keys[i]);
+				sink.setLayer(layer);
+			}
+			final int index = (int) (this.keys[i] & ((1 << SEQUENCE_BITS) - 1));
+			final int n = this.ops[index * STRIDE + 1];
+			final int r = this.ops[index * STRIDE + 2];
+			switch (this.ops[index * STRIDE]) {
+				case IMAGE -> sink.drawImage((Sprite) this.refs[r], this.numbers[n + 2], (int) this.numbers[n + 3],
+						this.numbers[n], this.numbers[n + 1]);
+				case CIRCLE -> sink.fillCircle((Color) this.refs[r], this.numbers[n], this.numbers[n + 1], this.numbers[n + 2]);
+				case LINE -> sink.strokeLine((Color) this.refs[r], this.numbers[n],
+						this.numbers[n + 1], this.numbers[n + 2], this.numbers[n + 3], this.numbers[n + 4]);
+				default -> sink.drawText((Font) this.refs[r], this.textOf(n), (Color) this.refs[r + 1],
+						(Color) this.refs[r + 2], this.numbers[n], this.numbers[n + 1], this.numbers[n + 2]);
+			}
+		}
+	}
+
+	/**
+	 * Gets a hash of everything drawn in a range of layers, in painting order. Two frames with the same
+	 * signature for a range paint the same pixels there. Must be executed in the JavaFX thread.
+	 * @param fromLayer - first layer, included
+	 * @param toLayer - last layer, included
+	 * @return the signature of the layers
+	 */
+	public long getLayerSignature(final int fromLayer, final int toLayer) {
+		this.prepare();
+		long hash = 1;
+		for (int i = this.firstOfLayer(fromLayer); i < this.count && layerOf(this.keys[i]) <= toLayer; i++) {
+			hash = hash * 0x9E3779B97F4A7C15L + this.signatures[(int) (this.keys[i] & ((1 << SEQUENCE_BITS) - 1))];
+		}
+		return hash;
+	}
+
+	/**
+	 * Gets the position, in the sorted keys, of the first command of layer or of the following ones.
+	 */
+	private int firstOfLayer(final int layer) {
+		int i = 0;
+		while (i < this.count && layerOf(this.keys[i]) < layer) {
+			i++;
+		}
+		return i;
+	}
+
+	private static int layerOf(final long key) {
+		return (int) (key >>> (MATERIAL_BITS + SEQUENCE_BITS));
+	}
+
+	/**
+	 * Paints, layer by layer and grouped by material, the commands of a range of layers whose bounds intersect a rectangle.
+	 * Drawing outside it is not prevented: clip gc for that. Must be executed in the JavaFX thread.
+	 * @param gc
+	 * @param fromLayer - first layer, included
+	 * @param toLayer - last layer, included
+	 * @param minX
+	 * @param minY
+	 * @param maxX
+	 * @param maxY
+	 * @return number of state changes issued to gc
+	 */
+	public int paint(final GraphicsContext gc, final int fromLayer, final int toLayer,
+			final double minX, final double minY, final double maxX, final double maxY) {
+		this.prepare();
+		Color fill = null;
+		Color stroke = null;
+		double lineWidth = -1;
+		int stateChanges = 0;
+		final SpriteAtlas atlas = SpriteAtlas.get();
+		for (int i = this.firstOfLayer(fromLayer); i < this.count && layerOf(this.keys[i]) <= toLayer; i++) {
+			final int index = (int) (this.keys[i] & ((1 << SEQUENCE_BITS) - 1));
+			if (this.bounds[index * 4] > maxX || this.bounds[index * 4 + 2] < minX
+					|| this.bounds[index * 4 + 1] > maxY || this.bounds[index * 4 + 3] < minY) {
+				continue;
+			}
+			final int base = index * STRIDE;
+			final int n = this.ops[base + 1];
+			final int r = this.ops[base + 2];
+			switch (this.ops[base]) {
+				case IMAGE -> {
+					final Sprite sprite = (Sprite) this.refs[r];
+					final double width = this.numbers[n + 3];
+					if (SpriteCache.quantize(this.numbers[n + 2]) == 0) {
+						//source rectangle of the atlas, scaled keeping the ratio
+						final Rectangle2D region = atlas.getRegion(sprite);
+						final double height = width * region.getHeight() / region.getWidth();
+						gc.drawImage(atlas.getImage(), region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight(),
+								this.numbers[n] - width / 2, this.numbers[n + 1] - height / 2, width, height);
+					} else {
+						final Image img = ImageRenderer.getCache().get(sprite, this.numbers[n + 2], (int) width);
+						gc.drawImage(img, this.numbers[n] - img.getWidth() / 2, this.numbers[n + 1] - img.getHeight() / 2,
+								img.getWidth(), img.getHeight());
+					}
+				}
+				case CIRCLE -> {
+					if (this.refs[r] != fill) {
+						fill = (Color) this.refs[r];
+						gc.setFill(fill);
+						stateChanges++;
+					}
+					final double radius = this.numbers[n + 2];
+					gc.fillOval(this.numbers[n] - radius, this.numbers[n + 1] - radius, radius * 2, radius * 2);
+				}
+				case LINE -> {
+					if (this.numbers[n] != lineWidth) {
+						lineWidth = this.numbers[n];
+						gc.setLineWidth(lineWidth);
+						stateChanges++;
+					}
+					if (this.refs[r] != stroke) {
+						stroke = (Color) this.refs[r];
+						gc.setStroke(stroke);
+						stateChanges++;
+					}
+					gc.strokeLine(this.numbers[n + 1], this.numbers[n + 2], this.numbers[n + 3], this.numbers[n + 4]);
+				}
+				default -> TextRenderer.getGlyphCache().draw(gc, this.textOf(n), (Font) this.refs[r],
+						(Color) this.refs[r + 1], (Color) this.refs[r + 2], this.numbers[n], this.numbers[n + 1], this.numbers[n + 2]);
+			}
+		}
+		return stateChanges;
+	}
+}
@@ -1,15 +1,43 @@
 package game.graphics;
 
-import javafx.scene.canvas.GraphicsContext;
-
 /**
  * Graphic component of the game object. Can draw images or lines, depending on implementation
  */
 public interface Renderer {
 	
 	/**
-	 * Draws on gc this rendering information.
-	 * @param gc - The GraphicsContext instance where to draw
+	 * Captures into frame this rendering information, converted to pixels with frame.toPixels. Called by the engine thread:
+	 * the frame is painted later by the JavaFX thread.
+	 * @param frame - The snapshot of the frame being built
+	 * @param alpha - interpolation factor between the previous (0) and the current (1) tick
+	 */
+	void capture(RenderSnapshot frame, double alpha);
+
+	/**
+	 * Writes into dest the world-space box this renderer draws into at alpha, as minX, minY, maxX, maxY.
+	 * It may be larger than the drawing, never smaller: objects whose box is out of the view aren't captured.
+	 * By default it's unbounded, so the object is always captured.
+	 * @param alpha - interpolation factor between the previous (0) and the current (1) tick
+	 * @param dest - array of at least 4 elements
+	 */
+	default void getBounds(final double alpha, final double[] dest) {
+		dest[0] = Double.NEGATIVE_INFINITY;
+		dest[1] = Double.NEGATIVE_INFINITY;
+		dest[2] = Double.POSITIVE_INFINITY;
+		dest[3] = Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Writes into dest the box of half size halfExtent centered in (x, y).
+	 * @param x
+	 * @param y
+	 * @param halfExtent
+	 * @param dest
 	 */
-	void paint(GraphicsContext gc);
+	static void centeredBounds(final double x, final double y, final double halfExtent, final double[] dest) {
+		dest[0] = x - halfExtent;
+		dest[1] = y - halfExtent;
+		dest[2] = x + halfExtent;
+		dest[3] = y + halfExtent;
+	}
 }
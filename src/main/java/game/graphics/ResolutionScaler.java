@@ -0,0 +1,80 @@
+package game.graphics;
+
+/**
+ * Chooses the internal render resolution from the measured frame times: when frames take longer than the budget
+ * the resolution is lowered, so there are fewer pixels to fill; when they are well within it, it's raised back.
+ * The time is averaged over several frames, and each change waits for a new average, so single slow frames
+ * don't make the resolution oscillate.
+ */
+public class ResolutionScaler {
+
+	/** Frames averaged before each decision. */
+	public static final int SAMPLES = 30;
+	/** Factor applied to the resolution at each step. */
+	public static final double STEP = 0.85;
+	private static final double SLOW = 1.2;		//fraction of the budget above which the resolution is lowered
+	private static final double FAST = 0.7;		//fraction of the budget below which it is raised
+
+	private final int maxResolution;
+	private final int minResolution;
+	private final double budget;
+	private int resolution;
+	private double total;		//0: sum of the frame times since the last decision
+	private int samples;		//0
+
+	/**
+	 * Creates a scaler starting at the highest resolution.
+	 * @param maxResolution - in pixels, usually the window size
+	 * @param minResolution - in pixels
+	 * @param budget - target time of a frame, in seconds
+	 */
+	public ResolutionScaler(final int maxResolution, final int minResolution, final double budget) {
+		this.maxResolution = maxResolution;
+		this.minResolution = Math.min(minResolution, maxResolution);
+		this.budget = budget;
+		this.resolution = maxResolution;
+	}
+
+	/**
+	 * Adds the time of a frame.
+	 * @param frameTime - in seconds
+	 * @return true if the resolution changed
+	 */
+	public boolean update(final double frameTime) {
+		this.total += frameTime;
+		this.samples++;
+		if (this.samples < SAMPLES) {
+			return false;
+		}
+		final double average = this.total / this.samples;
+		this.total = 0;
+		this.samples = 0;
+		final int old = this.resolution;
+		if (average > this.budget * SLOW) {
+			this.resolution = Math.max(this.minResolution, (int) (this.resolution * STEP));
+		} else if (average < this.budget * FAST) {
+			this.resolution = Math.min(this.maxResolution, (int) Math.ceil(this.resolution / STEP));
+		}
+		return this.resolution != old;
+	}
+
+	/**
+	 * Runs paint and adds the time it took as the time of a frame.
+	 * Only the time spent painting is measured: the time between pulses is paced by the screen, and never
+	 * falls below the budget.
+	 * @param paint - paints one frame
+	 * @return true if the resolution changed
+	 */
+	public boolean measure(final Runnable paint) {
+		final long start = System.nanoTime();
+		paint.run();
+		return this.update((System.nanoTime() - start) / 1e9);
+	}
+
+	/**
+	 * @return the current resolution, in pixels
+	 */
+	public int getResolution() {
+		return this.resolution;
+	}
+}
@@ -0,0 +1,198 @@
+package game.graphics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import game.graphics.ImageRenderer.Sprite;
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.VPos;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Retained-mode backend: displays frames with scene graph nodes instead of painting them on a canvas.
+ * Every layer has a pool of ImageView, Circle, Line and Text nodes; each frame only updates the properties
+ * of the nodes (position, rotation, color...) and hides the ones it doesn't use, so JavaFX can batch
+ * and accelerate the rendering. Nodes are never removed: a pool keeps the size of the largest frame.
+ * Within a layer, nodes are stacked in the order of the commands (by view order), like on the canvas.
+ * Must only be used by the JavaFX thread.
+ */
+public class SceneGraphPainter implements DrawCommands {
+
+	private static final int IMAGES = 0;
+	private static final int CIRCLES = 1;
+	private static final int LINES = 2;
+	private static final int TEXTS = 3;
+	private static final int KINDS = TEXTS + 1;
+
+	private final Group root = new Group();
+	private final Group[] layers;
+	private final Pool[][] pools;		//by layer and kind of node
+	private final int[] commands;		//replayed in each layer by the current frame
+	private int layer;		//0
+
+	/**
+	 * Nodes of one kind in one layer.
+	 */
+	private static final class Pool {
+		private final List<Node> nodes = new ArrayList<>();
+		private int used;		//by the current frame
+		private int visible;	//left visible by the previous frame
+	}
+
+	/**
+	 * Creates a painter with empty pools.
+	 * @param layers - number of layers displayed: commands of higher layers are shown on the last one
+	 */
+	public SceneGraphPainter(final int layers) {
+		this.layers = new Group[layers];
+		this.pools = new Pool[layers][KINDS];
+		this.commands = new int[layers];
+		for (int l = 0; l < layers; l++) {
+			this.layers[l] = new Group();
+			for (int k = 0; k < KINDS; k++) {
+				this.pools[l][k] = new Pool();
+			}
+			this.root.getChildren().add(this.layers[l]);
+		}
+	}
+
+	/**
+	 * @return the node to add to the scene
+	 */
+	public Group getRoot() {
+		return this.root;
+	}
+
+	/**
+	 * Displays frame, reusing the nodes of the previous one.
+	 * @param frame
+	 */
+	public void paint(final RenderSnapshot frame) {
+		for (final Pool[] layerPools : this.pools) {
+			for (final Pool pool : layerPools) {
+				pool.used = 0;
+			}
+		}
+		Arrays.fill(this.commands, 0);
+		this.layer = 0;
+		frame.replay(this, 0, this.pools.length - 1);
+		for (final Pool[] layerPools : this.pools) {
+			for (final Pool pool : layerPools) {
+				for (int i = pool.used; i < pool.visible; i++) {
+					pool.nodes.get(i).setVisible(false);
+				}
+				pool.visible = pool.used;
+			}
+		}
+	}
+
+	/**
+	 * @return number of nodes created, visible or not
+	 */
+	public int getNodeCount() {
+		int total = 0;
+		for (final Pool[] layerPools : this.pools) {
+			for (final Pool pool : layerPools) {
+				total += pool.nodes.size();
+			}
+		}
+		return total;
+	}
+
+	@Override
+	public void setLayer(final int layer) {
+		this.layer = Math.min(layer, this.pools.length - 1);
+	}
+
+	@Override
+	public void drawImage(final Sprite sprite, final double degrees, final int width, final double x, final double y) {
+		final ImageView view = (ImageView) this.next(IMAGES);
+		final Rectangle2D region = SpriteAtlas.get().getRegion(sprite);
+		final double height = width * region.getHeight() / region.getWidth();
+		view.setViewport(region);
+		view.setFitWidth(width);
+		view.setFitHeight(height);
+		view.setX(x - width / 2.0);
+		view.setY(y - height / 2);
+		view.setRotate(degrees);
+	}
+
+	@Override
+	public void fillCircle(final Color color, final double x, final double y, final double radius) {
+		final Circle circle = (Circle) this.next(CIRCLES);
+		circle.setFill(color);
+		circle.setCenterX(x);
+		circle.setCenterY(y);
+		circle.setRadius(radius);
+	}
+
+	@Override
+	public void strokeLine(final Color color, final double width, final double x1, final double y1, final double x2, final double y2) {
+		final Line line = (Line) this.next(LINES);
+		line.setStroke(color);
+		line.setStrokeWidth(width);
+		line.setStartX(x1);
+		line.setStartY(y1);
+		line.setEndX(x2);
+		line.setEndY(y2);
+	}
+
+	@Override
+	public void drawText(final Font font, final CharSequence text, final Color fill, final Color stroke, final double borderWidth,
+			final double x, final double y) {
+		final Text node = (Text) this.next(TEXTS);
+		node.setFont(font);
+		if (!node.getText().contentEquals(text)) {
+			node.setText(text.toString());
+		}
+		node.setFill(fill);
+		node.setStroke(stroke);
+		node.setStrokeWidth(borderWidth);
+		node.setX(x - node.getLayoutBounds().getWidth() / 2);
+		node.setY(y);
+	}
+
+	/**
+	 * Gets the next free node of a kind in the current layer, creating it if the pool is exhausted,
+	 * and stacks it above the nodes of the previous commands.
+	 */
+	private Node next(final int kind) {
+		final Pool pool = this.pools[this.layer][kind];
+		final int index = pool.used++;
+		if (index == pool.nodes.size()) {
+			final Node node = create(kind);
+			pool.nodes.add(node);
+			this.layers[this.layer].getChildren().add(node);
+		}
+		final Node node = pool.nodes.get(index);
+		node.setVisible(true);
+		//lower view orders are drawn last
+		node.setViewOrder(-this.commands[this.layer]++);
+		return node;
+	}
+
+	private static Node create(final int kind) {
+		return switch (kind) {
+			case IMAGES -> {
+				final ImageView view = new ImageView(SpriteAtlas.get().getImage());
+				view.setSmooth(true);
+				yield view;
+			}
+			case CIRCLES -> new Circle();
+			case LINES -> new Line();
+			default -> {
+				final Text text = new Text();
+				text.setTextOrigin(VPos.CENTER);
+				yield text;
+			}
+		};
+	}
+}
@@ -0,0 +1,123 @@
+package game.graphics;
+
+import java.util.Arrays;
+
+import game.graphics.ImageRenderer.Sprite;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+/**
+ * All the sprites packed into one texture, so that drawing them never switches image.
+ * Sprites are drawn through their source rectangle (region) in the atlas.
+ * The atlas is packed once, the first time it's needed, and then shared.
+ */
+public final class SpriteAtlas {
+
+	/** Width of the atlas texture, in pixels. */
+	public static final int WIDTH = 1024;
+	/** Empty pixels around each sprite, so that smooth scaling doesn't bleed the neighbours in. */
+	public static final int PADDING = 2;
+
+	private static volatile SpriteAtlas shared;	//null until packed
+
+	private final Image image;
+	private final Rectangle2D[] regions = new Rectangle2D[Sprite.values().length];
+
+	private SpriteAtlas() {
+		final Sprite[] sprites = Sprite.values();
+		final int[] widths = new int[sprites.length];
+		final int[] heights = new int[sprites.length];
+		for (final Sprite s : sprites) {
+			widths[s.ordinal()] = (int) s.getImage().getWidth();
+			heights[s.ordinal()] = (int) s.getImage().getHeight();
+		}
+		final int[] xs = new int[sprites.length];
+		final int[] ys = new int[sprites.length];
+		final int height = pack(widths, heights, WIDTH, PADDING, xs, ys);
+
+		final WritableImage atlas = new WritableImage(WIDTH, height);
+		for (final Sprite s : sprites) {
+			final int i = s.ordinal();
+			final PixelReader reader = s.getImage().getPixelReader();
+			atlas.getPixelWriter().setPixels(xs[i], ys[i], widths[i], heights[i], reader, 0, 0);
+			this.regions[i] = new Rectangle2D(xs[i], ys[i], widths[i], heights[i]);
+			s.unload();		//the atlas is the only copy kept
+		}
+		this.image = atlas;
+	}
+
+	/**
+	 * Gets the shared atlas, packing it on the first call. Needs the JavaFX toolkit.
+	 * If packing fails, the exception is thrown and the next call tries again.
+	 * @return the atlas
+	 */
+	public static SpriteAtlas get() {
+		SpriteAtlas atlas = shared;
+		if (atlas == null) {
+			synchronized (SpriteAtlas.class) {
+				atlas = shared;
+				if (atlas == null) {
+					atlas = new SpriteAtlas();
+					shared = atlas;
+				}
+			}
+		}
+		return atlas;
+	}
+
+	/**
+	 * @return the texture containing every sprite
+	 */
+	public Image getImage() {
+		return this.image;
+	}
+
+	/**
+	 * Gets where sprite is in the atlas.
+	 * @param sprite
+	 * @return source rectangle, in pixels
+	 */
+	public Rectangle2D getRegion(final Sprite sprite) {
+		return this.regions[sprite.ordinal()];
+	}
+
+	/**
+	 * Packs rectangles in rows (shelves), tallest first, without exceeding maxWidth.
+	 * @param widths - of each rectangle, not larger than maxWidth - 2 * padding
+	 * @param heights - of each rectangle
+	 * @param maxWidth - width of the atlas
+	 * @param padding - empty space around each rectangle
+	 * @param xs - where the x of each rectangle is written
+	 * @param ys - where the y of each rectangle is written
+	 * @return height of the atlas
+	 */
+	public static int pack(final int[] widths, final int[] heights, final int maxWidth, final int padding,
+			final int[] xs, final int[] ys) {
+		final Integer[] order = new Integer[widths.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(heights[b], heights[a]));
+		int x = 0;
+		int y = 0;
+		int shelfHeight = 0;
+		for (final int i : order) {
+			if (widths[i] + 2 * padding > maxWidth) {
+				throw new IllegalArgumentException("Rectangle " + i + " is wider than the atlas");
+			}
+			if (x + widths[i] + 2 * padding > maxWidth) {
+				//new shelf
+				y += shelfHeight;
+				x = 0;
+				shelfHeight = 0;
+			}
+			xs[i] = x + padding;
+			ys[i] = y + padding;
+			x += widths[i] + 2 * padding;
+			shelfHeight = Math.max(shelfHeight, heights[i] + 2 * padding);
+		}
+		return y + shelfHeight;
+	}
+}
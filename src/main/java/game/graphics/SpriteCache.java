@@ -0,0 +1,274 @@
+package game.graphics;
+
+import java.util.Arrays;
+
+import game.graphics.ImageRenderer.Sprite;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+
+/**
+ * Bounded cache of rotated and scaled sprites, evicting the least recently used one when full.
+ * Angles are quantized to ANGLE_STEP degrees, so that spinning objects reuse a small set of images.
+ * Unrotated sprites don't need it: they are drawn straight from the SpriteAtlas.
+ * Images are found through one table per width, indexed by sprite and angle, so lookups don't allocate.
+ * Must only be used by the JavaFX thread.
+ */
+public class SpriteCache {
+
+	/** Angles are rounded to multiples of this, in degrees. */
+	public static final double ANGLE_STEP = 3;
+	private static final int ANGLES = (int) (360 / ANGLE_STEP);
+	private static final int KEYS = Sprite.values().length * ANGLES;
+	private static final int NONE = -1;
+
+	/**
+	 * Builds the image of a sprite rotated by degrees and scaled to width pixels.
+	 */
+	@FunctionalInterface
+	public interface Rotator {
+		Image rotate(Sprite sprite, double degrees, int width);
+	}
+
+	private final Rotator rotator;
+	private final Image[] images;
+	private final int[] entryWidths;	//table of each entry, to forget it when it's evicted
+	private final int[] entryKeys;
+	private final int[] older;			//least recently used list, from newest to oldest
+	private final int[] newer;
+	private int newest = NONE;
+	private int oldest = NONE;
+	private int size;		//0: entries used so far
+	private int evicted;	//0: entries of evicted widths, reused first
+	private int[] widths = new int[4];
+	private int[][] tables = new int[4][];	//per width: entry + 1 of each sprite and angle, 0 if not cached
+	private int widthCount;	//0
+	private long hits;		//0
+	private long misses;	//0
+
+	/**
+	 * Creates an empty cache.
+	 * @param capacity - maximum number of images kept
+	 */
+	public SpriteCache(final int capacity) {
+		this(capacity, SpriteCache::rotate);
+	}
+
+	/**
+	 * Creates an empty cache which builds images with rotator.
+	 * @param capacity - maximum number of images kept
+	 * @param rotator
+	 */
+	public SpriteCache(final int capacity, final Rotator rotator) {
+		this.rotator = rotator;
+		this.images = new Image[capacity];
+		this.entryWidths = new int[capacity];
+		this.entryKeys = new int[capacity];
+		this.older = new int[capacity];
+		this.newer = new int[capacity];
+	}
+
+	/**
+	 * Gets sprite rotated by degrees and scaled to width, building it on a miss.
+	 * @param sprite
+	 * @param degrees - rounded to ANGLE_STEP
+	 * @param width - in pixels
+	 * @return the rotated image
+	 */
+	public Image get(final Sprite sprite, final double degrees, final int width) {
+		final int angle = quantize(degrees);
+		final int[] table = this.table(width);
+		final int key = sprite.ordinal() * ANGLES + angle;
+		int entry = table[key] - 1;
+		if (entry == NONE) {
+			this.misses++;
+			entry = this.store(table, width, key, this.rotator.rotate(sprite, angle * ANGLE_STEP, width));
+		} else {
+			this.hits++;
+			this.unlink(entry);
+			this.link(entry);
+		}
+		return this.images[entry];
+	}
+
+	/**
+	 * Builds sprite at every quantized angle, so that it's never missed while playing.
+	 * @param sprite
+	 * @param width - in pixels
+	 */
+	public void warmUp(final Sprite sprite, final int width) {
+		final int[] table = this.table(width);
+		for (int angle = 0; angle < ANGLES; angle++) {
+			final int key = sprite.ordinal() * ANGLES + angle;
+			if (table[key] == 0) {
+				this.store(table, width, key, this.rotator.rotate(sprite, angle * ANGLE_STEP, width));
+			}
+		}
+	}
+
+	/**
+	 * Forgets every image of width, e.g. when the resolution changes and it won't be drawn anymore.
+	 * Their entries are reused before any other.
+	 * @param width - in pixels
+	 */
+	public void evict(final int width) {
+		int index = 0;
+		while (index < this.widthCount && this.widths[index] != width) {
+			index++;
+		}
+		if (index == this.widthCount) {
+			return;
+		}
+		final int[] table = this.tables[index];
+		for (final int slot : table) {
+			if (slot != 0) {
+				final int entry = slot - 1;
+				this.images[entry] = null;
+				this.entryWidths[entry] = NONE;
+				this.unlink(entry);
+				this.linkOldest(entry);
+				this.evicted++;
+			}
+		}
+		//the last table takes its place
+		this.widthCount--;
+		this.widths[index] = this.widths[this.widthCount];
+		this.tables[index] = this.tables[this.widthCount];
+		this.tables[this.widthCount] = null;
+	}
+
+	/**
+	 * @return number of lookups which found the image
+	 */
+	public long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * @return number of lookups which had to build the image
+	 */
+	public long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * @return number of images kept
+	 */
+	public int size() {
+		return this.size - this.evicted;
+	}
+
+	@Override
+	public String toString() {
+		return "sprites: " + this.size() + " cached, " + this.hits + " hits, " + this.misses + " misses";
+	}
+
+	/**
+	 * Gets the index of the closest quantized angle, between 0 and ANGLES - 1.
+	 * @param degrees - any angle
+	 * @return quantized angle index
+	 */
+	public static int quantize(final double degrees) {
+		final int angle = (int) Math.round(degrees / ANGLE_STEP) % ANGLES;
+		return angle < 0 ? angle + ANGLES : angle;
+	}
+
+	/**
+	 * Finds the table of width, adding it the first time. Few widths are used at once, so a linear search is enough.
+	 */
+	private int[] table(final int width) {
+		for (int i = 0; i < this.widthCount; i++) {
+			if (this.widths[i] == width) {
+				return this.tables[i];
+			}
+		}
+		if (this.widthCount == this.widths.length) {
+			this.widths = Arrays.copyOf(this.widths, this.widthCount * 2);
+			this.tables = Arrays.copyOf(this.tables, this.widthCount * 2);
+		}
+		this.widths[this.widthCount] = width;
+		return this.tables[this.widthCount++] = new int[KEYS];
+	}
+
+	/**
+	 * Stores img as the newest entry, evicting the oldest one when full.
+	 * @return the entry of img
+	 */
+	private int store(final int[] table, final int width, final int key, final Image img) {
+		final int entry;
+		if (this.evicted == 0 && this.size < this.images.length) {
+			entry = this.size++;
+		} else {
+			entry = this.oldest;
+			this.unlink(entry);
+			if (this.entryWidths[entry] == NONE) {
+				this.evicted--;
+			} else {
+				this.table(this.entryWidths[entry])[this.entryKeys[entry]] = 0;
+			}
+		}
+		this.images[entry] = img;
+		this.entryWidths[entry] = width;
+		this.entryKeys[entry] = key;
+		table[key] = entry + 1;
+		this.link(entry);
+		return entry;
+	}
+
+	private void link(final int entry) {
+		this.older[entry] = this.newest;
+		this.newer[entry] = NONE;
+		if (this.newest != NONE) {
+			this.newer[this.newest] = entry;
+		} else {
+			this.oldest = entry;
+		}
+		this.newest = entry;
+	}
+
+	private void linkOldest(final int entry) {
+		this.newer[entry] = this.oldest;
+		this.older[entry] = NONE;
+		if (this.oldest != NONE) {
+			this.older[this.oldest] = entry;
+		} else {
+			this.newest = entry;
+		}
+		this.oldest = entry;
+	}
+
+	private void unlink(final int entry) {
+		if (this.older[entry] != NONE) {
+			this.newer[this.older[entry]] = this.newer[entry];
+		} else {
+			this.oldest = this.newer[entry];
+		}
+		if (this.newer[entry] != NONE) {
+			this.older[this.newer[entry]] = this.older[entry];
+		} else {
+			this.newest = this.older[entry];
+		}
+	}
+
+	/**
+	 * Rotates sprite by degrees angle and scales it to fit in a box of size width.
+	 * @param sprite
+	 * @param degrees
+	 * @param width - in pixels!
+	 * @return the rotated image
+	 */
+	private static Image rotate(final Sprite sprite, final double degrees, final int width) {
+		final SpriteAtlas atlas = SpriteAtlas.get();
+		final ImageView iv = new ImageView(atlas.getImage());
+		iv.setViewport(atlas.getRegion(sprite));
+		iv.setFitWidth(width);
+		iv.setPreserveRatio(true);
+		iv.setSmooth(true);
+		iv.setCache(true);
+		iv.setRotate(degrees);
+		final SnapshotParameters param = new SnapshotParameters();
+		param.setFill(Color.TRANSPARENT);
+		return iv.snapshot(param, null);
+	}
+}
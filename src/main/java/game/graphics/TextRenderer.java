@@ -1,8 +1,6 @@
 package game.graphics;
 
-import game.engine.GameApplication;
 import game.model.AbstractGameObject;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
@@ -12,9 +10,12 @@ import javafx.scene.text.Font;
 public class TextRenderer implements Renderer {
 
 	private static final String DEFAULT_FONT_NAME = "Impact";
+	/** Glyph images shared by every text, used by the JavaFX thread. */
+	private static final GlyphCache GLYPHS = new GlyphCache(16);
 	
-	private Font font;
-	private String text;
+	private Font font;			//created at the first capture, and again when the resolution changes
+	private final double size;
+	private final StringBuilder text = new StringBuilder();	//written in place, read by capture
 	private double borderSize;
 	private Color fillColor;
 	private Color strokeColor;
@@ -35,8 +36,8 @@ public class TextRenderer implements Renderer {
 		this.setText(text);
 		this.setFillColor(fillColor);
 		this.setBorderColor(borderColor);
-		this.font = new Font(DEFAULT_FONT_NAME, GameApplication.convertToInt(size));
-		this.borderSize = GameApplication.convertToInt(borderSize);
+		this.size = size;
+		this.borderSize = borderSize;
 		this.onlyFill = borderColor.equals(Color.TRANSPARENT);
 	}
 	
@@ -52,31 +53,46 @@ public class TextRenderer implements Renderer {
 	}
 	
 	/**
-	 * Paints text on screen.
+	 * Captures text.
 	 */
 	@Override
-	public void paint(final GraphicsContext gc) {
-		gc.setFont(this.font);
-		gc.setFill(this.fillColor);
-		gc.fillText(this.text,
-				GameApplication.convertToInt(this.parent.getPosition().getX()),
-				GameApplication.convertToInt(this.parent.getPosition().getY()));
-		if (onlyFill) {
-			return;
+	public void capture(final RenderSnapshot frame, final double alpha) {
+		final int fontSize = frame.toPixels(this.size);
+		if (this.font == null || this.font.getSize() != fontSize) {
+			this.font = new Font(DEFAULT_FONT_NAME, fontSize);
 		}
-		gc.setLineWidth(this.borderSize);
-		gc.setStroke(this.strokeColor);
-		gc.strokeText(this.text,
-				GameApplication.convertToInt(this.parent.getPosition().getX()),
-				GameApplication.convertToInt(this.parent.getPosition().getY()));
+		frame.drawText(this.font, this.text, this.fillColor, this.onlyFill ? null : this.strokeColor,
+				frame.toPixels(this.borderSize),
+				frame.toPixels(this.parent.getRenderX(alpha)),
+				frame.toPixels(this.parent.getRenderY(alpha)));
+	}
+	
+	/**
+	 * Gets the cache of pre-rendered glyphs texts are composed from.
+	 * Must be used in the JavaFX thread.
+	 * @return the glyph cache
+	 */
+	public static GlyphCache getGlyphCache() {
+		return GLYPHS;
 	}
 	
 	/**
 	 * Sets the text.
-	 * @param txt
+	 * @param txt - copied, not kept
+	 */
+	public void setText(final CharSequence txt) {
+		this.text.setLength(0);
+		this.text.append(txt);
+	}
+
+	/**
+	 * Sets the text to prefix followed by number, without building a String.
+	 * @param prefix
+	 * @param number
 	 */
-	public void setText(final String txt) {
-		this.text = txt;
+	public void setText(final String prefix, final int number) {
+		this.text.setLength(0);
+		this.text.append(prefix).append(number);
 	}
 	
 	/**
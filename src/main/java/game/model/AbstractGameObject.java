@@ -1,6 +1,7 @@
 package game.model;
 
 import game.collider.Collider;
+import game.engine.EntityBucket;
 import game.engine.GameEngine;
 import game.graphics.Renderer;
 import game.util.Point2D;
@@ -49,10 +50,16 @@ public abstract class AbstractGameObject {
     }
 
     private Point2D position;
+    private final Point2D previousPosition;
     private final ObjectType type;
     private Collider collider;
     private Renderer renderer;
     private final GameEngine gameEngine;
+    private EntityBucket bucket;	//null when not in the EntityStore
+    private int slot = -1;
+    private long handle;	//EntityStore.NO_HANDLE
+    private int version;	//0: changes every time the object moves, added to the version of its bucket
+    private int gridIndex = -1;
 
     /**
      * Creates a new game object in position <position>.
@@ -62,6 +69,7 @@ public abstract class AbstractGameObject {
      */
     public AbstractGameObject(final Point2D position, final ObjectType type, final GameEngine gameEngine) {
         this.position = position;
+        this.previousPosition = Point2D.copyOf(position);
         this.type = type;
         this.gameEngine = gameEngine;
     }
@@ -69,23 +77,244 @@ public abstract class AbstractGameObject {
     /**
      * This method is called by the Game Engine every frame to update the state of
      * this game object. Must be implemented in subclasses.
+     * Types with a batch kernel are updated by the kernel instead, through their EntityBucket.
      */
     public abstract void update();
 
+    /**
+     * Checks whether this object is only a warning of an attack which isn't active yet.
+     * Warnings are drawn on their own layer, which rarely changes.
+     * @return true if this object is a warning
+     */
+    public boolean isTelegraph() {
+        return false;
+    }
+
+    /**
+     * Copies the state updated every tick into its slot of the EntityStore, when this object is instantiated.
+     * The position is already copied; types with a batch kernel override this for the rest.
+     * @param bucket
+     * @param slot
+     */
+    public void storeState(final EntityBucket bucket, final int slot) {
+        //nothing else to store
+    }
+
+    /**
+     * Records where this object is stored. Managed by EntityBucket.
+     * While it's stored, its position lives in the bucket: it's copied back when the object is removed.
+     * @param bucket - null when removed
+     * @param slot - -1 when removed
+     */
+    public void attach(final EntityBucket bucket, final int slot) {
+        if (bucket != this.bucket) {
+            final int current = this.getVersion();
+            if (this.bucket != null) {
+                this.position.set(this.getX(), this.getY());
+                this.previousPosition.set(this.getPreviousX(), this.getPreviousY());
+            }
+            //keeps the version growing, whichever bucket it's added to
+            this.version = current + 1 - (bucket != null ? bucket.getVersion() : 0);
+        }
+        this.bucket = bucket;
+        this.slot = slot;
+    }
+
+    /**
+     * Records the handle of this object in the EntityStore. Managed by EntityStore.
+     * @param handle - EntityStore.NO_HANDLE when removed
+     */
+    public void setHandle(final long handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Records the index of this object in its cell of the SpatialGrid. Managed by SpatialGrid.
+     * @param gridIndex - -1 when removed
+     */
+    public void setGridIndex(final int gridIndex) {
+        this.gridIndex = gridIndex;
+    }
+
+    /**
+     * Gets the index of this object in its cell of the SpatialGrid, which changes when other objects are removed.
+     * @return index, -1 if this object is not in the grid
+     */
+    public int getGridIndex() {
+        return this.gridIndex;
+    }
+
+    /**
+     * Gets the generational handle of this object in the EntityStore: it stops being valid once this object
+     * is removed, even if the object is pooled and instantiated again.
+     * @return handle, EntityStore.NO_HANDLE if this object is not in the game
+     */
+    public long getHandle() {
+        return this.handle;
+    }
+
+    /**
+     * Gets the bucket storing the state of this object.
+     * @return bucket, null if this object is not in the game
+     */
+    public EntityBucket getBucket() {
+        return this.bucket;
+    }
+
+    /**
+     * Gets the index of this object in its bucket, which changes when other objects are removed.
+     * @return slot, -1 if this object is not in the game
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
     /**
      * Gets the Point2D object representing the spatial coordinates of this game object.
+     * Move the object with moveTo, translate or placeAt instead of modifying it, so that the bounds
+     * of its collider are updated. While the object is in the EntityStore the point is refreshed from its bucket
+     * by this call: prefer getX and getY, which don't copy.
      * @return position
      */
     public Point2D getPosition() {
+        if (this.bucket != null) {
+            this.position.set(this.getX(), this.getY());
+        }
         return this.position;
     }
 
+    /**
+     * Gets the position of this game object before the last tick.
+     * Refreshed from the bucket like getPosition.
+     * @return previous position
+     */
+    public Point2D getPreviousPosition() {
+        if (this.bucket != null) {
+            this.previousPosition.set(this.getPreviousX(), this.getPreviousY());
+        }
+        return this.previousPosition;
+    }
+
+    /**
+     * Gets the x coordinate of this game object, read from its bucket while it's in the EntityStore.
+     * @return x coordinate
+     */
+    public double getX() {
+        return this.bucket != null ? this.bucket.getX()[this.slot] : this.position.getX();
+    }
+
+    /**
+     * Gets the y coordinate of this game object, read from its bucket while it's in the EntityStore.
+     * @return y coordinate
+     */
+    public double getY() {
+        return this.bucket != null ? this.bucket.getY()[this.slot] : this.position.getY();
+    }
+
+    /**
+     * Gets the x coordinate of this game object before the last tick.
+     * @return previous x coordinate
+     */
+    public double getPreviousX() {
+        return this.bucket != null ? this.bucket.getPreviousX()[this.slot] : this.previousPosition.getX();
+    }
+
+    /**
+     * Gets the y coordinate of this game object before the last tick.
+     * @return previous y coordinate
+     */
+    public double getPreviousY() {
+        return this.bucket != null ? this.bucket.getPreviousY()[this.slot] : this.previousPosition.getY();
+    }
+
+    /**
+     * Stores the current position as the position before the next tick.
+     * Called by the GameEngine before every update; the EntityStore does it for a whole bucket at once.
+     */
+    public void savePreviousPosition() {
+        if (this.bucket != null) {
+            this.bucket.getPreviousX()[this.slot] = this.getX();
+            this.bucket.getPreviousY()[this.slot] = this.getY();
+        } else {
+            this.previousPosition.set(this.position);
+        }
+    }
+
+    /**
+     * Moves this game object to (x, y), keeping its current position as the previous one.
+     * Batch kernels write into their bucket instead.
+     * @param x
+     * @param y
+     */
+    public void moveTo(final double x, final double y) {
+        this.savePreviousPosition();
+        this.setCoordinates(x, y);
+    }
+
+    /**
+     * Moves this game object by delta.
+     * @param delta - not kept
+     */
+    public void translate(final Point2D delta) {
+        this.setCoordinates(this.getX() + delta.getX(), this.getY() + delta.getY());
+    }
+
+    private void setCoordinates(final double x, final double y) {
+        if (this.bucket != null) {
+            this.bucket.getX()[this.slot] = x;
+            this.bucket.getY()[this.slot] = y;
+        } else {
+            this.position.set(x, y);
+        }
+        this.version++;
+    }
+
+    /**
+     * Gets the version of the position, which changes every time this object moves.
+     * Used to cache what depends on the position, like the bounds of colliders.
+     * @return version
+     */
+    public int getVersion() {
+        return this.bucket != null ? this.version + this.bucket.getVersion() : this.version;
+    }
+
+    /**
+     * Gets the x coordinate interpolated between the previous and the current tick.
+     * @param alpha - 0 is the previous tick, 1 the current one
+     * @return interpolated x coordinate
+     */
+    public double getRenderX(final double alpha) {
+        final double previous = this.getPreviousX();
+        return previous + (this.getX() - previous) * alpha;
+    }
+
+    /**
+     * Gets the y coordinate interpolated between the previous and the current tick.
+     * @param alpha - 0 is the previous tick, 1 the current one
+     * @return interpolated y coordinate
+     */
+    public double getRenderY(final double alpha) {
+        final double previous = this.getPreviousY();
+        return previous + (this.getY() - previous) * alpha;
+    }
+
+    /**
+     * Moves this game object to newPosition without interpolating from the old one.
+     * Used when a pooled object is reused.
+     * @param newPosition - copied, not kept
+     */
+    public void placeAt(final Point2D newPosition) {
+        this.setCoordinates(newPosition.getX(), newPosition.getY());
+        this.savePreviousPosition();
+    }
+
     /**
      * Set the position of this game object to newPosition.
      * @param newPosition
      */
     public void setPosition(final Point2D newPosition) {
         this.position = newPosition;
+        this.setCoordinates(newPosition.getX(), newPosition.getY());
     }
 
     /**
@@ -1,5 +1,6 @@
 package game.model;
 
+import game.engine.EntityBucket;
 import game.engine.GameEngine;
 import game.graphics.*;
 import game.collider.*;
@@ -7,47 +8,82 @@ import game.util.Point2D;
 
 /**
  * This class models a thornball.
+ * Thornballs are pooled: they are created once and reused with reset().
  */
 public class EnemyBallObj extends AbstractGameObject {
 	
-	private double rotation;	//0
+	/** Width of a thornball, in world units. */
+	public static final double SIZE = 0.1;
+	private static final double RADIUS = 0.05;
+	private static final double GRAVITY = 0.0004;
+
 	private final double speed = 0.015;
-	private final double gravity = 0.0004;
-	private final Point2D velocity;
+	private final Point2D velocity = new Point2D(0, 0);	//initial velocity, copied into the EntityStore
 	
 	/**
-	 * Class constructor.
-	 * @param position
-	 * @param type
+	 * Creates a thornball, which must be reset before use.
 	 * @param ge
 	 */
-	public EnemyBallObj(final Point2D position, final ObjectType type, final GameEngine ge) {
-		super(position, type, ge);
-		this.setRenderer((Renderer) new ImageRenderer(this, ImageRenderer.Sprite.THORNBALL, 0.1, 0));
-		this.setCollider((Collider) new CircleCollider(this, 0.05, Point2D.of(0, 0)));
+	public EnemyBallObj(final GameEngine ge) {
+		super(new Point2D(0, 0), ObjectType.THORNBALL, ge);
+		this.setRenderer((Renderer) new ImageRenderer(this, ImageRenderer.Sprite.THORNBALL, SIZE, 0));
+		this.setCollider((Collider) new CircleCollider(this, RADIUS, Point2D.of(0, 0)));
+	}
+
+	/**
+	 * Throws this thornball from position towards the player.
+	 * @param position
+	 */
+	public void reset(final Point2D position) {
+		this.placeAt(position);
+		((ImageRenderer) this.getRenderer()).setRotation(0);
 
 		//velocity calculation
-		this.velocity = Point2D.of(ge.getPlayerPosition().getX() > position.getX() ? 1 : -1, -0.7);
+		this.velocity.set(this.getGameEngine().getPlayerPosition().getX() > position.getX() ? 1 : -1, -0.7);
 		this.velocity.normalize();
 		this.velocity.mul(this.speed);
 	}
 
+	@Override
+	public void storeState(final EntityBucket bucket, final int slot) {
+		bucket.getVelocityX()[slot] = this.velocity.getX();
+		bucket.getVelocityY()[slot] = this.velocity.getY();
+		bucket.getRadii()[slot] = RADIUS;
+	}
+
 	/**
 	 * Updates thornball speed and position.
 	 */
 	@Override
 	public void update() {
-		this.rotation += 3;
-		((ImageRenderer) this.getRenderer()).setRotation(this.rotation);
-		this.getPosition().add(this.velocity);
-		this.velocity.setY(this.velocity.getY() + this.gravity);
-		if (this.getPosition().getX() >= 1.5 
-		        || this.getPosition().getY() >= 1.5 
-		        || this.getPosition().getX() <= -0.5 
-		        || this.getPosition().getY() <= -0.5) {
-			this.destroy();
+		update(this.getBucket(), this.getSlot());
+		this.getBucket().moved();
+	}
+
+	/**
+	 * Batch kernel: updates the speed, position and rotation of every thornball in bucket.
+	 * They are only written into the bucket, where colliders and renderers read them.
+	 * @param bucket
+	 */
+	public static void updateAll(final EntityBucket bucket) {
+		for (int i = 0; i < bucket.size(); i++) {
+			update(bucket, i);
 		}
+		bucket.moved();
+	}
 
+	private static void update(final EntityBucket bucket, final int i) {
+		final double[] x = bucket.getX();
+		final double[] y = bucket.getY();
+		final double[] vy = bucket.getVelocityY();
+		final double[] angle = bucket.getAngles();
+		angle[i] += 3;
+		x[i] += bucket.getVelocityX()[i];
+		y[i] += vy[i];
+		vy[i] += GRAVITY;
+		if (x[i] >= 1.5 || y[i] >= 1.5 || x[i] <= -0.5 || y[i] <= -0.5) {
+			bucket.getObject(i).destroy();
+		}
 	}
 
 }
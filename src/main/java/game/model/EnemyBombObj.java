@@ -1,5 +1,6 @@
 package game.model;
 
+import game.engine.EntityBucket;
 import game.engine.GameEngine;
 import game.graphics.*;
 import game.collider.*;
@@ -8,34 +9,84 @@ import javafx.scene.paint.Color;
 
 /**
  * This class models an explosion.
+ * Explosions are pooled: they are created once and reused with reset().
  */
 public class EnemyBombObj extends AbstractGameObject {
 	
-	private double timer;	//0
-	private Boolean hasExploded = false;
+	private static final double RADIUS = 0.25;
 	
-	public EnemyBombObj(final Point2D position, final float timeToActivation, final ObjectType type, final GameEngine ge) {
-		super(position, type, ge);
-		this.setRenderer((Renderer) new CircleRenderer(this, 0.25, Color.color(1, 0, 0, 0.5)));
-		this.timer = timeToActivation;
+	private double timeToActivation;	//copied into the EntityStore
+	private boolean hasExploded;	//false
+	private final CircleCollider explosionCollider;
+	
+	/**
+	 * Creates an explosion, which must be reset before use.
+	 * @param ge
+	 */
+	public EnemyBombObj(final GameEngine ge) {
+		super(new Point2D(0, 0), ObjectType.EXPLOSION, ge);
+		this.setRenderer((Renderer) new CircleRenderer(this, RADIUS, Color.color(1, 0, 0, 0.5)));
+		this.explosionCollider = new CircleCollider(this, RADIUS, Point2D.of(0, 0));
+	}
+
+	/**
+	 * Requires position and time to activation.
+	 * @param position
+	 * @param timeToActivation
+	 */
+	public void reset(final Point2D position, final float timeToActivation) {
+		this.placeAt(position);
+		this.timeToActivation = timeToActivation;
+		this.hasExploded = false;
+		this.setCollider(null);
+		((CircleRenderer) this.getRenderer()).setOpacity(0.5);
+	}
+
+	@Override
+	public void storeState(final EntityBucket bucket, final int slot) {
+		bucket.getTimers()[slot] = this.timeToActivation;
 	}
 
 	@Override
 	public void update() {
-		this.timer -= this.getGameEngine().getDeltaTime();
-		if (this.timer <= 0) {
-			explode();
+		update(this.getBucket(), this.getSlot(), this.getGameEngine().getDeltaTime());
+	}
+
+	/**
+	 * Batch kernel: advances the timer of every explosion in bucket, detonating or destroying it.
+	 * @param bucket
+	 * @param deltaTime
+	 */
+	public static void updateAll(final EntityBucket bucket, final double deltaTime) {
+		for (int i = 0; i < bucket.size(); i++) {
+			update(bucket, i, deltaTime);
+		}
+	}
+
+	private static void update(final EntityBucket bucket, final int i, final double deltaTime) {
+		final double[] timer = bucket.getTimers();
+		timer[i] -= deltaTime;
+		if (timer[i] <= 0) {
+			((EnemyBombObj) bucket.getObject(i)).explode();
 		}
-		if (this.timer <= -0.25) {
-			this.destroy();
+		if (timer[i] <= -0.25) {
+			bucket.getObject(i).destroy();
 		}
+	}
 
+	/**
+	 * The explosion is a warning until it detonates.
+	 */
+	@Override
+	public boolean isTelegraph() {
+		return !this.hasExploded;
 	}
 
 	private void explode() {
 		if (!this.hasExploded) {
 			this.hasExploded = true;
-			this.setCollider((Collider) new CircleCollider(this, 0.25, Point2D.of(0, 0)));
+			this.setCollider((Collider) this.explosionCollider);
+			this.getBucket().getRadii()[this.getSlot()] = RADIUS;
 			((CircleRenderer) this.getRenderer()).setOpacity(1);
 		}
 	}
@@ -1,6 +1,7 @@
 package game.model;
 
 import game.collider.*;
+import game.engine.EntityBucket;
 import game.engine.GameEngine;
 import game.graphics.*;
 import game.util.Point2D;
@@ -8,21 +9,46 @@ import javafx.scene.paint.Color;
 
 /**
  * This class models a laser.
+ * Lasers are pooled: they are created once and reused with reset().
  */
 public class EnemyLineObj extends AbstractGameObject {
 	
-	private double timer;	//0
-	private Boolean hasActivated = false;
-	private final Point2D direction;
+	private double timeToActivation;	//copied into the EntityStore
+	private boolean hasActivated;	//false
+	private final Point2D direction = new Point2D(1, 0);
+	private final LineRenderer warningRenderer;
+	private final LineRenderer activeRenderer;
+	private final RayCollider rayCollider;
+
+	/**
+	 * Creates a laser, which must be reset before use.
+	 * @param ge
+	 */
+	public EnemyLineObj(final GameEngine ge) {
+		super(new Point2D(0, 0), ObjectType.LASER, ge);
+		this.warningRenderer = new LineRenderer(this, this.direction, Color.color(1, 0, 0, 0.5), 0.01);
+		this.activeRenderer = new LineRenderer(this, this.direction, Color.color(1, 0, 0, 1), 0.02);
+		this.rayCollider = new RayCollider(this, this.direction);
+	}
 
 	/*
 	 * Requires position, direction and time to activation
 	 */
-	public EnemyLineObj(final Point2D position, final Point2D dir, final float timeToActivation, final ObjectType type, final GameEngine ge) {
-		super(position, type, ge);
-		this.timer = timeToActivation;
-		this.direction = dir;
-		this.setRenderer((Renderer)new LineRenderer(this, dir, Color.color(1, 0, 0, 0.5), 0.01));
+	public void reset(final Point2D position, final Point2D dir, final float timeToActivation) {
+		this.placeAt(position);
+		this.timeToActivation = timeToActivation;
+		this.hasActivated = false;
+		this.direction.set(dir);
+		this.warningRenderer.setLine(position, dir);
+		this.activeRenderer.setLine(position, dir);
+		this.rayCollider.setDirection(dir);
+		this.setRenderer((Renderer) this.warningRenderer);
+		this.setCollider(null);
+	}
+
+	@Override
+	public void storeState(final EntityBucket bucket, final int slot) {
+		bucket.getTimers()[slot] = this.timeToActivation;
 	}
 
 	/**
@@ -30,21 +56,45 @@ public class EnemyLineObj extends AbstractGameObject {
 	 */
 	@Override
 	public void update() {
-		this.timer -= this.getGameEngine().getDeltaTime();
-		if (this.timer <= 0.15) {
-			this.activate();
+		update(this.getBucket(), this.getSlot(), this.getGameEngine().getDeltaTime());
+	}
+
+	/**
+	 * Batch kernel: advances the timer of every laser in bucket, activating or destroying it.
+	 * Lasers don't move, so objects are only touched when their status changes.
+	 * @param bucket
+	 * @param deltaTime
+	 */
+	public static void updateAll(final EntityBucket bucket, final double deltaTime) {
+		for (int i = 0; i < bucket.size(); i++) {
+			update(bucket, i, deltaTime);
+		}
+	}
+
+	private static void update(final EntityBucket bucket, final int i, final double deltaTime) {
+		final double[] timer = bucket.getTimers();
+		timer[i] -= deltaTime;
+		if (timer[i] <= 0.15) {
+			((EnemyLineObj) bucket.getObject(i)).activate();
 		}
-		if (this.timer <= -0.65) {
-			this.destroy();
+		if (timer[i] <= -0.65) {
+			bucket.getObject(i).destroy();
 		}
+	}
 
+	/**
+	 * The laser is a warning until it activates.
+	 */
+	@Override
+	public boolean isTelegraph() {
+		return !this.hasActivated;
 	}
 
 	private void activate() {
 		if (!this.hasActivated) {
 			this.hasActivated = true;
-			this.setCollider((Collider)new RayCollider(this, this.direction));
-			this.setRenderer((Renderer)new LineRenderer(this, this.direction, Color.color(1, 0, 0, 1), 0.02));
+			this.setCollider((Collider) this.rayCollider);
+			this.setRenderer((Renderer) this.activeRenderer);
 		}
 
 	}
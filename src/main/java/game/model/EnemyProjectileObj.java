@@ -1,42 +1,54 @@
 package game.model;
 
+import game.engine.EntityBucket;
 import game.engine.GameEngine;
 import game.graphics.*;
-import java.util.*;
 import game.collider.*;
 import game.util.Point2D;
 
 /**
  * This class models a bullet.
+ * Bullets are pooled: they are created once and reused with reset().
  */
 public class EnemyProjectileObj extends AbstractGameObject {
 	
-	private static final double SIZE = 0.07;
+	/** Width of a bullet, in world units. */
+	public static final double SIZE = 0.07;
 	private static final double SPEED_MULTIPLIER = 1.5;
 
-	private final Point2D velocity;
-	private final Set<Point2D> points = new HashSet<>();
+	private final Point2D velocity = new Point2D(0, 0);	//initial velocity, copied into the EntityStore
+	private double angle;	//degrees, copied into the EntityStore
+	private final Point2D p1 = new Point2D(0, 0);
+	private final Point2D p2 = new Point2D(0, 0);
+	private final Point2D p3 = new Point2D(0, 0);
+	
+	/**
+	 * Creates a bullet, which must be reset before use.
+	 * @param ge
+	 */
+	public EnemyProjectileObj(final GameEngine ge) {
+		super(new Point2D(0, 0), ObjectType.BULLET, ge);
+		this.setCollider((Collider) new PointsCollider(this, this.p1, this.p2, this.p3));
+		this.setRenderer((Renderer)new ImageRenderer(this, ImageRenderer.Sprite.BULLET, SIZE, 0));
+	}
 	
 	/**
 	 * Requires initial position, direction and speed of bullet.
 	 * @param position
 	 * @param dir
 	 * @param speed
-	 * @param type
-	 * @param ge
 	 */
-	public EnemyProjectileObj(final Point2D position, final Point2D dir, final float speed, final ObjectType type, final GameEngine ge) {
-		super(position, type, ge);
-		this.velocity = dir;
+	public void reset(final Point2D position, final Point2D dir, final float speed) {
+		this.placeAt(position);
+		this.velocity.set(dir);
 		this.velocity.normalize();
 		this.velocity.mul(speed / 60 * SPEED_MULTIPLIER);
 		this.generatePoints();
-		this.setCollider((Collider) new PointsCollider(this, this.points));
-		double angle = (Math.atan(this.velocity.getY() / this.velocity.getX())) * (180 / Math.PI);
+		this.angle = (Math.atan(this.velocity.getY() / this.velocity.getX())) * (180 / Math.PI);
 		if (this.velocity.getX() < 0) {
-			angle += 180;
+			this.angle += 180;
 		}
-		this.setRenderer((Renderer)new ImageRenderer(this, ImageRenderer.Sprite.BULLET, SIZE, angle));
+		((ImageRenderer) this.getRenderer()).setRotation(this.angle);
 		// The formula is used to get degrees from a 2D vector using arctan of velocity, then converting the result from radians to degrees [* (180/Math.PI)]
 	}
 	
@@ -47,28 +59,26 @@ public class EnemyProjectileObj extends AbstractGameObject {
 	 */
 	private void generatePoints() {
 		// POINT 1 = same direction as velocity, length 0.015
-		final Point2D p1 = Point2D.copyOf(velocity);
+		p1.set(velocity);
 		p1.normalize();
 		p1.mul(SIZE / 2);
 
 		// POINT 2 = sum of 2 vectors, one is the opposite of p1 and the other is the p2 offset, equal to p1/2 rotated by 90°
-		final Point2D p2 = Point2D.copyOf(p1);
-		final Point2D offset = Point2D.copyOf(p2);
-		p2.mul(-1);
-		offset.mul(0.3);
-		offset.set(new Point2D(-offset.getY(), offset.getX()));
-		p2.add(offset);
+		// offset = (-p1.y, p1.x) * 0.3
+		final double offsetX = -p1.getY() * 0.3;
+		final double offsetY = p1.getX() * 0.3;
+		p2.set(-p1.getX() + offsetX, -p1.getY() + offsetY);
 
-		// POINT 3 = sum of 2 vectors, one is the opposite of p1 and the other is the p3 offset, equal to p1/2 rotated by -90° ( = p2 offset * -1)
-		final Point2D p3 = Point2D.copyOf(offset);
-		p3.mul(-1);
-		offset.mul(-1);
-		p3.add(offset);
+		// POINT 3 = sum of 2 vectors, the opposite of the p2 offset taken twice
+		p3.set(-offsetX - offsetX, -offsetY - offsetY);
+		((PointsCollider) this.getCollider()).invalidateBounds();
+	}
 
-		// ADD the points to set
-		this.points.add(p1);
-		this.points.add(p2);
-		this.points.add(p3);
+	@Override
+	public void storeState(final EntityBucket bucket, final int slot) {
+		bucket.getVelocityX()[slot] = this.velocity.getX();
+		bucket.getVelocityY()[slot] = this.velocity.getY();
+		bucket.getAngles()[slot] = this.angle;
 	}
 
 	/**
@@ -76,15 +86,30 @@ public class EnemyProjectileObj extends AbstractGameObject {
 	 */
 	@Override
 	public void update() {
-		this.getPosition().add(this.velocity);
-		if (this.getPosition().getX() >= 1.5 
-		        || this.getPosition().getY() >= 1.5 
-		        || this.getPosition().getX() <= -0.5 
-		        || this.getPosition().getY() <= -0.5) {
-			this.destroy();
+		update(this.getBucket(), this.getSlot());
+		this.getBucket().moved();
+	}
+
+	/**
+	 * Batch kernel: updates the position of every bullet in bucket.
+	 * Positions are only written into the bucket, where colliders and renderers read them.
+	 * @param bucket
+	 */
+	public static void updateAll(final EntityBucket bucket) {
+		for (int i = 0; i < bucket.size(); i++) {
+			update(bucket, i);
+		}
+		bucket.moved();
+	}
+
+	private static void update(final EntityBucket bucket, final int i) {
+		final double[] x = bucket.getX();
+		final double[] y = bucket.getY();
+		x[i] += bucket.getVelocityX()[i];
+		y[i] += bucket.getVelocityY()[i];
+		if (x[i] >= 1.5 || y[i] >= 1.5 || x[i] <= -0.5 || y[i] <= -0.5) {
+			bucket.getObject(i).destroy();
 		}
 	}
-	
-	
 
 }
@@ -1,7 +1,5 @@
 package game.model;
 
-import java.util.ArrayList;
-import java.util.List;
 import game.collider.CircleCollider;
 import game.engine.GameEngine;
 import game.engine.AudioManager.Sound;
@@ -13,11 +11,15 @@ import game.util.Point2D;
  */
 public class PlayerObj extends AbstractGameObject {
 
-	private Point2D movement;
+	/** Frames shown when the player pops, shared by every game. */
+	private static final Animation POP_ANIMATION = new Animation(20, false,
+			ImageRenderer.Sprite.POP_ANIMATION_1, ImageRenderer.Sprite.POP_ANIMATION_2,
+			ImageRenderer.Sprite.POP_ANIMATION_3, ImageRenderer.Sprite.POP_ANIMATION_4);
+
+	private final Point2D movement = new Point2D(0, 0);
 	private double rotation; 	//0	//In degrees 
 	private static double radius = 0.037;
 	private static double size = 0.075;
-	private final List<ImageRenderer> animationFrames;
 	private double deathTimer = 1.2;
 	
 	private boolean isDead;		//false
@@ -27,15 +29,18 @@ public class PlayerObj extends AbstractGameObject {
 		super(position, type, ge);
 		this.setCollider(new CircleCollider(this, radius, Point2D.of(0, -size / 3)));
 		this.setRenderer(new ImageRenderer(this, ImageRenderer.Sprite.PLAYER, size, this.rotation));
+	}
 
+	/**
+	 * Creates the renderer of the pop animation, starting now.
+	 * Needs the sprite sizes, so it's only called when the game is actually drawn.
+	 * @return the animation renderer
+	 */
+	private AnimationRenderer createPopAnimation() {
 		//calculates the proportional size of the player animation images
-		final double size2 = size * ImageRenderer.Sprite.POP_ANIMATION_1.getImage().getWidth() / ImageRenderer.Sprite.PLAYER.getImage().getWidth();
-		this.animationFrames = new ArrayList<>();
-		this.animationFrames.add(new ImageRenderer(this, ImageRenderer.Sprite.POP_ANIMATION_1, size2, 0));
-		this.animationFrames.add(new ImageRenderer(this, ImageRenderer.Sprite.POP_ANIMATION_2, size2, 0));
-		this.animationFrames.add(new ImageRenderer(this, ImageRenderer.Sprite.POP_ANIMATION_3, size2, 0));
-		this.animationFrames.add(new ImageRenderer(this, ImageRenderer.Sprite.POP_ANIMATION_4, size2, 0));
-
+		final SpriteAtlas atlas = SpriteAtlas.get();
+		final double size2 = size * atlas.getRegion(ImageRenderer.Sprite.POP_ANIMATION_1).getWidth() / atlas.getRegion(ImageRenderer.Sprite.PLAYER).getWidth();
+		return new AnimationRenderer(this, POP_ANIMATION, size2, this.getGameEngine().getTime());
 	}
 
 	/**
@@ -52,7 +57,9 @@ public class PlayerObj extends AbstractGameObject {
 	public void die() {
 		if (!this.isDead) {
 			this.getGameEngine().play(Sound.POP, 0.8);
-			this.setRenderer(new AnimationRenderer(this.animationFrames, 20, false));
+			if (!this.getGameEngine().isHeadless()) {
+				this.setRenderer(this.createPopAnimation());
+			}
 			this.isDead = true;
 		}
 	}
@@ -75,14 +82,13 @@ public class PlayerObj extends AbstractGameObject {
 			this.updateDeath();
 			return;
 		}
-		this.movement = this.getGameEngine().getMousePosition();
-		this.movement.sub(this.getPosition());
-		if (this.movement.getMagnitude() <= speed) {
-			this.getPosition().add(this.movement);
+		Point2D.sub(this.getGameEngine().getMousePosition(), this.getPosition(), this.movement);
+		if (this.movement.getMagnitudeSquared() <= speed * speed) {
+			this.translate(this.movement);
 		} else {
 			this.movement.normalize();
 			this.movement.mul(speed);
-			this.getPosition().add(this.movement);
+			this.translate(this.movement);
 		}
 		if (this.movement.getX() < 0) {
 			this.rotation = -3;
@@ -1,27 +1,27 @@
 package game.model;
 
 import game.collider.*;
+import game.engine.EntityBucket;
 import game.engine.GameEngine;
 import game.graphics.*;
 import game.util.Point2D;
 
 /**
  * Models powerup objects.
+ * Powerups are pooled: they are created once and reused with reset().
  */
 public class PowerUpObj extends AbstractGameObject {
 
 	private static final double SIZE = 0.1;
-	
-	private double timer;	//0
+	private static final double LIFETIME = 5;
 	
 	/**
-	 * Creates a new powerup object of the type specified in its proper argument.
-	 * @param position
+	 * Creates a new powerup object of the type specified in its proper argument, which must be reset before use.
 	 * @param type
 	 * @param gameEngine
 	 */
-    public PowerUpObj(final Point2D position, final ObjectType type, final GameEngine gameEngine) {
-		super(position, type, gameEngine);
+    public PowerUpObj(final ObjectType type, final GameEngine gameEngine) {
+		super(new Point2D(0, 0), type, gameEngine);
 		
 		switch (type) {
 		    case PWRUP_SHIELD -> this.setRenderer((Renderer) new ImageRenderer(this, ImageRenderer.Sprite.PWRUP_SHIELD, SIZE, 0));
@@ -32,15 +32,44 @@ public class PowerUpObj extends AbstractGameObject {
 		this.setCollider((Collider)new CircleCollider(this, SIZE / 2, Point2D.of(0, 0)));
 	}
 
+    /**
+     * Places this powerup at position, with its full lifetime.
+     * @param position
+     */
+    public void reset(final Point2D position) {
+    	this.placeAt(position);
+    }
+
 	/**
 	 * Updates the remaining life of the powerup.
 	 * Counts elapsed time and destroys it when time's up. 
 	 */
 	@Override
 	public void update() {
-		timer += this.getGameEngine().getDeltaTime();
-		if (timer >= 5) {
-			this.destroy();
+		update(this.getBucket(), this.getSlot(), this.getGameEngine().getDeltaTime());
+	}
+
+	@Override
+	public void storeState(final EntityBucket bucket, final int slot) {
+		bucket.getRadii()[slot] = SIZE / 2;
+	}
+
+	/**
+	 * Batch kernel: counts the elapsed time of every powerup in bucket, destroying it when time's up.
+	 * @param bucket
+	 * @param deltaTime
+	 */
+	public static void updateAll(final EntityBucket bucket, final double deltaTime) {
+		for (int i = 0; i < bucket.size(); i++) {
+			update(bucket, i, deltaTime);
+		}
+	}
+
+	private static void update(final EntityBucket bucket, final int i, final double deltaTime) {
+		final double[] timer = bucket.getTimers();
+		timer[i] += deltaTime;
+		if (timer[i] >= LIFETIME) {
+			bucket.getObject(i).destroy();
 		}
 	}
 }
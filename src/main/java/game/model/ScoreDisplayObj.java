@@ -13,6 +13,8 @@ public class ScoreDisplayObj extends AbstractGameObject {
 	
 	private final ScoreCalc calc;
 	private String prefix = "";
+	private int shownScore = -1;		//forces the first update
+	private boolean prefixChanged;
 	
 	/**
 	 * Requires position, direction and time to activation.
@@ -29,20 +31,26 @@ public class ScoreDisplayObj extends AbstractGameObject {
 		this.calc.onMultiplierStart(() -> {
 			t.setFillColor(Color.GOLD);
 			this.prefix = "2x ";
+			this.prefixChanged = true;
 		});
 		this.calc.onMultiplierEnd(() -> {
 			t.setFillColor(Color.WHITE);
 			this.prefix = "";
+			this.prefixChanged = true;
 		});
 	}
 
 	/**
-	 * Updates displayer showing current score.
+	 * Updates displayer showing current score. The text is only rewritten when it changes, in place.
 	 */
 	@Override
 	public void update() {
-		final var t = (TextRenderer) this.getRenderer();
-		t.setText(this.prefix + calc.getScore());
+		if (this.prefixChanged || this.shownScore != calc.getScore()) {
+			this.prefixChanged = false;
+			this.shownScore = calc.getScore();
+			final var t = (TextRenderer) this.getRenderer();
+			t.setText(this.prefix, this.shownScore);
+		}
 	}
 	
 }
@@ -1,55 +1,172 @@
 package game.ui;
 
+import java.util.Arrays;
 import java.util.List;
 
+import game.engine.InputSource;
+import game.engine.RenderSink;
+import game.graphics.DirtyRegion;
+import game.graphics.ImageRenderer;
+import game.graphics.SpriteCache;
+import game.graphics.RenderSnapshot;
+import game.graphics.ResolutionScaler;
+import game.graphics.SceneGraphPainter;
+import game.graphics.Renderer;
 import game.model.AbstractGameObject;
+import game.model.AbstractGameObject.ObjectType;
+import game.model.EnemyBallObj;
+import game.model.EnemyProjectileObj;
 import game.util.Point2D;
+import game.util.TripleBuffer;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.geometry.VPos;
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Scale;
 import javafx.scene.text.TextAlignment;
 
 /**
  * Represents the Scene where to display the actual game objects.
- * It is managed by the GameEngine
+ * It is managed by the GameEngine: the engine thread captures each frame into a RenderSnapshot,
+ * and the JavaFX thread paints the latest one at every pulse.
+ * <p>
+ * Frames are composed of three stacked canvases: the warnings of attacks (telegraph), the world and the HUD.
+ * A canvas is only repainted when the layers it shows changed, so static warnings and the score
+ * aren't redrawn every frame. Frames can be displayed with scene graph nodes instead (see SceneGraphPainter).
+ * <p>
+ * Frames are drawn at an internal resolution, possibly lower than the window, and scaled to it.
+ * In adaptive mode the resolution follows the time spent painting each frame (see ResolutionScaler).
  */
-public class GameScene {
+public class GameScene implements InputSource, RenderSink {
     
+	/** In dirty-rectangle mode, above this fraction of the canvas changed the whole canvas is redrawn. */
+	private static final double DIRTY_COVERAGE_THRESHOLD = 0.4;
+	/** In adaptive mode, target time spent painting a frame, in seconds. */
+	private static final double FRAME_BUDGET = 1.0 / 60;
+	/** In adaptive mode, the resolution isn't lowered below this fraction of the window. */
+	private static final double MIN_RESOLUTION = 0.5;
+	
 	private final Scene scene;
 	
-	private Canvas activeCanvas;
-	private Canvas bufferCanvas;
+	//layers of the frames
+	private static final int TELEGRAPH_LAYER = 0;
+	private static final int ENEMY_LAYER = 1;
+	private static final int PLAYER_LAYER = 2;
+	private static final int POWERUP_LAYER = 3;
+	private static final int HUD_LAYER = 4;
+	//canvases, from bottom to top, and the range of layers each one shows
+	private static final int TELEGRAPH_CANVAS = 0;
+	private static final int WORLD_CANVAS = 1;
+	private static final int HUD_CANVAS = 2;
+	private static final int[] FIRST_LAYER = {TELEGRAPH_LAYER, ENEMY_LAYER, HUD_LAYER};
+	private static final int[] LAST_LAYER = {TELEGRAPH_LAYER, POWERUP_LAYER, HUD_LAYER};
+	
+	private final Canvas[] canvases = new Canvas[HUD_CANVAS + 1];
+	private final long[] paintedSignatures = new long[this.canvases.length];	//of the layers shown by each canvas
+	private final boolean[] painted = new boolean[this.canvases.length];		//false until the first paint
+	private final long[] repaints = new long[this.canvases.length];
+	private int drawnObjects;		//0: in the last frame painted
+	private int culledObjects;		//0
+	private final TripleBuffer<RenderSnapshot> frames = new TripleBuffer<>(RenderSnapshot::new);
+	private final AnimationTimer painter;
+	private final Runnable paintFront = () -> this.paint(this.frames.getFront());
+	private final boolean dirtyRects;
+	private DirtyRegion dirtyRegion;		//null: the whole canvas is redrawn every frame
+	private final SceneGraphPainter nodes;		//null: frames are painted on the canvases
+	private final Scale scale = new Scale(1, 1, 0, 0);		//from the internal resolution to the window
+	private final ResolutionScaler scaler;		//null: the resolution is fixed
+	private volatile int resolution;		//of the next frames captured
+	private int canvasResolution;		//of the canvases, JavaFX thread only
+	private final double[] bounds = new double[4];		//of the object being captured, engine thread only
 	
-	private final Point2D mousePosition = new Point2D(0.5, 0.5);
+	private volatile Point2D mousePosition = new Point2D(0.5, 0.5);	//replaced, never modified: read by the engine thread
 	private final int size;
 	
 	/**
-	 * Creates a new GameScene of size (in pixels) size*size
+	 * Creates a new GameScene of size (in pixels) size*size, redrawing the whole canvas every frame.
+	 * Must be executed in the JavaFX thread.
 	 * @param size
 	 */
 	public GameScene(final int size) {
+		this(size, false);
+	}
+	
+	/**
+	 * Creates a new GameScene of size (in pixels) size*size.
+	 * Must be executed in the JavaFX thread.
+	 * @param size
+	 * @param dirtyRects - if true, only the parts of the canvas which changed are redrawn
+	 */
+	public GameScene(final int size, final boolean dirtyRects) {
+		this(size, dirtyRects, false);
+	}
+	
+	/**
+	 * Creates a new GameScene of size (in pixels) size*size.
+	 * Must be executed in the JavaFX thread.
+	 * @param size
+	 * @param dirtyRects - if true, only the parts of the canvas which changed are redrawn
+	 * @param sceneGraph - if true, frames are displayed with scene graph nodes instead of canvases
+	 */
+	public GameScene(final int size, final boolean dirtyRects, final boolean sceneGraph) {
+		this(size, dirtyRects, sceneGraph, size, false);
+	}
+	
+	/**
+	 * Creates a new GameScene of size (in pixels) size*size.
+	 * Must be executed in the JavaFX thread.
+	 * @param size
+	 * @param dirtyRects - if true, only the parts of the canvas which changed are redrawn
+	 * @param sceneGraph - if true, frames are displayed with scene graph nodes instead of canvases
+	 * @param resolution - side of the internal drawing surface, in pixels, scaled to size
+	 * @param adaptive - if true, resolution is the highest one, lowered when frames are too slow
+	 */
+	public GameScene(final int size, final boolean dirtyRects, final boolean sceneGraph, final int resolution, final boolean adaptive) {
 		final Group gr = new Group();
-		this.activeCanvas = new Canvas(size, size);
-		this.bufferCanvas = new Canvas(size, size);
-		
-		this.setTextSettings();
-		
-		//adds to the scene only the active canvas
-		gr.getChildren().add(this.activeCanvas);
+		for (int c = 0; c < this.canvases.length; c++) {
+			this.canvases[c] = new Canvas();
+			this.setTextSettings(this.canvases[c]);
+		}
+		this.nodes = sceneGraph ? new SceneGraphPainter(HUD_LAYER + 1) : null;
+		final Group content = new Group();
+		content.getTransforms().add(this.scale);
+		if (this.nodes != null) {
+			//the background receives the mouse events where there are no nodes
+			gr.getChildren().add(new Rectangle(size, size, Color.TRANSPARENT));
+			content.getChildren().add(this.nodes.getRoot());
+		} else {
+			content.getChildren().addAll(this.canvases);
+		}
+		gr.getChildren().add(content);
+		gr.setClip(new Rectangle(size, size));
 		
 		//Updates the mouse position
 		gr.setOnMouseMoved(event -> {
-			this.mousePosition.setX(event.getSceneX() / size);
-			this.mousePosition.setY(event.getSceneY() / size);
+			this.mousePosition = new Point2D(event.getSceneX() / size, event.getSceneY() / size);
 		});
 		
 		this.size = size;
 		this.scene = new Scene(gr);
+		this.dirtyRects = dirtyRects;
+		this.resolution = resolution;
+		this.scaler = adaptive ? new ResolutionScaler(resolution, (int) (size * MIN_RESOLUTION), FRAME_BUDGET) : null;
+		this.resize(resolution);
 		
-		//initialize the canvases
-		this.render(List.of());
+		//paints the latest frame published by the engine, if there's a new one
+		this.painter = new AnimationTimer() {
+			@Override
+			public void handle(final long now) {
+				if (GameScene.this.frames.swap()) {
+					GameScene.this.paintTimed();
+				}
+			}
+		};
+		this.painter.start();
 	}
 	
 	/**
@@ -60,12 +177,36 @@ public class GameScene {
 	}
 	
 	/**
-	 * Gets the current buffer where to draw the objects
-	 * @return the GraphicsContext buffer
+	 * Gets the canvas where the game objects are drawn. JavaFX thread only.
+	 * @return the GraphicsContext of the world canvas
 	 */
 	public GraphicsContext getGraphics() {
-		//images are drawn into the buffer first, then displayed
-		return this.bufferCanvas.getGraphicsContext2D();
+		return this.canvases[WORLD_CANVAS].getGraphicsContext2D();
+	}
+	
+	/**
+	 * Gets how many times the layers of a canvas were repainted. JavaFX thread only.
+	 * @param canvas - 0 telegraph, 1 world, 2 HUD
+	 * @return number of repaints
+	 */
+	public long getRepaintCount(final int canvas) {
+		return this.repaints[canvas];
+	}
+	
+	/**
+	 * Gets how many objects were drawn in the last frame painted. JavaFX thread only.
+	 * @return number of objects in the view
+	 */
+	public int getDrawnObjects() {
+		return this.drawnObjects;
+	}
+	
+	/**
+	 * Gets how many objects were culled, out of the view, in the last frame painted. JavaFX thread only.
+	 * @return number of objects out of the view
+	 */
+	public int getCulledObjects() {
+		return this.culledObjects;
 	}
 	
 	/**
@@ -77,39 +218,206 @@ public class GameScene {
 	}
 	
 	/**
-	 * Displays all the elements in objects which have a renderer
+	 * The player points with the mouse.
+	 */
+	@Override
+	public void readPointerPosition(final Point2D dest) {
+		dest.set(this.mousePosition);
+	}
+	
+	/**
+	 * Captures all the elements in objects which have a renderer and are in the view, and publishes the frame
+	 * to the JavaFX thread.
 	 * @param objects - List of game objects
+	 * @param alpha - interpolation factor between the previous and the current tick
+	 */
+	@Override
+	public void render(final List<AbstractGameObject> objects, final double alpha) {
+		final RenderSnapshot frame = this.frames.getBack();
+		frame.clear();
+		frame.setResolution(this.resolution);
+		capture(objects, alpha, frame, this.bounds);
+		this.frames.publish();
+	}
+	
+	/**
+	 * Captures all the elements in objects which have a renderer and are in the view into frame.
+	 * Enemies spend part of their life outside the world: they are culled here, before any command is recorded.
+	 * The counts are kept in the frame.
+	 * @param objects - List of game objects
+	 * @param alpha - interpolation factor between the previous and the current tick
+	 * @param frame - cleared
+	 * @param bounds - of length 4, where the bounds of each object are written
+	 */
+	public static void capture(final List<AbstractGameObject> objects, final double alpha, final RenderSnapshot frame,
+			final double[] bounds) {
+		int drawn = 0;
+		int culled = 0;
+		for (int i = 0; i < objects.size(); i++) {
+			final AbstractGameObject o = objects.get(i);
+			final Renderer renderer = o.getRenderer();
+			if (renderer != null) {
+				renderer.getBounds(alpha, bounds);
+				if (isOutOfView(bounds)) {
+					culled++;
+				} else {
+					frame.setLayer(layerOf(o));
+					renderer.capture(frame, alpha);
+					drawn++;
+				}
+			}
+		}
+		frame.setObjectCounts(drawn, culled);
+	}
+	
+	/**
+	 * Checks whether a world-space box is entirely out of the view, which shows the world from 0 to 1 on both axes.
+	 * @param bounds - minX, minY, maxX, maxY
+	 * @return true if nothing in bounds is visible
+	 */
+	public static boolean isOutOfView(final double[] bounds) {
+		return bounds[0] > 1 || bounds[2] < 0 || bounds[1] > 1 || bounds[3] < 0;
+	}
+	
+	/**
+	 * Repaints the canvases whose layers changed since they were last painted. JavaFX thread only.
+	 * @param frame
+	 */
+	private void paint(final RenderSnapshot frame) {
+		this.drawnObjects = frame.getDrawnObjects();
+		this.culledObjects = frame.getCulledObjects();
+		if (frame.getResolution() != this.canvasResolution) {
+			this.resize(frame.getResolution());
+		}
+		if (this.nodes != null) {
+			this.nodes.paint(frame);
+			return;
+		}
+		for (int c = 0; c < this.canvases.length; c++) {
+			final long signature = frame.getLayerSignature(FIRST_LAYER[c], LAST_LAYER[c]);
+			if (!this.painted[c] || signature != this.paintedSignatures[c]) {
+				this.painted[c] = true;
+				this.paintedSignatures[c] = signature;
+				this.repaints[c]++;
+				if (c == WORLD_CANVAS) {
+					this.paintWorld(frame);
+				} else {
+					final GraphicsContext gc = this.canvases[c].getGraphicsContext2D();
+					gc.clearRect(0, 0, this.canvasResolution, this.canvasResolution);
+					frame.paint(gc, FIRST_LAYER[c], LAST_LAYER[c], 0, 0, this.canvasResolution, this.canvasResolution);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Changes the internal resolution of the canvases, scaling them to the window. JavaFX thread only.
+	 * Everything is repainted at the next frame.
+	 * @param newResolution - in pixels
+	 */
+	private void resize(final int newResolution) {
+		//spinning enemies are drawn at every angle: builds them now instead of while playing,
+		//and forgets the sizes of the old resolution
+		final SpriteCache cache = ImageRenderer.getCache();
+		cache.evict((int) (EnemyProjectileObj.SIZE * this.canvasResolution));
+		cache.evict((int) (EnemyBallObj.SIZE * this.canvasResolution));
+		cache.warmUp(ImageRenderer.Sprite.BULLET, (int) (EnemyProjectileObj.SIZE * newResolution));
+		cache.warmUp(ImageRenderer.Sprite.THORNBALL, (int) (EnemyBallObj.SIZE * newResolution));
+		this.canvasResolution = newResolution;
+		for (final Canvas canvas : this.canvases) {
+			canvas.setWidth(newResolution);
+			canvas.setHeight(newResolution);
+		}
+		this.scale.setX((double) this.size / newResolution);
+		this.scale.setY((double) this.size / newResolution);
+		this.dirtyRegion = this.dirtyRects ? new DirtyRegion(newResolution, newResolution, DIRTY_COVERAGE_THRESHOLD) : null;
+		Arrays.fill(this.painted, false);
+	}
+	
+	/**
+	 * Paints the latest frame. In adaptive mode, measures how long painting takes and changes the resolution
+	 * of the next frames if needed. JavaFX thread only.
+	 */
+	private void paintTimed() {
+		if (this.scaler == null) {
+			this.paintFront.run();
+		} else if (this.scaler.measure(this.paintFront)) {
+			this.resolution = this.scaler.getResolution();
+		}
+	}
+	
+	/**
+	 * @return side of the internal drawing surface of the next frames, in pixels
+	 */
+	public int getResolution() {
+		return this.resolution;
+	}
+	
+	/**
+	 * Paints the world canvas, entirely or only where frame differs from the previous one. JavaFX thread only.
+	 * Changes in the other canvases may add some rectangles, which is harmless.
+	 * @param frame
+	 */
+	private void paintWorld(final RenderSnapshot frame) {
+		final GraphicsContext gc = this.getGraphics();
+		if (this.dirtyRegion == null || this.dirtyRegion.update(frame)) {
+			this.clear();
+			frame.paint(gc, ENEMY_LAYER, POWERUP_LAYER, 0, 0, this.canvasResolution, this.canvasResolution);
+			return;
+		}
+		final int[] rects = this.dirtyRegion.getRects();
+		for (int i = 0; i < this.dirtyRegion.getRectCount() * 4; i += 4) {
+			gc.save();
+			gc.beginPath();
+			gc.rect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+			gc.clip();
+			gc.clearRect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+			frame.paint(gc, ENEMY_LAYER, POWERUP_LAYER, rects[i], rects[i + 1], rects[i] + rects[i + 2], rects[i + 1] + rects[i + 3]);
+			gc.restore();
+		}
+	}
+	
+	/**
+	 * Gets the layer where an object is painted: within a layer, draws are reordered to batch materials.
+	 * @param o
+	 * @return the layer, from TELEGRAPH_LAYER to HUD_LAYER
 	 */
-	public void render(final List<AbstractGameObject> objects) {
-		this.clear();
-		objects.stream().filter(o -> o.getRenderer() != null).forEach(o -> o.getRenderer().paint(getGraphics()));
-		this.swapCanvas();
+	private static int layerOf(final AbstractGameObject o) {
+		final ObjectType type = o.getType();
+		if (o.isTelegraph()) {
+			return TELEGRAPH_LAYER;
+		} else if (type.isEnemy()) {
+			return ENEMY_LAYER;
+		} else if (type.isPlayer()) {
+			return PLAYER_LAYER;
+		} else if (type == ObjectType.SCORE) {
+			return HUD_LAYER;
+		}
+		return POWERUP_LAYER;
 	}
 	
 	/**
-	 * Swap the buffer canvas with the active one
+	 * Stops painting when the game is over.
 	 */
-	private void swapCanvas() {
-		final Canvas temp = this.bufferCanvas;
-		this.bufferCanvas = this.activeCanvas;
-		this.activeCanvas = temp;
+	@Override
+	public void finish() {
+		Platform.runLater(this.painter::stop);
 	}
 	
 	/**
 	 * Sets the settings for text rendering.
 	 * Makes the text centered at creation.
+	 * @param canvas
 	 */
-	private void setTextSettings() {
-		this.activeCanvas.getGraphicsContext2D().setTextBaseline(VPos.CENTER);
-		this.bufferCanvas.getGraphicsContext2D().setTextBaseline(VPos.CENTER);
-		this.activeCanvas.getGraphicsContext2D().setTextAlign(TextAlignment.CENTER);
-		this.bufferCanvas.getGraphicsContext2D().setTextAlign(TextAlignment.CENTER);
+	private void setTextSettings(final Canvas canvas) {
+		canvas.getGraphicsContext2D().setTextBaseline(VPos.CENTER);
+		canvas.getGraphicsContext2D().setTextAlign(TextAlignment.CENTER);
 	}
 	
 	/**
-	 * Clears the buffer canvas
+	 * Clears the world canvas. JavaFX thread only.
 	 */
 	public void clear() {
-		this.getGraphics().clearRect(0, 0, this.size, this.size);
+		this.getGraphics().clearRect(0, 0, this.canvasResolution, this.canvasResolution);
 	}
 }
@@ -3,9 +3,11 @@ package game.ui;
 import java.util.Random;
 
 import game.engine.GameApplication;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextField;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -25,6 +27,7 @@ public class MenuSceneController {
 	@FXML private Button playButton;
 	@FXML private Button leaderboardButton;
 	@FXML private Button howtoplayButton;
+	@FXML private ProgressBar loadingBar;
 	
 	public MenuSceneController(final GameApplication application) {
 		this.application = application;
@@ -44,6 +47,26 @@ public class MenuSceneController {
 			this.application.setPlayerName(playerName);
 			this.namePrompt.setText(playerName);
 		}
+		this.showLoading();
+	}
+	
+	/**
+	 * Shows the progress of the asset loading, hiding the bar when done.
+	 * Play is disabled until the sprites are packed, so that the game never waits for them.
+	 */
+	private void showLoading() {
+		final var assets = this.application.getAssets();
+		if (assets == null) {
+			this.loadingBar.setVisible(false);
+			return;
+		}
+		//set before reading the progress, so that no completion is missed
+		assets.setOnProgress(progress -> Platform.runLater(() -> this.loadingBar.setProgress(progress)));
+		this.loadingBar.setProgress(assets.getProgress());
+		//run at once if already completed
+		this.playButton.setDisable(!assets.getSpritesReady().isDone());
+		assets.getSpritesReady().thenRun(() -> Platform.runLater(() -> this.playButton.setDisable(false)));
+		assets.getReady().thenRun(() -> Platform.runLater(() -> this.loadingBar.setVisible(false)));
 	}
 	
 	/**
@@ -51,6 +74,10 @@ public class MenuSceneController {
 	 * If namePrompt TextField is empty, the game will use a default nickname.
 	 */
 	public void play() {
+		if (this.playButton.isDisabled()) {
+			//still loading: ENTER is ignored like a click
+			return;
+		}
 		final String playerName = this.namePrompt.getText();
 		if (playerName.startsWith(" ")) {
 			//do nothing when player name starts with a whitespace
@@ -0,0 +1,134 @@
+package game.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import game.engine.GameApplication;
+import game.graphics.ImageRenderer;
+import game.model.AbstractGameObject;
+import game.model.AbstractGameObject.ObjectType;
+import game.model.EnemyProjectileObj;
+import game.util.Point2D;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+/**
+ * Compares the canvas and the scene graph backends of GameScene, drawing 100, 1000 and 10000 spinning bullets
+ * which bounce inside the view. Prints the frames per second of each run.
+ * Run it with -Djavafx.animation.fullspeed=true, otherwise frames are capped at 60 per second.
+ * Supported options: --seconds=n duration of each run (default 5).
+ */
+public class RenderBenchmark extends Application {
+
+	private static final int[] ENTITIES = {100, 1000, 10000};
+	private static final double WARM_UP = 1;		//seconds before measuring
+	private static final long SEED = 42;
+
+	private Stage stage;
+	private double seconds;
+	private int run;		//0: first backend, first size
+
+	@Override
+	public void start(final Stage primaryStage) {
+		this.stage = primaryStage;
+		this.seconds = Double.parseDouble(this.getParameters().getNamed().getOrDefault("seconds", "5"));
+		this.stage.setWidth(GameApplication.SCREEN_SIZE);
+		this.stage.setHeight(GameApplication.SCREEN_SIZE);
+		this.stage.setResizable(false);
+		this.stage.show();
+		this.nextRun();
+	}
+
+	/**
+	 * Starts the next run, or exits after the last one.
+	 */
+	private void nextRun() {
+		if (this.run == ENTITIES.length * 2) {
+			Platform.exit();
+			return;
+		}
+		final boolean sceneGraph = this.run >= ENTITIES.length;
+		final int entities = ENTITIES[this.run % ENTITIES.length];
+		this.run++;
+
+		final GameScene scene = new GameScene(GameApplication.SCREEN_SIZE, false, sceneGraph);
+		this.stage.setScene(scene.getScene());
+		final List<AbstractGameObject> objects = new ArrayList<>(entities);
+		final List<ImageRenderer> renderers = new ArrayList<>(entities);
+		final double[] velocities = new double[entities * 2];
+		final Random random = new Random(SEED);
+		for (int i = 0; i < entities; i++) {
+			final AbstractGameObject obj = new AbstractGameObject(new Point2D(random.nextDouble(), random.nextDouble()),
+					ObjectType.BULLET, null) {
+				@Override
+				public void update() {
+				}
+			};
+			final ImageRenderer renderer = new ImageRenderer(obj, ImageRenderer.Sprite.BULLET, EnemyProjectileObj.SIZE, 0);
+			obj.setRenderer(renderer);
+			objects.add(obj);
+			renderers.add(renderer);
+			velocities[i * 2] = (random.nextDouble() - 0.5) * 0.01;
+			velocities[i * 2 + 1] = (random.nextDouble() - 0.5) * 0.01;
+		}
+
+		new AnimationTimer() {
+			private long start = -1;
+			private long measureStart;
+			private int frames;		//0
+
+			@Override
+			public void handle(final long now) {
+				if (this.start < 0) {
+					this.start = now;
+				}
+				final double elapsed = (now - this.start) / 1e9;
+				if (elapsed < WARM_UP) {
+					this.measureStart = now;
+				} else if (elapsed < WARM_UP + RenderBenchmark.this.seconds) {
+					this.frames++;
+				} else {
+					this.stop();
+					scene.finish();
+					System.out.println(String.format("%-6s %6d entities: %7.1f fps", sceneGraph ? "nodes" : "canvas",
+							entities, this.frames / ((now - this.measureStart) / 1e9)));
+					RenderBenchmark.this.nextRun();
+					return;
+				}
+				for (int i = 0; i < objects.size(); i++) {
+					move(objects.get(i), velocities, i);
+					renderers.get(i).setRotation(now / 1e7 + i);
+				}
+				scene.render(objects, 1);
+			}
+		}.start();
+	}
+
+	/**
+	 * Moves an object, bouncing on the border of the view.
+	 */
+	private static void move(final AbstractGameObject obj, final double[] velocities, final int i) {
+		double x = obj.getPosition().getX() + velocities[i * 2];
+		double y = obj.getPosition().getY() + velocities[i * 2 + 1];
+		if (x < 0 || x > 1) {
+			velocities[i * 2] = -velocities[i * 2];
+			x = Math.min(Math.max(x, 0), 1);
+		}
+		if (y < 0 || y > 1) {
+			velocities[i * 2 + 1] = -velocities[i * 2 + 1];
+			y = Math.min(Math.max(y, 0), 1);
+		}
+		obj.moveTo(x, y);
+	}
+
+	/**
+	 * Launches the benchmark.
+	 * @param args - see the class documentation for the supported options
+	 */
+	public static void main(final String[] args) {
+		launch(args);
+	}
+}
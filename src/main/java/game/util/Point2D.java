@@ -1,6 +1,8 @@
 package game.util;
 /**
- * Represents a point or vector in a 2-dimensional space
+ * Represents a point or vector in a 2-dimensional space.
+ * The static methods taking a dest point and the scalar overloads never allocate:
+ * prefer them in code running every tick.
  */
 public final class Point2D {
         //never make these fields final
@@ -70,6 +72,66 @@ public final class Point2D {
 		return Math.sqrt(x * x + y * y);
 	}
 	
+	/**
+	 * Calculates the squared distance between two points, cheaper than distance when only comparing.
+	 * @param pointA
+	 * @param pointB
+	 * @return the squared distance between pointA and pointB
+	 */
+	public static double distanceSquared(final Point2D pointA, final Point2D pointB) {
+		return distanceSquared(pointA.getX(), pointA.getY(), pointB.getX(), pointB.getY());
+	}
+	
+	/**
+	 * Calculates the squared distance between (ax, ay) and (bx, by).
+	 * @param ax
+	 * @param ay
+	 * @param bx
+	 * @param by
+	 * @return the squared distance
+	 */
+	public static double distanceSquared(final double ax, final double ay, final double bx, final double by) {
+		final double x = bx - ax;
+		final double y = by - ay;
+		return x * x + y * y;
+	}
+	
+	/**
+	 * Writes pointA + pointB into dest (dest can be one of the operands).
+	 * @param pointA
+	 * @param pointB
+	 * @param dest
+	 * @return dest
+	 */
+	public static Point2D add(final Point2D pointA, final Point2D pointB, final Point2D dest) {
+		dest.set(pointA.getX() + pointB.getX(), pointA.getY() + pointB.getY());
+		return dest;
+	}
+	
+	/**
+	 * Writes pointA - pointB into dest (dest can be one of the operands).
+	 * @param pointA
+	 * @param pointB
+	 * @param dest
+	 * @return dest
+	 */
+	public static Point2D sub(final Point2D pointA, final Point2D pointB, final Point2D dest) {
+		dest.set(pointA.getX() - pointB.getX(), pointA.getY() - pointB.getY());
+		return dest;
+	}
+	
+	/**
+	 * Writes point normalized into dest (dest can be point).
+	 * @param point
+	 * @param dest
+	 * @return dest
+	 */
+	public static Point2D normalized(final Point2D point, final Point2D dest) {
+		dest.set(point);
+		dest.normalize();
+		return dest;
+	}
+	
 	/**
 	 * Gets the x-axis coordinate.
 	 * @return the x coordinate
@@ -91,7 +153,15 @@ public final class Point2D {
 	 * @return the magnitude of this vector
 	 */
 	public double getMagnitude() {
-		return Math.sqrt(this.x * this.x + this.y * this.y);
+		return Math.sqrt(this.getMagnitudeSquared());
+	}
+	
+	/**
+	 * Gets the squared magnitude of the vector, cheaper than getMagnitude when only comparing.
+	 * @return the squared magnitude of this vector
+	 */
+	public double getMagnitudeSquared() {
+		return this.x * this.x + this.y * this.y;
 	}
 	
 	/**
@@ -119,6 +189,16 @@ public final class Point2D {
 		this.y += point.getY();
 	}
 	
+	/**
+	 * Adds (x, y) to this Point2D (Vector addition).
+	 * @param x
+	 * @param y
+	 */
+	public void add(final double x, final double y) {
+		this.x += x;
+		this.y += y;
+	}
+	
 	/**
 	 * Subtracts point to this Point2D (Vector addition).
 	 * @param point to subtract
@@ -128,6 +208,16 @@ public final class Point2D {
 		this.y -= point.getY();
 	}
 	
+	/**
+	 * Subtracts (x, y) to this Point2D (Vector addition).
+	 * @param x
+	 * @param y
+	 */
+	public void sub(final double x, final double y) {
+		this.x -= x;
+		this.y -= y;
+	}
+	
 	/**
 	 * Copied X and Y from another Point2D.
 	 * @param point to set
@@ -137,6 +227,16 @@ public final class Point2D {
 		this.y = point.getY();
 	}
 	
+	/**
+	 * Sets X and Y.
+	 * @param x
+	 * @param y
+	 */
+	public void set(final double x, final double y) {
+		this.x = x;
+		this.y = y;
+	}
+	
 	/**
 	 * Multiply this Point2D with scalar (Scalar multiplication).
 	 * @param scalar to multiply
@@ -1,20 +1,26 @@
 package game.util;
 
+import java.util.random.RandomGenerator;
+
 /**
  * The Class RandomInt that provide a rand integer number
  */
-public class RandomInt {
+public final class RandomInt {
+
+	private RandomInt() {
+	}
 
 	/**
 	 * Gets the random int between min and max.
 	 *
+	 * @param random the generator to draw from
 	 * @param min the min
 	 * @param max the max
 	 * @return the random int returned
 	 */
-	public int getRandomInt(final int min, final int max) {
+	public static int getRandomInt(final RandomGenerator random, final int min, final int max) {
 
-		final double randomN = Math.random() * (max - min);
+		final double randomN = random.nextDouble() * (max - min);
 		return (int) Math.round(randomN) + min;
 
 	}
@@ -0,0 +1,51 @@
+package game.util;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Source of all the randomness of a game run.
+ * Every subsystem draws from its own stream, split from the run seed in a fixed order:
+ * the same seed always reproduces the same game, and adding draws to one stream doesn't shift the others.
+ */
+public final class RandomStreams {
+
+	/**
+	 * The subsystems which need random numbers.
+	 */
+	public enum Stream {
+		BULLET, LASER, THORNBALL, EXPLOSION, POWERUP
+	}
+
+	private final long seed;
+	private final RandomGenerator[] streams = new RandomGenerator[Stream.values().length];
+
+	/**
+	 * Creates all the streams of a run.
+	 * @param seed - the run seed
+	 */
+	public RandomStreams(final long seed) {
+		this.seed = seed;
+		final SplittableRandom root = new SplittableRandom(seed);
+		for (final Stream s : Stream.values()) {
+			this.streams[s.ordinal()] = root.split();
+		}
+	}
+
+	/**
+	 * Gets the seed this run was created with.
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Gets the random generator of a subsystem.
+	 * @param stream
+	 * @return the generator, always the same object for the same stream
+	 */
+	public RandomGenerator get(final Stream stream) {
+		return this.streams[stream.ordinal()];
+	}
+}
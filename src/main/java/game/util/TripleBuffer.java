@@ -0,0 +1,70 @@
+package game.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free handoff of the latest value between one writer thread and one reader thread.
+ * The writer fills the back buffer and publishes it; the reader takes the most recently published one.
+ * Neither thread ever waits, and a buffer is never read and written at the same time:
+ * the third buffer sits in the middle, exchanged atomically.
+ * @param <T> type of the buffers, which are reused
+ */
+public final class TripleBuffer<T> {
+
+	private static final int INDEX_MASK = 3;
+	private static final int FRESH = 4;		//set when the middle buffer hasn't been read yet
+
+	private final Object[] buffers = new Object[3];
+	private final AtomicInteger middle = new AtomicInteger(1);
+	private int back;		//0, owned by the writer
+	private int front = 2;	//owned by the reader
+
+	/**
+	 * Creates the three buffers.
+	 * @param factory - creates each buffer
+	 */
+	public TripleBuffer(final Supplier<T> factory) {
+		for (int i = 0; i < this.buffers.length; i++) {
+			this.buffers[i] = factory.get();
+		}
+	}
+
+	/**
+	 * Gets the buffer to fill. Writer thread only.
+	 * @return back buffer
+	 */
+	@SuppressWarnings("unchecked")
+	public T getBack() {
+		return (T) this.buffers[this.back];
+	}
+
+	/**
+	 * Publishes the back buffer, and takes a new one to fill. Writer thread only.
+	 * If the reader hasn't taken the previous one yet, it is overwritten (frames are dropped, never queued).
+	 */
+	public void publish() {
+		this.back = this.middle.getAndSet(this.back | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Takes the most recently published buffer, if there's a new one. Reader thread only.
+	 * @return true if getFront() changed
+	 */
+	public boolean swap() {
+		if ((this.middle.get() & FRESH) == 0) {
+			return false;
+		}
+		this.front = this.middle.getAndSet(this.front) & INDEX_MASK;
+		return true;
+	}
+
+	/**
+	 * Gets the buffer to read. Reader thread only.
+	 * @return front buffer
+	 */
+	@SuppressWarnings("unchecked")
+	public T getFront() {
+		return (T) this.buffers[this.front];
+	}
+}
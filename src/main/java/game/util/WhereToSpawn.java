@@ -1,19 +1,21 @@
 package game.util;
 
+import java.util.random.RandomGenerator;
+
 /**
  * The Class WhereToSpawn. Provide a Point 2D where spawn an enemy or a powerup.
  * The enemies will be spawned outside the game window. The  Powerups will spawn inside the
- * game windows
+ * game windows. Every method draws from the generator it is given, see RandomStreams.
  */
 public class WhereToSpawn { //RITORNA UN POINT 2D IN CUI FAR SPAWNARE IL NOSTRO ELEMENTO DI GIOCO 
 
 	/**
 	* Gets the random side of the game board.
+	* @param random
 	* @return the random side
 	*/
-	public SideOfSpawn getRandomSide() {
-		final RandomInt randomInt = new RandomInt();
-		final int side = randomInt.getRandomInt(1, 4);
+	public SideOfSpawn getRandomSide(final RandomGenerator random) {
+		final int side = RandomInt.getRandomInt(random, 1, 4);
 		return switch (side) {
 			case 1 -> SideOfSpawn.WEST;
 			case 2 -> SideOfSpawn.EAST;
@@ -42,41 +44,47 @@ public class WhereToSpawn { //RITORNA UN POINT 2D IN CUI FAR SPAWNARE IL NOSTRO
 	 * Gets the enemy spawn point.
 	 *
 	 * @param side the side where to spawn
-	 * @return the enemy spawn point
+	 * @param random
+	 * @param dest where the spawn point is written
+	 * @return dest
 	 */
-	public Point2D getEnemySpawnPoint(final SideOfSpawn side) {
+	public Point2D getEnemySpawnPoint(final SideOfSpawn side, final RandomGenerator random, final Point2D dest) {
 
-		final RandomInt randomInt = new RandomInt();
 		//int sideOfSpawn= this.getRandomSide();
-		final double randomNumber = (double) randomInt.getRandomInt(0, 100) / 100;
+		final double randomNumber = (double) RandomInt.getRandomInt(random, 0, 100) / 100;
 		//SPAWNANO FUORI FDAL GAMEBOARD CON UNA DIFFERENZA DI double n= 0.2 (sia in positivo che in negativo)
 
-		return switch (side) {
-			case WEST -> new Point2D(-0.2, randomNumber);
-			case EAST -> new Point2D(randomNumber, 1.2);
-			case SOUTH -> new Point2D(1.2, randomNumber);
-			case NORTH -> new Point2D(randomNumber, -0.2);
-			default -> new Point2D(0.2, -0.2); //IN CASO DI ERRORE SPAWN IN (0.2,-0.2)
-		};
+		switch (side) {
+			case WEST -> dest.set(-0.2, randomNumber);
+			case EAST -> dest.set(randomNumber, 1.2);
+			case SOUTH -> dest.set(1.2, randomNumber);
+			case NORTH -> dest.set(randomNumber, -0.2);
+			default -> dest.set(0.2, -0.2); //IN CASO DI ERRORE SPAWN IN (0.2,-0.2)
+		}
+		return dest;
 	}
 
 
 	/**
 	 * Gets the power UP spawn point.
 	 *
-	 * @return the power UP spawn point
+	 * @param random
+	 * @param dest where the spawn point is written
+	 * @return dest
 	 */
-	public Point2D getPowerUpSpawnPoint() {
-		return new Point2D(Math.random() * 0.6 + 0.2, Math.random() * 0.6 + 0.2);
+	public Point2D getPowerUpSpawnPoint(final RandomGenerator random, final Point2D dest) {
+		dest.set(random.nextDouble() * 0.6 + 0.2, random.nextDouble() * 0.6 + 0.2);
+		return dest;
 	}
 
 	/**
 	 * Gets the thornball <spawn side.
 	 *
+	 * @param random
 	 * @return the power UP spawn point
 	 */
-	public SideOfSpawn getThornballRandomSide() {
-		var side = new RandomInt().getRandomInt(0, 1);   //0 west, 1 east
+	public SideOfSpawn getThornballRandomSide(final RandomGenerator random) {
+		var side = RandomInt.getRandomInt(random, 0, 1);   //0 west, 1 east
 		return switch (side) {
 			case 1 -> SideOfSpawn.EAST;
 			default -> SideOfSpawn.WEST;
@@ -87,12 +95,12 @@ public class WhereToSpawn { //RITORNA UN POINT 2D IN CUI FAR SPAWNARE IL NOSTRO
 	 * Gets the thornball spawn point.
 	 *
 	 * @param side the side where to spawn
+	 * @param random
 	 * @return the thornball spawn point
 	 */
-	public Point2D getThornballSpawnPoint(final int side) {
-		final RandomInt randomInt = new RandomInt();
-		final SideOfSpawn sideOfSpawn = this.getThornballRandomSide();
-		final double randomNumber = randomInt.getRandomInt(1, 100) / 100;
+	public Point2D getThornballSpawnPoint(final int side, final RandomGenerator random) {
+		final SideOfSpawn sideOfSpawn = this.getThornballRandomSide(random);
+		final double randomNumber = RandomInt.getRandomInt(random, 1, 100) / 100;
 		
 		return switch (sideOfSpawn) {
 			case WEST -> new Point2D(-0.2, randomNumber);
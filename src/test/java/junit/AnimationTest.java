@@ -0,0 +1,49 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.graphics.Animation;
+import game.graphics.ImageRenderer.Sprite;
+
+/**
+ * Tests the frame sampling of animations.
+ */
+public class AnimationTest {
+
+	private static final Sprite[] FRAMES = {Sprite.POP_ANIMATION_1, Sprite.POP_ANIMATION_2, Sprite.POP_ANIMATION_3};
+
+	@Test
+	public void testOnceClampsToLastFrame() {
+		final Animation animation = new Animation(10, false, FRAMES);
+		assertEquals(Sprite.POP_ANIMATION_1, animation.sample(-1));
+		assertEquals(Sprite.POP_ANIMATION_1, animation.sample(0.05));
+		assertEquals(Sprite.POP_ANIMATION_2, animation.sample(0.15));
+		assertEquals(Sprite.POP_ANIMATION_3, animation.sample(0.25));
+		assertEquals(Sprite.POP_ANIMATION_3, animation.sample(100));
+		assertEquals(0.3, animation.getDuration(), 1e-9);
+	}
+
+	@Test
+	public void testLoopWraps() {
+		final Animation animation = new Animation(10, true, FRAMES);
+		assertEquals(0, animation.indexAt(0.35));
+		assertEquals(2, animation.indexAt(0.55));
+		assertEquals(1, animation.indexAt(0.45));
+	}
+
+	@Test
+	public void testSamplingIsStateless() {
+		final Animation animation = new Animation(20, false, FRAMES);
+		final Sprite later = animation.sample(0.1);
+		animation.sample(0.0);
+		assertEquals(later, animation.sample(0.1));
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new Animation(10, false));
+		assertThrows(IllegalArgumentException.class, () -> new Animation(0, false, FRAMES));
+	}
+}
@@ -0,0 +1,67 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import game.engine.AssetLoader;
+
+/**
+ * Tests the progress and the futures of AssetLoader, with tasks which don't need the JavaFX toolkit.
+ */
+public class AssetLoaderTest {
+
+	@Test
+	public void testProgress() throws Exception {
+		final AtomicInteger images = new AtomicInteger();
+		final AtomicInteger imagesBeforeAtlas = new AtomicInteger(-1);
+		final Runnable image = images::incrementAndGet;
+		final AssetLoader loader = AssetLoader.start(List.of(image, image, image), () -> imagesBeforeAtlas.set(images.get()),
+				List.of(() -> { }, () -> { }));
+		loader.getReady().get(5, TimeUnit.SECONDS);
+
+		assertTrue(loader.getSpritesReady().isDone());
+		assertTrue(loader.getAudioReady().isDone());
+		assertEquals(3, imagesBeforeAtlas.get());
+		assertEquals(1, loader.getProgress());
+	}
+
+	@Test
+	public void testFailuresAreSkipped() throws Exception {
+		final Runnable failing = () -> {
+			throw new IllegalStateException("missing file");
+		};
+		final AssetLoader loader = AssetLoader.start(List.of(failing, () -> { }), failing, List.of(failing));
+		loader.getReady().get(5, TimeUnit.SECONDS);
+
+		assertFalse(loader.getSpritesReady().isCompletedExceptionally());
+		assertFalse(loader.getReady().isCompletedExceptionally());
+		assertEquals(1, loader.getProgress());
+	}
+
+	@Test
+	public void testNotReadyWhileLoading() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final Runnable slowAudio = () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
+		};
+		final AssetLoader loader = AssetLoader.start(List.of(() -> { }), () -> { }, List.of(slowAudio));
+		assertFalse(loader.getReady().isDone());
+		assertEquals(0, loader.getLoadingMillis());
+		assertTrue(loader.getProgress() < 1);
+
+		release.countDown();
+		loader.getReady().get(5, TimeUnit.SECONDS);
+		assertTrue(loader.getSpritesReady().isDone());
+		assertEquals(1, loader.getProgress());
+	}
+}
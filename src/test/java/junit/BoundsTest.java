@@ -0,0 +1,90 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static junit.TestObjects.objectAt;
+
+import org.junit.jupiter.api.Test;
+
+import game.collider.Bounds;
+import game.collider.CircleCollider;
+import game.collider.Collider;
+import game.collider.PointsCollider;
+import game.collider.RayCollider;
+import game.model.AbstractGameObject;
+import game.util.Point2D;
+
+/**
+ * Tests the cached world-space bounds of colliders.
+ */
+public class BoundsTest {
+
+	@Test
+	public void testCircleBoundsFollowTheParent() {
+		final AbstractGameObject obj = objectAt(0.5, 0.5);
+		final CircleCollider collider = new CircleCollider(obj, 0.1, Point2D.of(0.1, 0));
+		final Bounds bounds = collider.getBounds();
+		assertEquals(0.5, bounds.getMinX(), 1e-6);
+		assertEquals(0.7, bounds.getMaxX(), 1e-6);
+		assertTrue(bounds.overlapsCircle(0.75, 0.5, 0.06));
+		assertFalse(bounds.overlapsCircle(0.75, 0.5, 0.04));
+		//cached until the parent moves
+		assertSame(bounds, collider.getBounds());
+		assertTrue(bounds.isValid(obj.getVersion()));
+		obj.moveTo(0.2, 0.2);
+		assertFalse(bounds.isValid(obj.getVersion()));
+		assertEquals(0.2, collider.getBounds().getMinX(), 1e-6);
+		obj.translate(Point2D.of(0.1, 0));
+		assertEquals(0.3, collider.getBounds().getMinX(), 1e-6);
+	}
+
+	@Test
+	public void testPointsBounds() {
+		final Point2D p = Point2D.of(0.1, 0);
+		final PointsCollider collider = new PointsCollider(objectAt(0.5, 0.5), Point2D.of(-0.1, -0.05), p, Point2D.of(0, 0.05));
+		final Bounds bounds = collider.getBounds();
+		assertEquals(0.4, bounds.getMinX(), 1e-6);
+		assertEquals(0.55, bounds.getMaxY(), 1e-6);
+		//moving the points needs an explicit invalidation
+		p.set(0.2, 0);
+		collider.invalidateBounds();
+		assertEquals(0.7, collider.getBounds().getMaxX(), 1e-6);
+	}
+
+	@Test
+	public void testRaySlab() {
+		final AbstractGameObject obj = objectAt(0.5, 0.5);
+		final RayCollider ray = new RayCollider(obj, Point2D.of(1, 1));
+		final Bounds bounds = ray.getBounds();
+		assertTrue(bounds.isSlab());
+		assertEquals(Double.NEGATIVE_INFINITY, bounds.getMinX());
+		//on the diagonal, however far
+		assertTrue(bounds.overlapsCircle(-10, -10, 0.01));
+		//a box touching the line with its corner
+		assertTrue(bounds.overlapsCircle(0.6, 0.4, 0.1));
+		assertFalse(bounds.overlapsCircle(0.6, 0.4, 0.09));
+		ray.setDirection(Point2D.of(1, 0));
+		assertTrue(ray.getBounds().overlapsCircle(0.9, 0.52, 0.03));
+		assertFalse(ray.getBounds().overlapsCircle(0.9, 0.6, 0.03));
+	}
+
+	@Test
+	public void testBoundsNeverRejectACollision() {
+		final AbstractGameObject player = objectAt(0, 0);
+		final CircleCollider playerCollider = new CircleCollider(player, 0.02, Point2D.of(0, 0));
+		final CircleCollider circle = new CircleCollider(objectAt(0.5, 0.5), 0.05, Point2D.of(0, 0));
+		final PointsCollider points = new PointsCollider(objectAt(0.5, 0.5), Point2D.of(-0.05, 0), Point2D.of(0.05, 0.03));
+		final RayCollider ray = new RayCollider(objectAt(0.5, 0.5), Point2D.of(0.3, 0.7));
+		for (int i = 0; i <= 100; i++) {
+			for (int j = 0; j <= 100; j++) {
+				player.moveTo(0.4 + i * 0.002, 0.4 + j * 0.002);
+				final double x = playerCollider.getCenterX();
+				final double y = playerCollider.getCenterY();
+				for (final Collider collider : new Collider[] {circle, points, ray}) {
+					if (collider.checkCollision(playerCollider)) {
+						assertTrue(collider.getBounds().overlapsCircle(x, y, 0.02));
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static junit.TestObjects.objectAt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import game.collider.CircleBatch;
+import game.collider.CircleCollider;
+import game.collider.Collider;
+import game.collider.PointsCollider;
+import game.collider.RayCollider;
+import game.model.AbstractGameObject;
+import game.util.Point2D;
+
+/**
+ * Tests that CircleBatch finds the same hits as the single collider checks.
+ */
+public class CircleBatchTest {
+
+	@Test
+	public void testSameResultsAsSingleChecks() {
+		final Random random = new Random(7);
+		final CircleCollider player = new CircleCollider(objectAt(0.5, 0.5), 0.05, Point2D.of(0, 0));
+		final List<Collider> colliders = new ArrayList<>();
+		for (int i = 0; i < 1001; i++) {
+			final AbstractGameObject obj = objectAt(0.3 + random.nextDouble() * 0.4, 0.3 + random.nextDouble() * 0.4);
+			if (i % 2 == 0) {
+				colliders.add(new CircleCollider(obj, random.nextDouble() * 0.1, Point2D.of(0, 0)));
+			} else {
+				colliders.add(new PointsCollider(obj, Point2D.of(0.035, 0), Point2D.of(-0.035, 0.01), Point2D.of(0, -0.02)));
+			}
+		}
+
+		final CircleBatch batch = new CircleBatch();
+		for (int i = 0; i < colliders.size(); i++) {
+			assertTrue(colliders.get(i).pack(batch, i));
+		}
+		final boolean[] hits = new boolean[colliders.size()];
+		final boolean[] scalarHits = new boolean[colliders.size()];
+		batch.test(0.5, 0.5, 0.05, hits);
+		batch.testScalar(0.5, 0.5, 0.05, scalarHits);
+
+		int count = 0;
+		for (int i = 0; i < colliders.size(); i++) {
+			assertEquals(colliders.get(i).checkCollision(player), hits[i], "collider " + i);
+			assertEquals(hits[i], scalarHits[i]);
+			count += hits[i] ? 1 : 0;
+		}
+		//the data tests both outcomes
+		assertTrue(count > 0 && count < colliders.size());
+	}
+
+	@Test
+	public void testVectorSameHitsAsScalar() {
+		//surefire runs with --add-modules jdk.incubator.vector
+		assumeTrue(CircleBatch.isVectorized());
+		final Random random = new Random(11);
+		//every tail length of the widest vectors (8 doubles), and a full and an empty batch
+		for (int size = 0; size <= 3 * 8 + 1; size++) {
+			for (int layout = 0; layout < 20; layout++) {
+				final CircleBatch batch = new CircleBatch();
+				for (int i = 0; i < size; i++) {
+					batch.add(random.nextDouble(), random.nextDouble(), i % 3 == 0 ? 0 : random.nextDouble() * 0.2, i);
+				}
+				final double x = random.nextDouble();
+				final double y = random.nextDouble();
+				final double radius = random.nextDouble() * 0.2;
+				final boolean[] hits = new boolean[size];
+				final boolean[] unrolledHits = new boolean[size];
+				final boolean[] scalarHits = new boolean[size];
+				batch.testVector(x, y, radius, hits);
+				batch.testUnrolled(x, y, radius, unrolledHits);
+				batch.testScalar(x, y, radius, scalarHits);
+				assertArrayEquals(scalarHits, hits, "size " + size + ", layout " + layout);
+				assertArrayEquals(scalarHits, unrolledHits, "size " + size + ", layout " + layout);
+			}
+		}
+	}
+
+	@Test
+	public void testVectorTouchingBorder() {
+		assumeTrue(CircleBatch.isVectorized());
+		final CircleBatch batch = new CircleBatch();
+		batch.add(0.3, 0.5, 0.1, 0);
+		batch.add(0.2, 0.5, 0.1, 1);
+		final boolean[] hits = new boolean[2];
+		batch.testVector(0.5, 0.5, 0.1, hits);
+		assertTrue(hits[0]);
+		assertFalse(hits[1]);
+	}
+
+	@Test
+	public void testTouchingBorder() {
+		final CircleBatch batch = new CircleBatch();
+		batch.add(0.3, 0.5, 0.1, 0);
+		batch.add(0.2, 0.5, 0.1, 1);
+		final boolean[] hits = new boolean[2];
+		batch.test(0.5, 0.5, 0.1, hits);
+		assertTrue(hits[0]);
+		assertFalse(hits[1]);
+	}
+
+	@Test
+	public void testRaysAreNotPacked() {
+		final CircleBatch batch = new CircleBatch();
+		assertFalse(new RayCollider(objectAt(0.5, 0.5), Point2D.of(1, 0)).pack(batch, 0));
+		assertEquals(0, batch.size());
+	}
+}
@@ -0,0 +1,198 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static junit.TestObjects.objectAt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import game.collider.CircleCollider;
+import game.collider.Collider;
+import game.collider.CollisionLayer;
+import game.collider.CollisionMatrix;
+import game.collider.CollisionWorld;
+import game.collider.ContactList;
+import game.collider.PointsCollider;
+import game.collider.RayCollider;
+import game.model.AbstractGameObject;
+import game.model.AbstractGameObject.ObjectType;
+import game.util.Point2D;
+
+/**
+ * Tests the layers, the shape pairs and the pair queries of CollisionWorld.
+ */
+public class CollisionWorldTest {
+
+	@Test
+	public void testMatrix() {
+		final CollisionMatrix matrix = CollisionMatrix.createDefault();
+		assertTrue(matrix.collides(CollisionLayer.ENEMY, CollisionLayer.PLAYER));
+		assertTrue(matrix.collides(CollisionLayer.ENEMY, CollisionLayer.SWEEPER));
+		assertFalse(matrix.collides(CollisionLayer.ENEMY, CollisionLayer.ENEMY));
+		matrix.setCollides(CollisionLayer.ENEMY, CollisionLayer.ENEMY, true);
+		assertTrue(matrix.collides(CollisionLayer.ENEMY, CollisionLayer.ENEMY));
+		matrix.setCollides(CollisionLayer.POWERUP, CollisionLayer.PLAYER, false);
+		assertFalse(matrix.collides(CollisionLayer.PLAYER, CollisionLayer.POWERUP));
+		assertEquals(CollisionLayer.ENEMY, CollisionLayer.of(ObjectType.LASER));
+		assertEquals(CollisionLayer.POWERUP, CollisionLayer.of(ObjectType.PWRUP_SWEEPER));
+	}
+
+	@Test
+	public void testShapePairs() {
+		final RayCollider horizontal = new RayCollider(objectAt(0.5, 0.5), Point2D.of(1, 0));
+		final RayCollider diagonal = new RayCollider(objectAt(0, 0), Point2D.of(1, 1));
+		final RayCollider parallel = new RayCollider(objectAt(0, 0.6), Point2D.of(-1, 0));
+		final RayCollider same = new RayCollider(objectAt(0.1, 0.5), Point2D.of(-1, 0));
+		assertTrue(horizontal.collides(diagonal));
+		assertFalse(horizontal.collides(parallel));
+		assertTrue(same.collides(horizontal));
+
+		final PointsCollider crossing = new PointsCollider(objectAt(0.3, 0.5), Point2D.of(0, -0.01), Point2D.of(0, 0.01));
+		final PointsCollider above = new PointsCollider(objectAt(0.3, 0.4), Point2D.of(0, -0.01), Point2D.of(0, 0.01));
+		assertTrue(horizontal.collides(crossing));
+		assertTrue(crossing.collides(horizontal));
+		assertFalse(above.collides(horizontal));
+		assertTrue(crossing.collides(new PointsCollider(objectAt(0.3, 0.5), Point2D.of(0, -0.01))));
+		assertFalse(crossing.collides(above));
+
+		final CircleCollider circle = new CircleCollider(objectAt(0.3, 0.45), 0.05, Point2D.of(0, 0));
+		assertTrue(circle.collides(horizontal));
+		assertTrue(horizontal.collides(circle));
+		assertTrue(circle.collides(above));
+		assertFalse(circle.collides(parallel));
+	}
+
+	@Test
+	public void testPolygons() {
+		final PointsCollider triangle = new PointsCollider(objectAt(0.5, 0.5), Point2D.of(-0.02, 0.01), Point2D.of(0.02, 0.01),
+				Point2D.of(0, -0.02));
+		//the same triangle upside down and moved: the edges cross, no vertex is shared nor inside
+		final PointsCollider flipped = new PointsCollider(objectAt(0.5, 0.495), Point2D.of(-0.02, -0.01), Point2D.of(0.02, -0.01),
+				Point2D.of(0, 0.02));
+		assertTrue(triangle.collides(flipped));
+		assertTrue(flipped.collides(triangle));
+		//entirely inside: no edge crosses
+		final PointsCollider inner = new PointsCollider(objectAt(0.5, 0.5), Point2D.of(-0.002, 0.001), Point2D.of(0.002, 0.001),
+				Point2D.of(0, -0.002));
+		assertTrue(triangle.collides(inner));
+		assertTrue(inner.collides(triangle));
+		final PointsCollider apart = new PointsCollider(objectAt(0.6, 0.5), Point2D.of(-0.02, 0.01), Point2D.of(0.02, 0.01),
+				Point2D.of(0, -0.02));
+		assertFalse(triangle.collides(apart));
+		//a ray through the inside touches it too, as the polygon is the same in both tests
+		final RayCollider ray = new RayCollider(objectAt(0, 0.5), Point2D.of(1, 0));
+		assertTrue(ray.collides(triangle));
+		assertTrue(ray.collides(inner));
+	}
+
+	@Test
+	public void testPolygonsAndCircles() {
+		final PointsCollider triangle = new PointsCollider(objectAt(0.5, 0.5), Point2D.of(-0.02, 0.01), Point2D.of(0.02, 0.01),
+				Point2D.of(0, -0.02));
+		//entirely inside: no vertex nor edge is within the radius
+		final CircleCollider inside = new CircleCollider(objectAt(0.5, 0.5), 0.002, Point2D.of(0, 0));
+		assertTrue(triangle.collides(inside));
+		assertTrue(inside.collides(triangle));
+		assertFalse(triangle.checkCollision(inside));		//the player check only tests the points
+		//crossing the bottom edge between two vertices, the center outside
+		final CircleCollider crossing = new CircleCollider(objectAt(0.5, 0.515), 0.01, Point2D.of(0, 0));
+		assertTrue(triangle.collides(crossing));
+		assertTrue(crossing.collides(triangle));
+		assertFalse(triangle.checkCollision(crossing));
+		//just below the edge
+		final CircleCollider below = new CircleCollider(objectAt(0.5, 0.521), 0.01, Point2D.of(0, 0));
+		assertFalse(triangle.collides(below));
+		assertFalse(below.collides(triangle));
+		//a segment and a single point are tested as well
+		final PointsCollider segment = new PointsCollider(objectAt(0.5, 0.5), Point2D.of(-0.02, 0), Point2D.of(0.02, 0));
+		assertTrue(segment.collides(new CircleCollider(objectAt(0.5, 0.505), 0.01, Point2D.of(0, 0))));
+		assertFalse(segment.collides(new CircleCollider(objectAt(0.5, 0.52), 0.01, Point2D.of(0, 0))));
+		final PointsCollider point = new PointsCollider(objectAt(0.5, 0.5), Point2D.of(0, 0));
+		assertTrue(point.collides(new CircleCollider(objectAt(0.505, 0.5), 0.01, Point2D.of(0, 0))));
+		assertFalse(new PointsCollider(objectAt(0.5, 0.5)).collides(inside));
+	}
+
+	@Test
+	public void testLayersFilterContacts() {
+		final CollisionWorld world = new CollisionWorld(CollisionMatrix.createDefault());
+		final ContactList contacts = new ContactList();
+		final int player = world.add(new CircleCollider(objectAt(0.5, 0.5), 0.05, Point2D.of(0, 0)), CollisionLayer.PLAYER);
+		world.add(new CircleCollider(objectAt(0.52, 0.5), 0.05, Point2D.of(0, 0)), CollisionLayer.PLAYER);
+		final int enemy = world.add(new CircleCollider(objectAt(0.55, 0.5), 0.02, Point2D.of(0, 0)), CollisionLayer.ENEMY);
+		world.add(new CircleCollider(objectAt(0.56, 0.5), 0.02, Point2D.of(0, 0)), CollisionLayer.ENEMY);
+		world.findContacts(contacts);
+		//both players touch both enemies; players and enemies don't touch each other
+		assertEquals(4, contacts.size());
+		assertEquals(player, contacts.getFirst(0));
+		assertEquals(enemy, contacts.getSecond(0));
+		for (int i = 0; i < contacts.size(); i++) {
+			assertTrue(contacts.getFirst(i) < 2 && contacts.getSecond(i) >= 2);
+		}
+	}
+
+	@Test
+	public void testContactsFoundOnce() {
+		final CollisionMatrix matrix = new CollisionMatrix();
+		matrix.setCollides(CollisionLayer.ENEMY, CollisionLayer.ENEMY, true);
+		final CollisionWorld world = new CollisionWorld(matrix);
+		final ContactList contacts = new ContactList();
+		//a big circle across every band, and small ones all in the same place
+		world.add(new CircleCollider(objectAt(0.5, 0.5), 0.5, Point2D.of(0, 0)), CollisionLayer.ENEMY);
+		for (int i = 0; i < 100; i++) {
+			world.add(new CircleCollider(objectAt(0.2, 0.3), 0.001, Point2D.of(0, 0)), CollisionLayer.ENEMY);
+		}
+		world.findContacts(contacts);
+		assertEquals(100 + 100 * 99 / 2, contacts.size());
+		//only coincident boxes
+		world.clear();
+		for (int i = 0; i < 3; i++) {
+			world.add(new PointsCollider(objectAt(0.2, 0.3), Point2D.of(0, 0)), CollisionLayer.ENEMY);
+		}
+		world.findContacts(contacts);
+		assertEquals(3, contacts.size());
+	}
+
+	@Test
+	public void testSameContactsAsAllPairs() {
+		final Random random = new Random(7);
+		final CollisionMatrix matrix = new CollisionMatrix();
+		matrix.setCollides(CollisionLayer.ENEMY, CollisionLayer.ENEMY, true);
+		matrix.setCollides(CollisionLayer.PLAYER, CollisionLayer.ENEMY, true);
+		final CollisionWorld world = new CollisionWorld(matrix);
+		final List<Collider> colliders = new ArrayList<>();
+		final List<CollisionLayer> layers = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			final AbstractGameObject obj = objectAt(random.nextDouble() * 1.2 - 0.1, random.nextDouble() * 1.2 - 0.1);
+			final Collider collider = switch (random.nextInt(10)) {
+				case 0 -> new RayCollider(obj, Point2D.of(random.nextDouble() - 0.5, random.nextDouble() - 0.5));
+				case 1, 2, 3 -> new PointsCollider(obj, Point2D.of(-0.01, 0), Point2D.of(0.01, 0.005), Point2D.of(0, -0.01));
+				default -> new CircleCollider(obj, random.nextDouble() * 0.03, Point2D.of(0, 0));
+			};
+			final CollisionLayer layer = random.nextInt(4) == 0 ? CollisionLayer.PLAYER : CollisionLayer.ENEMY;
+			colliders.add(collider);
+			layers.add(layer);
+			world.add(collider, layer);
+		}
+		final ContactList contacts = new ContactList();
+		world.findContacts(contacts);
+
+		final boolean[][] found = new boolean[colliders.size()][colliders.size()];
+		for (int i = 0; i < contacts.size(); i++) {
+			assertFalse(found[contacts.getFirst(i)][contacts.getSecond(i)], "contact found twice");
+			found[contacts.getFirst(i)][contacts.getSecond(i)] = true;
+		}
+		int expected = 0;
+		for (int i = 0; i < colliders.size(); i++) {
+			for (int j = i + 1; j < colliders.size(); j++) {
+				final boolean touch = matrix.collides(layers.get(i), layers.get(j)) && colliders.get(i).collides(colliders.get(j));
+				assertEquals(touch, found[i][j], i + " " + j);
+				expected += touch ? 1 : 0;
+			}
+		}
+		assertEquals(expected, contacts.size());
+		assertTrue(expected > 0);
+	}
+}
@@ -0,0 +1,74 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static junit.TestObjects.objectAt;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import game.graphics.CircleRenderer;
+import game.graphics.LineRenderer;
+import game.graphics.RenderSnapshot;
+import game.graphics.Renderer;
+import game.model.AbstractGameObject;
+import game.model.AbstractGameObject.ObjectType;
+import game.ui.GameScene;
+import game.util.Point2D;
+import javafx.scene.paint.Color;
+
+/**
+ * Tests the renderer bounds used to cull objects out of the view.
+ */
+public class CullingTest {
+
+	@Test
+	public void testCircleBounds() {
+		final double[] bounds = new double[4];
+		//spawned outside the world
+		new CircleRenderer(objectAt(-0.2, 0.5), 0.05, Color.RED).getBounds(1, bounds);
+		assertArrayEquals(new double[] {-0.25, 0.45, -0.15, 0.55}, bounds, 1e-9);
+		assertTrue(GameScene.isOutOfView(bounds));
+		//partially visible on the border
+		new CircleRenderer(objectAt(1.02, 0.5), 0.05, Color.RED).getBounds(1, bounds);
+		assertFalse(GameScene.isOutOfView(bounds));
+	}
+
+	@Test
+	public void testInterpolatedBounds() {
+		final double[] bounds = new double[4];
+		final AbstractGameObject obj = objectAt(-0.2, 0.5);
+		obj.moveTo(0.2, 0.5);
+		final Renderer renderer = new CircleRenderer(obj, 0.05, Color.RED);
+		renderer.getBounds(0, bounds);
+		assertTrue(GameScene.isOutOfView(bounds));
+		renderer.getBounds(1, bounds);
+		assertFalse(GameScene.isOutOfView(bounds));
+	}
+
+	@Test
+	public void testLinesAndUnboundedRenderers() {
+		final double[] bounds = new double[4];
+		new LineRenderer(objectAt(0.5, 0.5), Point2D.of(1, 1), Color.RED, 0.01).getBounds(1, bounds);
+		assertFalse(GameScene.isOutOfView(bounds));
+		final Renderer text = (frame, alpha) -> { };
+		text.getBounds(1, bounds);
+		assertFalse(GameScene.isOutOfView(bounds));
+	}
+
+	@Test
+	public void testRenderCountsDrawnAndCulledObjects() {
+		final AbstractGameObject inside = objectAt(0.5, 0.5, ObjectType.THORNBALL);
+		inside.setRenderer(new CircleRenderer(inside, 0.05, Color.RED));
+		final AbstractGameObject outside = objectAt(-0.3, 0.5, ObjectType.BULLET);
+		outside.setRenderer(new CircleRenderer(outside, 0.05, Color.RED));
+		final AbstractGameObject invisible = objectAt(0.5, 0.5);	//no renderer: neither drawn nor culled
+
+		final RenderSnapshot frame = new RenderSnapshot();
+		frame.setResolution(100);
+		GameScene.capture(List.of(inside, outside, invisible), 1, frame, new double[4]);
+		assertEquals(1, frame.getDrawnObjects());
+		assertEquals(1, frame.getCulledObjects());
+		assertEquals(1, frame.size());
+	}
+}
@@ -0,0 +1,58 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.graphics.DirtyRegion;
+import game.graphics.RenderSnapshot;
+import javafx.scene.paint.Color;
+
+/**
+ * Tests which parts of the screen DirtyRegion redraws.
+ */
+public class DirtyRegionTest {
+
+	private static RenderSnapshot frame(final double movingX) {
+		final RenderSnapshot frame = new RenderSnapshot();
+		frame.fillCircle(Color.RED, 100, 100, 10);
+		frame.fillCircle(Color.BLUE, movingX, 500, 10);
+		return frame;
+	}
+
+	private static boolean covered(final DirtyRegion region, final double x, final double y) {
+		final int[] rects = region.getRects();
+		for (int i = 0; i < region.getRectCount() * 4; i += 4) {
+			if (x >= rects[i] && x < rects[i] + rects[i + 2] && y >= rects[i + 1] && y < rects[i + 1] + rects[i + 3]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	public void testOnlyChangesRedrawn() {
+		final DirtyRegion region = new DirtyRegion(1000, 1000, 0.4);
+		assertTrue(region.update(frame(500)));		//first frame: everything
+
+		assertFalse(region.update(frame(530)));
+		assertTrue(covered(region, 500, 500));		//where the circle was
+		assertTrue(covered(region, 530, 500));		//where it is now
+		assertFalse(covered(region, 100, 100));		//unchanged
+		assertTrue(region.getCoverage() < 0.05);
+
+		assertFalse(region.update(frame(530)));
+		assertEquals(0, region.getRectCount());
+	}
+
+	@Test
+	public void testFullRedrawAboveThreshold() {
+		final DirtyRegion region = new DirtyRegion(100, 100, 0.4);
+		region.update(frame(500));
+		final RenderSnapshot big = new RenderSnapshot();
+		big.fillCircle(Color.RED, 50, 50, 60);
+
+		assertTrue(region.update(big));
+		assertEquals(1, region.getCoverage());
+	}
+}
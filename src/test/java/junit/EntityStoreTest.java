@@ -0,0 +1,108 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.engine.EntityBucket;
+import game.engine.EntityStore;
+import game.engine.GameEngine;
+import game.model.AbstractGameObject.ObjectType;
+import game.model.EnemyProjectileObj;
+import game.util.Point2D;
+
+/**
+ * Tests the slots, the handles and the batch update of EntityStore.
+ */
+public class EntityStoreTest {
+
+	private final GameEngine engine = GameEngine.headless(dest -> dest.set(0.5, 0.5), 0);
+
+	private EnemyProjectileObj bullet(final double x) {
+		final EnemyProjectileObj bullet = new EnemyProjectileObj(this.engine);
+		bullet.reset(new Point2D(x, 0.5), new Point2D(1, 0), 1);
+		return bullet;
+	}
+
+	@Test
+	public void testSwapRemove() {
+		final EntityStore store = new EntityStore();
+		final EnemyProjectileObj a = this.bullet(0.1);
+		final EnemyProjectileObj b = this.bullet(0.2);
+		final EnemyProjectileObj c = this.bullet(0.3);
+		store.add(a);
+		store.add(b);
+		store.add(c);
+
+		assertTrue(store.remove(a));
+		assertFalse(store.remove(a));
+		final EntityBucket bullets = store.getBucket(ObjectType.BULLET);
+		assertEquals(2, bullets.size());
+		assertSame(c, bullets.getObject(0));
+		assertEquals(0, c.getSlot());
+		assertEquals(0.3, bullets.getX()[0]);
+		assertEquals(-1, a.getSlot());
+	}
+
+	@Test
+	public void testStaleHandle() {
+		final EntityStore store = new EntityStore();
+		final EnemyProjectileObj a = this.bullet(0.1);
+		final long first = store.add(a);
+		assertSame(a, store.get(first));
+		store.remove(first);
+		//the pooled object is instantiated again, reusing the same id
+		final long second = store.add(a);
+
+		assertNull(store.get(first));
+		assertNull(store.remove(first));
+		assertSame(a, store.get(second));
+		assertNull(store.get(EntityStore.NO_HANDLE));
+	}
+
+	@Test
+	public void testDestroyOnce() {
+		final EntityStore store = new EntityStore();
+		final long handle = store.add(this.bullet(0.1));
+
+		assertTrue(store.markDestroyed(handle));
+		assertFalse(store.markDestroyed(handle));
+		store.remove(handle);
+		assertFalse(store.markDestroyed(handle));
+	}
+
+	@Test
+	public void testBatchUpdate() {
+		final EntityStore store = new EntityStore();
+		for (int i = 0; i < 10_000; i++) {
+			store.add(this.bullet(0.5));
+		}
+		store.update(this.engine.getDeltaTime());
+
+		final EntityBucket bullets = store.getBucket(ObjectType.BULLET);
+		assertEquals(10_000, store.size());
+		assertEquals(0.5 + 1.0 / 60 * 1.5, bullets.getX()[9_999], 1e-6);
+		assertEquals(bullets.getX()[9_999], bullets.getObject(9_999).getPosition().getX());
+	}
+
+	@Test
+	public void testBucketIsTheSourceOfTruth() {
+		final EntityStore store = new EntityStore();
+		final EnemyProjectileObj bullet = this.bullet(0.5);
+		store.add(bullet);
+		final double before = bullet.getCollider().getBounds().getMinX();
+		store.update(this.engine.getDeltaTime());
+
+		final double step = 1.0 / 60 * 1.5;
+		assertEquals(0.5 + step, bullet.getX(), 1e-6);
+		assertEquals(0.5, bullet.getPreviousX(), 1e-6);
+		assertEquals(before + step, bullet.getCollider().getBounds().getMinX(), 1e-6);
+		assertEquals(0.5 + step / 2, bullet.getRenderX(0.5), 1e-6);
+
+		//the position is copied back when the object leaves the store
+		store.remove(bullet);
+		assertEquals(0.5 + step, bullet.getPosition().getX(), 1e-6);
+		assertEquals(0.5 + step, bullet.getX(), 1e-6);
+		assertEquals(before + step, bullet.getCollider().getBounds().getMinX(), 1e-6);
+	}
+}
@@ -0,0 +1,68 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.graphics.GlyphCache;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * Tests the glyph and style caching of GlyphCache.
+ * Rendering real glyphs needs the JavaFX toolkit, so the rasterizer only counts its calls.
+ */
+public class GlyphCacheTest {
+
+	private final Font font = new Font(10);
+	private int rendered;	//0
+	private double lastScale;
+
+	private GlyphCache cache(final int maxStyles) {
+		return new GlyphCache(maxStyles, (font, fill, stroke, borderWidth, scale, c) -> {
+			this.rendered++;
+			this.lastScale = scale;
+			return new GlyphCache.Glyph(null, 0, 0, 5);
+		});
+	}
+
+	@Test
+	public void testRepeatedStringsAreNotRenderedAgain() {
+		final GlyphCache cache = this.cache(4);
+		assertEquals(12 * 5, cache.measure("1x Score: 41", this.font, Color.WHITE, Color.BLACK, 2, 1));
+		final long misses = cache.getMisses();
+		assertEquals(10, misses);	//the second '1' and ' ' are found
+
+		for (int score = 0; score < 100; score++) {
+			cache.measure("1x Score: " + (score % 50), this.font, Color.WHITE, Color.BLACK, 2, 1);
+		}
+		assertEquals(misses + 8, cache.getMisses());	//the digits not seen yet
+		assertEquals(misses + 8, this.rendered);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedStyleIsDropped() {
+		final GlyphCache cache = this.cache(2);
+		cache.measure("a", this.font, Color.WHITE, null, 0, 1);
+		cache.measure("a", this.font, Color.RED, null, 0, 1);
+		cache.measure("a", this.font, Color.WHITE, null, 0, 1);	//red is now the oldest
+		cache.measure("a", this.font, Color.BLUE, null, 0, 1);	//drops red
+		assertEquals(2, cache.getStyleCount());
+		assertEquals(3, cache.getMisses());
+
+		cache.measure("a", this.font, Color.WHITE, null, 0, 1);
+		assertEquals(3, cache.getMisses());
+		cache.measure("a", this.font, Color.RED, null, 0, 1);
+		assertEquals(4, cache.getMisses());
+		assertEquals(2, cache.getStyleCount());
+	}
+
+	@Test
+	public void testHiDpiGlyphsAreAnotherStyle() {
+		final GlyphCache cache = this.cache(4);
+		cache.measure("a", this.font, Color.WHITE, null, 0, 1);
+		assertEquals(5, cache.measure("a", this.font, Color.WHITE, null, 0, 2));
+		assertEquals(2, cache.getMisses());
+		assertEquals(2, this.lastScale);
+	}
+}
@@ -0,0 +1,148 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import game.collider.CircleCollider;
+import game.engine.GameEngine;
+import game.engine.InputSource;
+import game.model.EnemyProjectileObj;
+import game.util.Point2D;
+
+/**
+ * Runs the game without JavaFX.
+ */
+public class HeadlessEngineTest {
+
+	private static final long TEN_MINUTES = 60 * 60 * 10;
+
+	/**
+	 * Moves the pointer along a circle around the center, without allocating.
+	 */
+	private static InputSource orbit() {
+		final double[] angle = {0};
+		return dest -> {
+			angle[0] += 0.02;
+			dest.set(0.5 + 0.3 * Math.cos(angle[0]), 0.5 + 0.3 * Math.sin(angle[0]));
+		};
+	}
+
+	@Test
+	public void testStillPlayerDies() {
+		//bullets aim at the player, who never moves
+		final GameEngine engine = GameEngine.headless(dest -> dest.set(0.5, 0.5), 1);
+		final int score = engine.simulate(TEN_MINUTES);
+
+		assertTrue(engine.getTickCount() < TEN_MINUTES);
+		assertTrue(score > 0);
+		assertEquals(engine.getTickCount() * engine.getDeltaTime(), engine.getTime(), 1e-6);
+	}
+
+	@Test
+	public void testTickLimit() {
+		final GameEngine engine = GameEngine.headless(dest -> dest.set(0.5, 0.5), 1);
+		engine.simulate(60);
+
+		assertEquals(60, engine.getTickCount());
+		assertEquals(1, engine.getTime(), 1e-6);
+	}
+
+	@Test
+	public void testStepDoesntEndTheGame() {
+		final GameEngine stepped = GameEngine.headless(dest -> dest.set(0.2, 0.7), 42);
+		final GameEngine simulated = GameEngine.headless(dest -> dest.set(0.2, 0.7), 42);
+		assertTrue(stepped.step(100));
+		assertTrue(stepped.step(100));
+		simulated.simulate(200);
+
+		assertEquals(200, stepped.getTickCount());
+		assertEquals(simulated.getScoreCalc().getScore(), stepped.getScoreCalc().getScore());
+		//a step after the player died runs no tick
+		while (stepped.step(1000)) {
+		}
+		final long ticks = stepped.getTickCount();
+		assertFalse(stepped.step(1));
+		assertEquals(ticks, stepped.getTickCount());
+	}
+
+	@Test
+	public void testSameSeedSameGame() {
+		final GameEngine first = GameEngine.headless(dest -> dest.set(0.2, 0.7), 42);
+		final GameEngine second = GameEngine.headless(dest -> dest.set(0.2, 0.7), 42);
+		final int firstScore = first.simulate(TEN_MINUTES);
+		final int secondScore = second.simulate(TEN_MINUTES);
+
+		assertEquals(firstScore, secondScore);
+		assertEquals(first.getTickCount(), second.getTickCount());
+	}
+
+	@Test
+	public void testSweptCollisions() {
+		final GameEngine engine = GameEngine.headless(dest -> dest.set(0.5, 0.5), 1);
+		engine.setSweptCollisions(true);
+		final int score = engine.simulate(TEN_MINUTES);
+
+		assertTrue(engine.getTickCount() < TEN_MINUTES);
+		assertTrue(score > 0);
+	}
+
+	@Test
+	public void testBulletTunnelingThroughThePlayer() {
+		assertTrue(this.tunnelingBulletHits(true));
+		assertFalse(this.tunnelingBulletHits(false));
+	}
+
+	/**
+	 * Shoots a bullet which crosses the player within one tick: it's on one side before the tick, on the other after.
+	 */
+	private boolean tunnelingBulletHits(final boolean swept) {
+		final GameEngine engine = GameEngine.headless(dest -> dest.set(0.5, 0.5), 1);
+		engine.setSweptCollisions(swept);
+		final CircleCollider player = (CircleCollider) engine.getPlayer().getCollider();
+		final EnemyProjectileObj bullet = new EnemyProjectileObj(engine);
+		//0.4 per tick, much more than the diameter of the player
+		bullet.reset(new Point2D(player.getCenterX() - 0.2, player.getCenterY()), new Point2D(1, 0), 16);
+		engine.instantiate(bullet);
+		engine.simulate(1);
+
+		assertEquals(player.getCenterX() + 0.2, bullet.getX(), 1e-6);
+		return engine.getPlayer().isDead();
+	}
+
+	@Test
+	public void testSteadyTicksDontAllocate() {
+		final var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+		//a whole game first, so that classes are loaded and call sites linked
+		GameEngine.headless(orbit(), 7).simulate(TEN_MINUTES);
+
+		//after the first enemies (4 seconds), with the score changing every few ticks; this game lasts 1561 ticks
+		final GameEngine engine = GameEngine.headless(orbit(), 7);
+		assertTrue(engine.step(240));
+		final int score = engine.getScoreCalc().getScore();
+		final long thread = Thread.currentThread().getId();
+		//the pools grow with the difficulty: ticks creating objects are expected to allocate
+		long allocated = 0;
+		int steadyTicks = 0;
+		for (int i = 0; i < 300; i++) {
+			final int created = engine.getPools().getCreated();
+			final long before = threads.getThreadAllocatedBytes(thread);
+			assertTrue(engine.step(1));
+			final long tickAllocated = threads.getThreadAllocatedBytes(thread) - before;
+			if (engine.getPools().getCreated() == created) {
+				allocated += tickAllocated;
+				steadyTicks++;
+			}
+		}
+
+		//exactly 300 ticks of a running game, almost all without new objects
+		assertEquals(540, engine.getTickCount());
+		assertTrue(steadyTicks > 250);
+		assertTrue(engine.getScoreCalc().getScore() > score);
+		assertEquals(0, allocated);
+	}
+}
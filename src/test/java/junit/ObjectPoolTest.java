@@ -0,0 +1,39 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.engine.ObjectPool;
+import game.util.Point2D;
+
+/**
+ * Tests the reuse and the statistics of ObjectPool.
+ */
+public class ObjectPoolTest {
+
+	@Test
+	public void testReuse() {
+		final ObjectPool<Point2D> pool = new ObjectPool<>(() -> new Point2D(0, 0));
+		final Point2D first = pool.acquire();
+		pool.release(first);
+
+		assertSame(first, pool.acquire());
+		assertEquals(1, pool.getCreated());
+	}
+
+	@Test
+	public void testStats() {
+		final ObjectPool<Point2D> pool = new ObjectPool<>(() -> new Point2D(0, 0));
+		final Point2D a = pool.acquire();
+		final Point2D b = pool.acquire();
+		pool.acquire();
+		pool.release(a);
+		pool.release(b);
+
+		assertEquals(3, pool.getCreated());
+		assertEquals(1, pool.getInUse());
+		assertEquals(2, pool.getFree());
+		assertEquals(3, pool.getPeakInUse());
+	}
+}
@@ -0,0 +1,152 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.graphics.DrawCommands;
+import game.graphics.ImageRenderer.Sprite;
+import game.graphics.RenderSnapshot;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * Tests the recording of RenderSnapshot commands.
+ */
+public class RenderSnapshotTest {
+
+	@Test
+	public void testMaterials() {
+		final RenderSnapshot frame = new RenderSnapshot();
+		for (int i = 0; i < 100; i++) {
+			frame.fillCircle(i % 2 == 0 ? Color.RED : Color.BLUE, i, i, 5);
+			frame.strokeLine(Color.RED, 2, 0, 0, i, i);
+		}
+
+		assertEquals(200, frame.size());
+		//red circles, blue circles and red lines
+		assertEquals(3, frame.getMaterialCount());
+	}
+
+	@Test
+	public void testResolution() {
+		final RenderSnapshot frame = new RenderSnapshot();
+		frame.setResolution(800);
+		assertEquals(800, frame.getResolution());
+		assertEquals(400, frame.toPixels(0.5));
+		assertEquals(8, frame.toPixels(0.01));
+	}
+
+	@Test
+	public void testClear() {
+		final RenderSnapshot frame = new RenderSnapshot();
+		frame.fillCircle(Color.RED, 0, 0, 5);
+		frame.clear();
+		frame.strokeLine(Color.RED, 2, 0, 0, 1, 1);
+		frame.strokeLine(Color.RED, 3, 0, 0, 1, 1);
+
+		assertEquals(2, frame.size());
+		assertEquals(2, frame.getMaterialCount());
+	}
+
+	@Test
+	public void testLayerSignatures() {
+		final RenderSnapshot a = new RenderSnapshot();
+		final RenderSnapshot b = new RenderSnapshot();
+		for (final RenderSnapshot frame : new RenderSnapshot[] {a, b}) {
+			frame.setLayer(0);
+			frame.strokeLine(Color.RED, 2, 0, 0, 100, 100);
+			frame.setLayer(2);
+			frame.fillCircle(Color.WHITE, 50, 50, 10);
+		}
+		//only the middle layer moved
+		a.setLayer(1);
+		a.fillCircle(Color.BLUE, 10, 10, 5);
+		b.setLayer(1);
+		b.fillCircle(Color.BLUE, 20, 10, 5);
+
+		assertEquals(a.getLayerSignature(0, 0), b.getLayerSignature(0, 0));
+		assertEquals(a.getLayerSignature(2, 2), b.getLayerSignature(2, 2));
+		assertNotEquals(a.getLayerSignature(1, 1), b.getLayerSignature(1, 1));
+		assertNotEquals(a.getLayerSignature(0, 2), b.getLayerSignature(0, 2));
+	}
+
+	@Test
+	public void testReplay() {
+		final RenderSnapshot frame = new RenderSnapshot();
+		frame.setLayer(1);
+		frame.fillCircle(Color.RED, 1, 1, 5);
+		frame.setLayer(0);
+		frame.strokeLine(Color.RED, 2, 0, 0, 10, 10);
+		frame.setLayer(1);
+		frame.strokeLine(Color.BLUE, 2, 0, 0, 10, 10);
+		frame.fillCircle(Color.RED, 2, 2, 5);
+
+		final StringBuilder replayed = new StringBuilder();
+		frame.replay(new DrawCommands() {
+			@Override
+			public void setLayer(final int layer) {
+				replayed.append("L").append(layer).append(' ');
+			}
+
+			@Override
+			public void drawImage(final Sprite sprite, final double degrees, final int width, final double x, final double y) {
+				replayed.append("image ");
+			}
+
+			@Override
+			public void fillCircle(final Color color, final double x, final double y, final double radius) {
+				replayed.append("circle").append((int) x).append(' ');
+			}
+
+			@Override
+			public void strokeLine(final Color color, final double width, final double x1, final double y1, final double x2, final double y2) {
+				replayed.append(color.equals(Color.RED) ? "red" : "blue").append("line ");
+			}
+
+			@Override
+			public void drawText(final Font font, final CharSequence text, final Color fill, final Color stroke, final double borderWidth,
+					final double x, final double y) {
+				replayed.append("text ");
+			}
+		}, 0, RenderSnapshot.MAX_LAYER);
+
+		//layer by layer, red circles batched before the blue line
+		assertEquals("L0 redline L1 circle1 circle2 blueline ", replayed.toString());
+	}
+
+	@Test
+	public void testTextIsCopied() {
+		final RenderSnapshot frame = new RenderSnapshot();
+		final StringBuilder score = new StringBuilder("1x Score: 41");
+		frame.drawText(new Font(10), score, Color.WHITE, null, 0, 5, 5);
+		score.setLength(0);
+		score.append("rewritten");
+		final StringBuilder replayed = new StringBuilder();
+		frame.replay(new DrawCommands() {
+			@Override
+			public void setLayer(final int layer) {
+			}
+
+			@Override
+			public void drawImage(final Sprite sprite, final double degrees, final int width, final double x, final double y) {
+			}
+
+			@Override
+			public void fillCircle(final Color color, final double x, final double y, final double radius) {
+			}
+
+			@Override
+			public void strokeLine(final Color color, final double width, final double x1, final double y1, final double x2, final double y2) {
+			}
+
+			@Override
+			public void drawText(final Font font, final CharSequence text, final Color fill, final Color stroke, final double borderWidth,
+					final double x, final double y) {
+				replayed.append(text);
+			}
+		}, 0, RenderSnapshot.MAX_LAYER);
+
+		assertEquals("1x Score: 41", replayed.toString());
+	}
+}
@@ -0,0 +1,141 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import game.engine.GameEngine;
+import game.engine.InputReplay;
+import game.engine.InputSource;
+
+/**
+ * Records headless games and plays them back.
+ */
+public class ReplayTest {
+
+	private static final long TEN_MINUTES = 60 * 60 * 10;
+
+	/**
+	 * Moves the pointer along a diagonal, back and forth.
+	 */
+	private static InputSource zigZag() {
+		final double[] t = {0};
+		return dest -> {
+			t[0] += 0.01;
+			final double d = Math.abs(t[0] % 2 - 1);
+			dest.set(0.1 + 0.8 * d, 0.9 - 0.8 * d);
+		};
+	}
+
+	@Test
+	public void testReplayIsIdentical() throws IOException {
+		final Path file = Files.createTempFile("dontpop", ".replay");
+		try {
+			final GameEngine recorded = GameEngine.headless(zigZag(), 7);
+			recorded.recordInput(file);
+			final int score = recorded.simulate(TEN_MINUTES);
+
+			final InputReplay replay = InputReplay.open(file);
+			assertEquals(7, replay.getSeed());
+			assertEquals(GameEngine.TICK_RATE, replay.getTickRate());
+			assertFalse(replay.isSweptCollisions());
+
+			final GameEngine replayed = GameEngine.headless(replay);
+			assertEquals(score, replayed.simulate(TEN_MINUTES));
+			assertEquals(recorded.getTickCount(), replayed.getTickCount());
+			assertTrue(replay.isFinished());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testSweptReplayIsIdentical() throws IOException {
+		final Path file = Files.createTempFile("dontpop", ".replay");
+		try {
+			final GameEngine recorded = GameEngine.headless(zigZag(), 7);
+			recorded.setSweptCollisions(true);
+			recorded.recordInput(file);
+			final int score = recorded.simulate(TEN_MINUTES);
+
+			final InputReplay replay = InputReplay.open(file);
+			assertTrue(replay.isSweptCollisions());
+			final GameEngine replayed = GameEngine.headless(replay);
+			assertEquals(score, replayed.simulate(TEN_MINUTES));
+			assertEquals(recorded.getTickCount(), replayed.getTickCount());
+			//the recorded mode can't be overridden
+			assertThrows(IllegalStateException.class, () -> replayed.setSweptCollisions(false));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testVersion1IsRejected() throws IOException {
+		final Path file = Files.createTempFile("dontpop", ".replay");
+		try {
+			try (var out = new DataOutputStream(Files.newOutputStream(file))) {
+				//magic, version 1, tick rate, seed: no collision mode
+				out.writeInt(0x44504F50);
+				out.writeShort(1);
+				out.writeInt(GameEngine.TICK_RATE);
+				out.writeLong(7);
+				out.writeByte(0);
+			}
+			final IOException e = assertThrows(IOException.class, () -> InputReplay.open(file));
+			assertEquals("Unsupported recording version 1", e.getMessage());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testOtherTickRateIsRejected() throws IOException {
+		final Path file = Files.createTempFile("dontpop", ".replay");
+		try {
+			try (var out = new DataOutputStream(Files.newOutputStream(file))) {
+				out.writeInt(0x44504F50);
+				out.writeShort(2);
+				out.writeInt(GameEngine.TICK_RATE / 2);
+				out.writeLong(7);
+				out.writeByte(0);
+			}
+			final InputReplay replay = InputReplay.open(file);
+			final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> GameEngine.headless(replay));
+			assertEquals("Recording made at " + GameEngine.TICK_RATE / 2 + " ticks per second", e.getMessage());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testStillPointerIsCompact() throws IOException {
+		final Path file = Files.createTempFile("dontpop", ".replay");
+		try {
+			final GameEngine engine = GameEngine.headless(dest -> dest.set(0.5, 0.5), 3);
+			engine.recordInput(file);
+			engine.simulate(240);
+
+			//no enemy before 4 seconds: header + one full record + one byte for each other tick
+			assertEquals(19 + 17 + 239, Files.size(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testNotARecording() throws IOException {
+		final Path file = Files.createTempFile("dontpop", ".replay");
+		try {
+			Files.writeString(file, "definitely not a replay");
+			assertThrows(IOException.class, () -> InputReplay.open(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.graphics.ResolutionScaler;
+
+/**
+ * Tests how ResolutionScaler follows the time spent painting.
+ */
+public class ResolutionScalerTest {
+
+	private static final double BUDGET = 1.0 / 60;
+
+	private static boolean feed(final ResolutionScaler scaler, final double frameTime, final int frames) {
+		boolean changed = false;
+		for (int i = 0; i < frames; i++) {
+			changed |= scaler.update(frameTime);
+		}
+		return changed;
+	}
+
+	@Test
+	public void testLowersWhenSlow() {
+		final ResolutionScaler scaler = new ResolutionScaler(1000, 500, BUDGET);
+		assertFalse(feed(scaler, BUDGET, ResolutionScaler.SAMPLES * 3));
+		assertEquals(1000, scaler.getResolution());
+
+		assertTrue(feed(scaler, BUDGET * 2, ResolutionScaler.SAMPLES));
+		assertEquals(850, scaler.getResolution());
+		//never below the minimum
+		feed(scaler, BUDGET * 2, ResolutionScaler.SAMPLES * 20);
+		assertEquals(500, scaler.getResolution());
+	}
+
+	@Test
+	public void testRaisesBackWhenFast() {
+		final ResolutionScaler scaler = new ResolutionScaler(1000, 500, BUDGET);
+		feed(scaler, BUDGET * 2, ResolutionScaler.SAMPLES * 20);
+		feed(scaler, BUDGET / 4, ResolutionScaler.SAMPLES * 20);
+		assertEquals(1000, scaler.getResolution());
+	}
+
+	@Test
+	public void testSingleSlowFrameIsAveraged() {
+		final ResolutionScaler scaler = new ResolutionScaler(1000, 500, BUDGET);
+		scaler.update(BUDGET * 3);
+		assertFalse(feed(scaler, BUDGET, ResolutionScaler.SAMPLES - 1));
+		assertEquals(1000, scaler.getResolution());
+	}
+
+	@Test
+	public void testMeasuresThePaintTime() {
+		final double budget = 0.002;
+		final ResolutionScaler scaler = new ResolutionScaler(1000, 500, budget);
+		final Runnable slowPaint = () -> {
+			final long end = System.nanoTime() + (long) (budget * 2 * 1e9);
+			while (System.nanoTime() < end) {
+				//busy painting
+			}
+		};
+		for (int i = 0; i < ResolutionScaler.SAMPLES; i++) {
+			scaler.measure(slowPaint);
+		}
+		assertEquals(850, scaler.getResolution());
+
+		//painting is fast again, whatever the time between pulses
+		for (int i = 0; i < ResolutionScaler.SAMPLES; i++) {
+			scaler.measure(() -> { });
+		}
+		assertEquals(1000, scaler.getResolution());
+	}
+}
@@ -0,0 +1,75 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import game.graphics.DrawCommands;
+import game.graphics.ImageRenderer.Sprite;
+import game.graphics.RenderSnapshot;
+import game.graphics.SceneGraphPainter;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.text.Font;
+
+/**
+ * Tests that SceneGraphPainter stacks nodes like the canvas paints commands.
+ */
+public class SceneGraphPainterTest {
+
+	@Test
+	public void testNodesAreStackedInCommandOrder() {
+		final RenderSnapshot frame = new RenderSnapshot();
+		frame.strokeLine(Color.BLUE, 2, 0, 0, 10, 10);
+		frame.fillCircle(Color.RED, 1, 1, 5);
+		frame.strokeLine(Color.RED, 2, 0, 0, 10, 10);
+		frame.fillCircle(Color.BLUE, 2, 2, 5);
+
+		//what the canvas paints, from bottom to top
+		final List<Color> painted = new ArrayList<>();
+		frame.replay(new DrawCommands() {
+			@Override
+			public void setLayer(final int layer) {
+			}
+
+			@Override
+			public void drawImage(final Sprite sprite, final double degrees, final int width, final double x, final double y) {
+			}
+
+			@Override
+			public void fillCircle(final Color color, final double x, final double y, final double radius) {
+				painted.add(color);
+			}
+
+			@Override
+			public void strokeLine(final Color color, final double width, final double x1, final double y1, final double x2,
+					final double y2) {
+				painted.add(color);
+			}
+
+			@Override
+			public void drawText(final Font font, final CharSequence text, final Color fill, final Color stroke,
+					final double borderWidth, final double x, final double y) {
+			}
+		}, 0, 0);
+
+		final SceneGraphPainter painter = new SceneGraphPainter(1);
+		painter.paint(frame);
+		final List<Node> nodes = new ArrayList<>(((Group) painter.getRoot().getChildren().get(0)).getChildren());
+		//higher view orders are drawn first
+		nodes.sort(Comparator.comparingDouble(Node::getViewOrder).reversed());
+		final List<Color> stacked = new ArrayList<>();
+		for (final Node node : nodes) {
+			stacked.add((Color) (node instanceof Circle ? ((Circle) node).getFill() : ((Line) node).getStroke()));
+		}
+		assertEquals(4, stacked.size());
+		assertEquals(painted, stacked);
+	}
+}
@@ -0,0 +1,96 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import game.collider.CircleCollider;
+import game.engine.EntityStore;
+import game.engine.GameEngine;
+import game.model.AbstractGameObject;
+import game.model.AbstractGameObject.ObjectType;
+import game.model.EnemyLineObj;
+import game.model.PowerUpObj;
+import game.util.Point2D;
+
+/**
+ * Tests the broadphase queries of the EntityStore grids.
+ */
+public class SpatialGridTest {
+
+	private final GameEngine engine = GameEngine.headless(dest -> dest.set(0.5, 0.5), 0);
+	private final EntityStore store = new EntityStore();
+	private final List<AbstractGameObject> found = new ArrayList<>();
+
+	private PowerUpObj powerUp(final double x, final double y) {
+		final PowerUpObj powerUp = new PowerUpObj(ObjectType.PWRUP_SHIELD, this.engine);
+		powerUp.reset(new Point2D(x, y));
+		this.store.add(powerUp);
+		return powerUp;
+	}
+
+	@Test
+	public void testNearOnly() {
+		final PowerUpObj near = this.powerUp(0.52, 0.5);
+		final PowerUpObj far = this.powerUp(0.1, 0.9);
+		this.store.update(0);
+
+		this.store.queryPowerUps((CircleCollider) this.engine.getPlayer().getCollider(), this.found);
+		assertTrue(this.found.contains(near));
+		assertFalse(this.found.contains(far));
+	}
+
+	@Test
+	public void testRemoved() {
+		final PowerUpObj near = this.powerUp(0.52, 0.5);
+		this.store.update(0);
+		this.store.remove(near);
+
+		this.store.queryPowerUps((CircleCollider) this.engine.getPlayer().getCollider(), this.found);
+		assertTrue(this.found.isEmpty());
+	}
+
+	@Test
+	public void testRaysAlwaysFound() {
+		final EnemyLineObj laser = new EnemyLineObj(this.engine);
+		laser.reset(new Point2D(-0.4, -0.4), new Point2D(0, 1), 0);
+		this.store.add(laser);
+		this.store.update(0);
+
+		this.store.queryEnemies((CircleCollider) this.engine.getPlayer().getCollider(), this.found);
+		assertEquals(List.of(laser), this.found);
+	}
+
+	@Test
+	public void testRemovedFromTheMiddleOfACell() {
+		final PowerUpObj first = this.powerUp(0.51, 0.5);
+		final PowerUpObj second = this.powerUp(0.52, 0.5);
+		final PowerUpObj third = this.powerUp(0.53, 0.5);
+		this.store.update(0);
+		this.store.remove(second);
+		this.store.remove(first);
+
+		this.store.queryPowerUps((CircleCollider) this.engine.getPlayer().getCollider(), this.found);
+		assertEquals(List.of(third), this.found);
+	}
+
+	@Test
+	public void testQueriesShrinkAfterALargeColliderIsGone() {
+		final PowerUpObj large = this.powerUp(0.1, 0.1);
+		large.setCollider(new CircleCollider(large, 0.4, new Point2D(0, 0)));
+		final PowerUpObj far = this.powerUp(0.9, 0.5);
+		this.store.update(0);
+		final CircleCollider player = (CircleCollider) this.engine.getPlayer().getCollider();
+		this.store.queryPowerUps(player, this.found);
+		assertTrue(this.found.contains(far));
+
+		this.store.remove(large);
+		this.store.update(0);
+		this.found.clear();
+		this.store.queryPowerUps(player, this.found);
+		assertFalse(this.found.contains(far));
+	}
+}
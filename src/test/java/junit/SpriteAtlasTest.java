@@ -0,0 +1,41 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.graphics.SpriteAtlas;
+
+/**
+ * Tests the packing of SpriteAtlas (building the texture needs the JavaFX toolkit).
+ */
+public class SpriteAtlasTest {
+
+	@Test
+	public void testPackNoOverlap() {
+		//sizes of the game sprites
+		final int[] widths = {152, 198, 224, 152, 152, 152, 250, 250, 250, 250, 111, 128, 184};
+		final int[] heights = {255, 79, 227, 255, 255, 255, 350, 350, 350, 350, 128, 137, 190};
+		final int[] xs = new int[widths.length];
+		final int[] ys = new int[widths.length];
+		final int height = SpriteAtlas.pack(widths, heights, SpriteAtlas.WIDTH, SpriteAtlas.PADDING, xs, ys);
+
+		for (int i = 0; i < widths.length; i++) {
+			assertTrue(xs[i] >= SpriteAtlas.PADDING && xs[i] + widths[i] + SpriteAtlas.PADDING <= SpriteAtlas.WIDTH);
+			assertTrue(ys[i] >= SpriteAtlas.PADDING && ys[i] + heights[i] + SpriteAtlas.PADDING <= height);
+			for (int j = 0; j < i; j++) {
+				final boolean apart = xs[i] + widths[i] + SpriteAtlas.PADDING <= xs[j] - SpriteAtlas.PADDING
+						|| xs[j] + widths[j] + SpriteAtlas.PADDING <= xs[i] - SpriteAtlas.PADDING
+						|| ys[i] + heights[i] + SpriteAtlas.PADDING <= ys[j] - SpriteAtlas.PADDING
+						|| ys[j] + heights[j] + SpriteAtlas.PADDING <= ys[i] - SpriteAtlas.PADDING;
+				assertTrue(apart, i + " overlaps " + j);
+			}
+		}
+	}
+
+	@Test
+	public void testTooWide() {
+		assertThrows(IllegalArgumentException.class,
+				() -> SpriteAtlas.pack(new int[] {2000}, new int[] {10}, SpriteAtlas.WIDTH, 0, new int[1], new int[1]));
+	}
+}
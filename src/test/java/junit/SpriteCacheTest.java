@@ -0,0 +1,100 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.graphics.ImageRenderer.Sprite;
+import game.graphics.SpriteCache;
+
+/**
+ * Tests the angle quantization, the eviction and the counters of SpriteCache.
+ * Building real images needs the JavaFX toolkit, so the rotator only counts its calls.
+ */
+public class SpriteCacheTest {
+
+	private int built;	//0
+
+	private SpriteCache cache(final int capacity) {
+		return new SpriteCache(capacity, (sprite, degrees, width) -> {
+			this.built++;
+			return null;
+		});
+	}
+
+	@Test
+	public void testQuantize() {
+		assertEquals(0, SpriteCache.quantize(0));
+		assertEquals(0, SpriteCache.quantize(1.4));
+		assertEquals(1, SpriteCache.quantize(1.6));
+		assertEquals(0, SpriteCache.quantize(360));
+		assertEquals(SpriteCache.quantize(-3), SpriteCache.quantize(357));
+		assertEquals(SpriteCache.quantize(3 * 1000), SpriteCache.quantize(3 * 1000 % 360));
+	}
+
+	@Test
+	public void testHitsAndMisses() {
+		final SpriteCache cache = this.cache(8);
+		cache.get(Sprite.BULLET, 90, 20);
+		cache.get(Sprite.BULLET, 91, 20);	//same quantized angle
+		cache.get(Sprite.BULLET, 90, 30);	//another width
+		cache.get(Sprite.THORNBALL, 90, 20);
+
+		assertEquals(3, cache.getMisses());
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.size());
+		assertEquals(3, this.built);
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsed() {
+		final SpriteCache cache = this.cache(2);
+		cache.get(Sprite.BULLET, 0, 20);
+		cache.get(Sprite.BULLET, 3, 20);
+		cache.get(Sprite.BULLET, 0, 20);	//0 is now newer than 3
+		cache.get(Sprite.BULLET, 6, 20);	//evicts 3
+
+		assertEquals(2, cache.size());
+		cache.get(Sprite.BULLET, 0, 20);
+		assertEquals(2, cache.getHits());
+		cache.get(Sprite.BULLET, 3, 20);
+		assertEquals(4, cache.getMisses());
+		assertEquals(4, this.built);
+	}
+
+	@Test
+	public void testWarmUp() {
+		final SpriteCache cache = this.cache(1024);
+		cache.warmUp(Sprite.THORNBALL, 40);
+		cache.warmUp(Sprite.THORNBALL, 40);
+		assertEquals((int) (360 / SpriteCache.ANGLE_STEP), this.built);
+
+		for (double degrees = 0; degrees < 720; degrees += 1.7) {
+			cache.get(Sprite.THORNBALL, degrees, 40);
+		}
+		assertEquals(0, cache.getMisses());
+	}
+
+	@Test
+	public void testEvictWidth() {
+		final int angles = (int) (360 / SpriteCache.ANGLE_STEP);
+		final SpriteCache cache = this.cache(3 * angles);
+		cache.warmUp(Sprite.BULLET, 20);
+		cache.warmUp(Sprite.THORNBALL, 20);
+		cache.warmUp(Sprite.BULLET, 30);
+		cache.evict(20);
+		cache.evict(25);	//never used
+		assertEquals(angles, cache.size());
+
+		//the new width takes the evicted entries, the other width is kept
+		cache.warmUp(Sprite.BULLET, 40);
+		cache.warmUp(Sprite.THORNBALL, 40);
+		assertEquals(3 * angles, cache.size());
+		cache.get(Sprite.BULLET, 90, 30);
+		cache.get(Sprite.THORNBALL, 90, 40);
+		assertEquals(2, cache.getHits());
+		cache.get(Sprite.BULLET, 90, 20);
+		assertEquals(1, cache.getMisses());
+		assertEquals(5 * angles + 1, this.built);
+	}
+}
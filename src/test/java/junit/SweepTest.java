@@ -0,0 +1,56 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static junit.TestObjects.objectAt;
+
+import org.junit.jupiter.api.Test;
+
+import game.collider.CircleCollider;
+import game.collider.PointsCollider;
+import game.collider.Sweep;
+import game.model.AbstractGameObject;
+import game.util.Point2D;
+
+/**
+ * Tests the swept collision tests.
+ */
+public class SweepTest {
+
+	@Test
+	public void testTunnelingPointIsCaught() {
+		//the point jumps over the circle in one tick
+		assertEquals(0.4, Sweep.circlePoint(0.5, 0.5, 0.5, 0.5, 0.02, 0.4, 0.5, 0.6, 0.5), 1e-9);
+		//missing it
+		assertEquals(Sweep.NO_HIT, Sweep.circlePoint(0.5, 0.5, 0.5, 0.5, 0.02, 0.4, 0.53, 0.6, 0.53));
+	}
+
+	@Test
+	public void testMovingCircles() {
+		//both move towards each other: the gap of 0.8 closes at 1.2 per tick
+		assertEquals(2.0 / 3, Sweep.circles(0, 0, 0.4, 0, 0.1, 1, 0, 0.2, 0, 0.1), 1e-9);
+		//already touching
+		assertEquals(0, Sweep.circles(0, 0, 0, 0, 0.1, 0.15, 0, 1, 0, 0.1));
+		//moving apart
+		assertEquals(Sweep.NO_HIT, Sweep.circles(0, 0, 0, 0, 0.1, 0.3, 0, 1, 0, 0.1));
+		//too far to reach within the tick
+		assertEquals(Sweep.NO_HIT, Sweep.circles(0, 0, 0, 0, 0.1, 1, 0, 0.5, 0, 0.1));
+	}
+
+	@Test
+	public void testColliders() {
+		final AbstractGameObject player = objectAt(0.5, 0.5);
+		final CircleCollider playerCollider = new CircleCollider(player, 0.02, Point2D.of(0, 0));
+		final AbstractGameObject bullet = objectAt(0.4, 0.5);
+		bullet.moveTo(0.6, 0.5);
+		final PointsCollider bulletCollider = new PointsCollider(bullet, Point2D.of(0.01, 0), Point2D.of(-0.01, 0));
+
+		//the end positions don't touch, the movement does
+		assertFalse(bulletCollider.checkCollision(playerCollider));
+		assertEquals(0.35, bulletCollider.timeOfImpact(playerCollider), 1e-9);
+
+		final AbstractGameObject ball = objectAt(0.5, 0.2);
+		ball.moveTo(0.5, 0.8);
+		assertFalse(new CircleCollider(ball, 0.05, Point2D.of(0, 0)).checkCollision(playerCollider));
+		assertTrue(new CircleCollider(ball, 0.05, Point2D.of(0, 0)).timeOfImpact(playerCollider) <= 1);
+	}
+}
@@ -0,0 +1,39 @@
+package junit;
+
+import game.model.AbstractGameObject;
+import game.model.AbstractGameObject.ObjectType;
+import game.util.Point2D;
+
+/**
+ * Game objects for the tests of colliders and renderers, which only need a position.
+ */
+public final class TestObjects {
+
+	private TestObjects() {
+	}
+
+	/**
+	 * Creates an object in (x, y), without type nor engine.
+	 * @param x
+	 * @param y
+	 * @return a new object
+	 */
+	public static AbstractGameObject objectAt(final double x, final double y) {
+		return objectAt(x, y, null);
+	}
+
+	/**
+	 * Creates an object of type in (x, y), without engine.
+	 * @param x
+	 * @param y
+	 * @param type
+	 * @return a new object
+	 */
+	public static AbstractGameObject objectAt(final double x, final double y, final ObjectType type) {
+		return new AbstractGameObject(Point2D.of(x, y), type, null) {
+			@Override
+			public void update() {
+			}
+		};
+	}
+}
@@ -0,0 +1,57 @@
+package junit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import game.util.TripleBuffer;
+
+/**
+ * Tests the handoff of TripleBuffer.
+ */
+public class TripleBufferTest {
+
+	@Test
+	public void testLatestWins() {
+		final TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[1]);
+		assertFalse(buffer.swap());
+
+		buffer.getBack()[0] = 1;
+		buffer.publish();
+		buffer.getBack()[0] = 2;
+		buffer.publish();
+
+		assertTrue(buffer.swap());
+		assertEquals(2, buffer.getFront()[0]);
+		assertFalse(buffer.swap());
+	}
+
+	@Test
+	public void testNoTearing() throws InterruptedException {
+		final TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[64]);
+		final Thread writer = new Thread(() -> {
+			for (int frame = 1; frame <= 200_000; frame++) {
+				final int[] back = buffer.getBack();
+				for (int i = 0; i < back.length; i++) {
+					back[i] = frame;
+				}
+				buffer.publish();
+			}
+		});
+		writer.start();
+		int last = 0;
+		boolean finished = false;
+		while (!finished) {
+			finished = !writer.isAlive();	//checked before swapping, so the last frame is never missed
+			if (buffer.swap()) {
+				final int[] front = buffer.getFront();
+				for (final int value : front) {
+					assertEquals(front[0], value);
+				}
+				assertTrue(front[0] > last);
+				last = front[0];
+			}
+		}
+		assertEquals(200_000, last);
+	}
+}